@@ -0,0 +1,80 @@
+package com.example.exception.starter.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 对比两次 {@link BenchmarkRunner} 输出的 JSON 结果
+ * <p>
+ * 用法：{@code java -cp target/benchmarks.jar com.example.exception.starter.benchmark.BenchmarkComparison 基线结果 当前结果 [回归阈值百分比]}
+ * <p>
+ * 按基准名与参数逐项比较平均耗时，任一项变慢超过阈值（默认 10%）时以非零状态码退出
+ */
+public final class BenchmarkComparison {
+    
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+    
+    private BenchmarkComparison() {
+    }
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        
+        Map<String, Double> baseline = load(new File(args[0]));
+        Map<String, Double> current = load(new File(args[1]));
+        
+        int regressions = 0;
+        System.out.printf("%-100s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Double> entry : current.entrySet()) {
+            Double before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-100s %14s %14.3f %9s%n", entry.getKey(), "-", entry.getValue(), "new");
+                continue;
+            }
+            double change = (entry.getValue() - before) / before * 100.0;
+            boolean regression = change > threshold;
+            if (regression) {
+                regressions++;
+            }
+            System.out.printf("%-100s %14.3f %14.3f %+8.1f%%%s%n",
+                    entry.getKey(), before, entry.getValue(), change, regression ? "  REGRESSION" : "");
+        }
+        
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * 读取结果文件，键为 基准名 + 参数，值为得分（AverageTime 模式下为每次操作耗时）
+     */
+    private static Map<String, Double> load(File file) throws IOException {
+        Map<String, Double> scores = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText());
+            JsonNode params = result.path("params");
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                key.append(key.indexOf("(") < 0 ? " (" : ", ")
+                        .append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            if (key.indexOf("(") >= 0) {
+                key.append(')');
+            }
+            scores.put(key.toString(), result.path("primaryMetric").path("score").asDouble());
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.exception.starter.benchmark;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.exception.BusinessException;
+import com.example.exception.starter.handler.GlobalExceptionHandler;
+import com.example.exception.starter.model.ErrorResponse;
+import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
+import org.springframework.web.servlet.NoHandlerFoundException;
+
+import java.nio.file.AccessDeniedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 基准测试共用的数据构造方法
+ */
+final class BenchmarkFixtures {
+    
+    private BenchmarkFixtures() {
+    }
+    
+    /**
+     * 创建关闭日志的处理器，避免基准结果被日志输出主导
+     */
+    static GlobalExceptionHandler handler(boolean includeStackTrace) {
+        ExceptionHandlerProperties properties = new ExceptionHandlerProperties();
+        properties.setEnableLogging(false);
+        properties.setIncludeStackTrace(includeStackTrace);
+        return new GlobalExceptionHandler(properties);
+    }
+    
+    static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/42");
+        request.addHeader(HttpHeaders.ACCEPT, "application/json");
+        return request;
+    }
+    
+    static BusinessException businessException() {
+        return new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "用户不存在");
+    }
+    
+    static BindingResult bindingResult(int fieldErrors) {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new UserRequest(), "userRequest");
+        for (int i = 0; i < fieldErrors; i++) {
+            bindingResult.addError(new FieldError("userRequest", "items[" + i + "].name", "value-" + i,
+                    false, null, null, "不能为空"));
+        }
+        bindingResult.addError(new ObjectError("userRequest", "请求对象无效"));
+        return bindingResult;
+    }
+    
+    static MethodArgumentNotValidException methodArgumentNotValidException(int fieldErrors) {
+        try {
+            MethodParameter parameter = new MethodParameter(
+                    BenchmarkFixtures.class.getDeclaredMethod("target", UserRequest.class), 0);
+            return new MethodArgumentNotValidException(parameter, bindingResult(fieldErrors));
+        } catch (NoSuchMethodException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+    
+    static BindException bindException(int fieldErrors) {
+        return new BindException(bindingResult(fieldErrors));
+    }
+    
+    static ConstraintViolationException constraintViolationException() {
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Validator validator = factory.getValidator();
+            Set<ConstraintViolation<UserRequest>> violations = validator.validate(new UserRequest());
+            return new ConstraintViolationException(violations);
+        }
+    }
+    
+    static HttpRequestMethodNotSupportedException methodNotSupportedException() {
+        return new HttpRequestMethodNotSupportedException("DELETE", List.of("GET", "POST"));
+    }
+    
+    static HttpMediaTypeNotSupportedException mediaTypeNotSupportedException() {
+        return new HttpMediaTypeNotSupportedException("Content type 'text/plain' not supported");
+    }
+    
+    static MissingServletRequestParameterException missingParameterException() {
+        return new MissingServletRequestParameterException("name", "String");
+    }
+    
+    static TypeMismatchException typeMismatchException() {
+        return new TypeMismatchException("abc", Integer.class);
+    }
+    
+    static HttpMessageNotReadableException messageNotReadableException() {
+        return new HttpMessageNotReadableException("JSON parse error", new MockHttpInputMessage(new byte[0]));
+    }
+    
+    static MissingServletRequestPartException missingPartException() {
+        return new MissingServletRequestPartException("file");
+    }
+    
+    static AccessDeniedException accessDeniedException() {
+        return new AccessDeniedException("/data/secret");
+    }
+    
+    static NoHandlerFoundException noHandlerFoundException() {
+        return new NoHandlerFoundException("GET", "/api/missing", new HttpHeaders());
+    }
+    
+    static AsyncRequestTimeoutException asyncRequestTimeoutException() {
+        return new AsyncRequestTimeoutException();
+    }
+    
+    static ErrorResponse errorResponse(String shape) {
+        switch (shape) {
+            case "STATIC":
+                return new ErrorResponse(ErrorCode.RESOURCE_NOT_FOUND.getCode(),
+                        ErrorCode.RESOURCE_NOT_FOUND.getMessage(), "/api/users/42");
+            case "DETAILS":
+                ErrorResponse withDetails = new ErrorResponse(ErrorCode.SYSTEM_ERROR.getCode(),
+                        ErrorCode.SYSTEM_ERROR.getMessage(), "/api/orders");
+                withDetails.setDetails(stackTrace(new IllegalStateException("boom")));
+                return withDetails;
+            case "FIELD_ERRORS":
+                ErrorResponse withFieldErrors = new ErrorResponse(ErrorCode.VALIDATION_ERROR.getCode(),
+                        ErrorCode.VALIDATION_ERROR.getMessage(), "/api/users");
+                List<ErrorResponse.FieldError> fieldErrors = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    fieldErrors.add(new ErrorResponse.FieldError("items[" + i + "].name", "value-" + i, "不能为空"));
+                }
+                withFieldErrors.setFieldErrors(fieldErrors);
+                return withFieldErrors;
+            default:
+                throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+    }
+    
+    static String stackTrace(Throwable ex) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(ex.getClass().getName()).append(": ").append(ex.getMessage()).append("\n");
+        for (StackTraceElement element : ex.getStackTrace()) {
+            sb.append("\tat ").append(element).append("\n");
+        }
+        return sb.toString();
+    }
+    
+    @SuppressWarnings("unused")
+    private static void target(UserRequest request) {
+    }
+    
+    /**
+     * 校验用请求对象
+     */
+    public static class UserRequest {
+        
+        @NotBlank(message = "用户名不能为空")
+        private String username;
+        
+        @NotNull(message = "年龄不能为空")
+        private Integer age;
+        
+        public String getUsername() {
+            return username;
+        }
+        
+        public Integer getAge() {
+            return age;
+        }
+    }
+}
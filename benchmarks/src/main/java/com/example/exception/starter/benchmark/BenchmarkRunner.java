@@ -0,0 +1,39 @@
+package com.example.exception.starter.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * 运行全部基准测试并输出 JSON 结果，便于在不同版本之间对比回归
+ * <p>
+ * 用法：{@code java -cp target/benchmarks.jar com.example.exception.starter.benchmark.BenchmarkRunner [结果文件] [基准名正则]}
+ */
+public final class BenchmarkRunner {
+    
+    private static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+    
+    private BenchmarkRunner() {
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        String resultFile = args.length > 0 ? args[0] : DEFAULT_RESULT_FILE;
+        String include = args.length > 1 ? args[1] : BenchmarkRunner.class.getPackage().getName() + ".*";
+        
+        File parent = new File(resultFile).getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IllegalStateException("Cannot create directory " + parent);
+        }
+        
+        Options options = new OptionsBuilder()
+                .include(include)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.exception.starter.benchmark;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.journal.ErrorJournal;
+import com.example.exception.starter.journal.ErrorJournalReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 错误日志追加一条记录的开销，包含段写满后的切换；多线程下所有写入方竞争同一个位置计数器
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorJournalBenchmark {
+    
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+    
+    private Path directory;
+    private ErrorJournal journal;
+    private RuntimeException exception;
+    
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("error-journal");
+        journal = new ErrorJournal(directory, SEGMENT_SIZE, 2, 512, null);
+        exception = new RuntimeException("not found");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        journal.close();
+        for (Path segment : ErrorJournalReader.segments(directory)) {
+            Files.deleteIfExists(segment);
+        }
+        Files.deleteIfExists(directory);
+    }
+    
+    @Benchmark
+    public void append() {
+        journal.onExceptionHandled(exception, ErrorCode.RESOURCE_NOT_FOUND, 404, "GET", "/api/users/42",
+                "/api/users/{id}", 1000L);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public void appendContended() {
+        append();
+    }
+}
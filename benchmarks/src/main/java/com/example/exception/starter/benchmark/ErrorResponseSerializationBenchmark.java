@@ -0,0 +1,74 @@
+package com.example.exception.starter.benchmark;
+
+import com.example.exception.starter.converter.ErrorResponseJsonWriter;
+import com.example.exception.starter.converter.ErrorResponseTemplateCache;
+import com.example.exception.starter.model.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 错误响应序列化对比：默认的 Jackson 反射序列化 vs 内置的流式写出器，以及流式写出 Problem Details 的开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorResponseSerializationBenchmark {
+    
+    /**
+     * 响应形态：只有错误码与路径 / 带堆栈详情 / 带字段错误
+     */
+    @Param({"STATIC", "DETAILS", "FIELD_ERRORS"})
+    public String shape;
+    
+    private ObjectMapper objectMapper;
+    private ErrorResponseJsonWriter writer;
+    private ErrorResponse response;
+    private ByteArrayOutputStream out;
+    
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = new ErrorResponseJsonWriter(new ErrorResponseTemplateCache("/problems/"), objectMapper, 8192);
+        out = new ByteArrayOutputStream(16384);
+        response = BenchmarkFixtures.errorResponse(shape);
+    }
+    
+    @Benchmark
+    public int jackson() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, response);
+        return out.size();
+    }
+    
+    @Benchmark
+    public int streamingWriter() throws IOException {
+        out.reset();
+        writer.write(response, out);
+        return out.size();
+    }
+    
+    @Benchmark
+    public int streamingProblemDetails() throws IOException {
+        out.reset();
+        writer.writeProblem(response, 400, out);
+        return out.size();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.exception.starter.benchmark;
+
+import com.example.exception.starter.time.ErrorTimestampClock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 错误响应时间戳：每次 LocalDateTime.now() 并格式化，与读取毫秒时间后复用按秒缓存的格式化结果
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorTimestampBenchmark {
+    
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private ErrorTimestampClock localClock;
+    private ErrorTimestampClock isoClock;
+    
+    @Setup
+    public void setup() {
+        localClock = new ErrorTimestampClock(Clock.systemDefaultZone(), ErrorTimestampClock.Format.LOCAL);
+        isoClock = new ErrorTimestampClock(Clock.systemUTC(), ErrorTimestampClock.Format.ISO_OFFSET);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public String localDateTimeFormat() {
+        return FORMATTER.format(LocalDateTime.now());
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public byte[] cachedLocal() {
+        return localClock.jsonValue(localClock.millis());
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public byte[] cachedIsoOffset() {
+        return isoClock.jsonValue(isoClock.millis());
+    }
+}
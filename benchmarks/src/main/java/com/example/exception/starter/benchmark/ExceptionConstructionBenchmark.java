@@ -0,0 +1,88 @@
+package com.example.exception.starter.benchmark;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.exception.BusinessException;
+import com.example.exception.starter.exception.PreallocatedExceptions;
+import com.example.exception.starter.exception.StackTracePolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BusinessException 的构造开销：带与不带 cause，填充与不填充堆栈，以及预分配实例。
+ * depth 控制构造时的调用栈深度，填充堆栈的开销与之成正比；
+ * capture 为 STACK_WALKER 时只记录前 10 帧，withStackTrace 包含读取堆栈的开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionConstructionBenchmark {
+    
+    @Param({"false", "true"})
+    public boolean stackless;
+    
+    @Param({"10", "100"})
+    public int depth;
+    
+    @Param({"FULL", "STACK_WALKER"})
+    public StackTracePolicy.CaptureMode capture;
+    
+    private RuntimeException cause;
+    
+    @Setup(Level.Trial)
+    public void setup() {
+        StackTracePolicy.configure(stackless, Collections.emptyList());
+        StackTracePolicy.configureCapture(capture, 10);
+        cause = new IllegalStateException("downstream failure");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        StackTracePolicy.reset();
+    }
+    
+    @Benchmark
+    public BusinessException withoutCause() {
+        return construct(depth, null);
+    }
+    
+    @Benchmark
+    public BusinessException withCause() {
+        return construct(depth, cause);
+    }
+    
+    @Benchmark
+    public StackTraceElement[] withStackTrace() {
+        return construct(depth, null).getStackTrace();
+    }
+    
+    @Benchmark
+    public BusinessException preallocated() {
+        return PreallocatedExceptions.business(ErrorCode.RESOURCE_NOT_FOUND);
+    }
+    
+    private static BusinessException construct(int depth, Throwable cause) {
+        if (depth > 0) {
+            return construct(depth - 1, cause);
+        }
+        return cause == null
+                ? new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "用户不存在")
+                : new BusinessException(ErrorCode.EXTERNAL_SERVICE_ERROR, "调用下游失败", cause);
+    }
+}
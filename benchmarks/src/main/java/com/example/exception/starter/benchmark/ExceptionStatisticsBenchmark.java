@@ -0,0 +1,51 @@
+package com.example.exception.starter.benchmark;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+import com.example.exception.starter.statistics.ExceptionStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 异常统计记录一次异常的开销；多线程下所有线程记录同一个错误码
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExceptionStatisticsBenchmark {
+    
+    private ExceptionStatistics statistics;
+    private RuntimeException exception;
+    
+    @Setup
+    public void setup() {
+        statistics = new ExceptionStatistics(ErrorCodeRegistry.builtIn());
+        exception = new RuntimeException("not found");
+    }
+    
+    @Benchmark
+    public void record() {
+        statistics.onExceptionHandled(exception, ErrorCode.RESOURCE_NOT_FOUND, 404, "GET", "/api/users/42",
+                "/api/users/{id}", 25_000L);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        record();
+    }
+}
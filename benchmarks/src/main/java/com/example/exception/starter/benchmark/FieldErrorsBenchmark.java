@@ -0,0 +1,66 @@
+package com.example.exception.starter.benchmark;
+
+import com.example.exception.starter.handler.GlobalExceptionHandler;
+import com.example.exception.starter.model.ErrorResponse;
+import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BindException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大量字段错误时构建字段错误的开销，通过两个使用它的处理方法测量；maxErrors 为 0 表示不限制条数
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldErrorsBenchmark {
+    
+    @Param({"10", "1000", "50000"})
+    public int fieldErrors;
+    
+    @Param({"100", "0"})
+    public int maxErrors;
+    
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private MethodArgumentNotValidException methodArgumentNotValidException;
+    private BindException bindException;
+    
+    @Setup
+    public void setup() {
+        ExceptionHandlerProperties properties = new ExceptionHandlerProperties();
+        properties.setEnableLogging(false);
+        properties.getFieldErrors().setMaxErrors(maxErrors);
+        handler = new GlobalExceptionHandler(properties);
+        request = BenchmarkFixtures.request();
+        methodArgumentNotValidException = BenchmarkFixtures.methodArgumentNotValidException(fieldErrors);
+        bindException = BenchmarkFixtures.bindException(fieldErrors);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> methodArgumentNotValid() {
+        return handler.handleMethodArgumentNotValidException(methodArgumentNotValidException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> bindException() {
+        return handler.handleBindException(bindException, request);
+    }
+}
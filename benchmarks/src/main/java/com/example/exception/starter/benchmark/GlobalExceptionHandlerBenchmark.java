@@ -0,0 +1,157 @@
+package com.example.exception.starter.benchmark;
+
+import com.example.exception.starter.exception.BusinessException;
+import com.example.exception.starter.handler.GlobalExceptionHandler;
+import com.example.exception.starter.model.ErrorResponse;
+import jakarta.validation.ConstraintViolationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
+import org.springframework.web.HttpRequestMethodNotSupportedException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.multipart.support.MissingServletRequestPartException;
+import org.springframework.web.servlet.NoHandlerFoundException;
+import org.springframework.validation.BindException;
+
+import java.nio.file.AccessDeniedException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GlobalExceptionHandler 各个 @ExceptionHandler 方法的耗时，分别在开启与关闭堆栈输出时测量。
+ * 异常实例在 Setup 中预先创建，只测量处理器本身构建响应的开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+    
+    @Param({"false", "true"})
+    public boolean includeStackTrace;
+    
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+    
+    private BusinessException businessException;
+    private MethodArgumentNotValidException methodArgumentNotValidException;
+    private BindException bindException;
+    private ConstraintViolationException constraintViolationException;
+    private HttpRequestMethodNotSupportedException methodNotSupportedException;
+    private HttpMediaTypeNotSupportedException mediaTypeNotSupportedException;
+    private MissingServletRequestParameterException missingParameterException;
+    private TypeMismatchException typeMismatchException;
+    private HttpMessageNotReadableException messageNotReadableException;
+    private MissingServletRequestPartException missingPartException;
+    private AccessDeniedException accessDeniedException;
+    private NoHandlerFoundException noHandlerFoundException;
+    private AsyncRequestTimeoutException asyncRequestTimeoutException;
+    private RuntimeException runtimeException;
+    
+    @Setup
+    public void setup() {
+        handler = BenchmarkFixtures.handler(includeStackTrace);
+        request = BenchmarkFixtures.request();
+        
+        businessException = BenchmarkFixtures.businessException();
+        methodArgumentNotValidException = BenchmarkFixtures.methodArgumentNotValidException(5);
+        bindException = BenchmarkFixtures.bindException(5);
+        constraintViolationException = BenchmarkFixtures.constraintViolationException();
+        methodNotSupportedException = BenchmarkFixtures.methodNotSupportedException();
+        mediaTypeNotSupportedException = BenchmarkFixtures.mediaTypeNotSupportedException();
+        missingParameterException = BenchmarkFixtures.missingParameterException();
+        typeMismatchException = BenchmarkFixtures.typeMismatchException();
+        messageNotReadableException = BenchmarkFixtures.messageNotReadableException();
+        missingPartException = BenchmarkFixtures.missingPartException();
+        accessDeniedException = BenchmarkFixtures.accessDeniedException();
+        noHandlerFoundException = BenchmarkFixtures.noHandlerFoundException();
+        asyncRequestTimeoutException = BenchmarkFixtures.asyncRequestTimeoutException();
+        runtimeException = new IllegalStateException("unexpected");
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> baseException() {
+        return handler.handleBaseException(businessException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> methodArgumentNotValid() {
+        return handler.handleMethodArgumentNotValidException(methodArgumentNotValidException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> bindException() {
+        return handler.handleBindException(bindException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> constraintViolation() {
+        return handler.handleConstraintViolationException(constraintViolationException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> requestMethodNotSupported() {
+        return handler.handleHttpRequestMethodNotSupportedException(methodNotSupportedException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> mediaTypeNotSupported() {
+        return handler.handleHttpMediaTypeException(mediaTypeNotSupportedException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> missingRequestParameter() {
+        return handler.handleMissingServletRequestParameterException(missingParameterException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> typeMismatch() {
+        return handler.handleTypeMismatchException(typeMismatchException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> httpMessageNotReadable() {
+        return handler.handleHttpMessageException(messageNotReadableException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> missingRequestPart() {
+        return handler.handleMissingServletRequestPartException(missingPartException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> accessDenied() {
+        return handler.handleAccessDeniedException(accessDeniedException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> noHandlerFound() {
+        return handler.handleNoHandlerFoundException(noHandlerFoundException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> asyncRequestTimeout() {
+        return handler.handleAsyncRequestTimeoutException(asyncRequestTimeoutException, request);
+    }
+    
+    @Benchmark
+    public ResponseEntity<ErrorResponse> unexpectedException() {
+        return handler.handleException(runtimeException, request);
+    }
+}
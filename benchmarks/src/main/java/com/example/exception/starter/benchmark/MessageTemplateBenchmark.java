@@ -0,0 +1,56 @@
+package com.example.exception.starter.benchmark;
+
+import com.example.exception.starter.message.MessageTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 错误消息渲染：String.format 与预编译模板，以及按模板原文查缓存后渲染
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark {
+    
+    private static final String FORMAT_PATTERN = "请求方法 '%s' 不被支持，支持的方法: %s";
+    private static final String TEMPLATE_PATTERN = "请求方法 '{0}' 不被支持，支持的方法: {1}";
+    
+    private MessageTemplate template;
+    private String method;
+    private String supportedMethods;
+    
+    @Setup
+    public void setup() {
+        template = MessageTemplate.compile(TEMPLATE_PATTERN);
+        method = "DELETE";
+        supportedMethods = "GET, POST";
+    }
+    
+    @Benchmark
+    public String stringFormat() {
+        return String.format(FORMAT_PATTERN, method, supportedMethods);
+    }
+    
+    @Benchmark
+    public String compiledTemplate() {
+        return template.render(method, supportedMethods);
+    }
+    
+    @Benchmark
+    public String cachedTemplate() {
+        return MessageTemplate.format(TEMPLATE_PATTERN, method, supportedMethods);
+    }
+}
@@ -1,7 +1,26 @@
 package com.example.exception.starter.autoconfigure;
 
+import com.example.exception.starter.converter.ErrorResponseHttpMessageConverter;
+import com.example.exception.starter.converter.ErrorResponseJsonWriter;
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+import com.example.exception.starter.handler.ExceptionHandledListener;
 import com.example.exception.starter.handler.GlobalExceptionHandler;
+import com.example.exception.starter.logging.ErrorEventPublisher;
+import com.example.exception.starter.mapping.ExceptionMappingCustomizer;
+import com.example.exception.starter.mapping.ExceptionMappingRegistry;
+import com.example.exception.starter.message.LocalizedMessageResolver;
 import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import com.example.exception.starter.settings.HandlerSettingsHolder;
+import com.example.exception.starter.shedding.DownstreamCircuit;
+import com.example.exception.starter.shedding.LoadShedder;
+import com.example.exception.starter.shedding.LoadSheddingInterceptor;
+import com.example.exception.starter.status.ErrorStatusPolicy;
+import com.example.exception.starter.trace.TraceIdResolver;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -9,7 +28,22 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplicat
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 全局异常处理器自动配置类
@@ -20,14 +54,95 @@ import org.springframework.web.servlet.DispatcherServlet;
 @ConditionalOnClass(DispatcherServlet.class)
 @ConditionalOnProperty(prefix = "exception.handler", name = "enabled", havingValue = "true", matchIfMissing = true)
 @EnableConfigurationProperties(ExceptionHandlerProperties.class)
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@Import(ExceptionHandlerSupportConfiguration.class)
 public class ExceptionHandlerAutoConfiguration {
     
     /**
      * 注册全局异常处理器
      */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public GlobalExceptionHandler globalExceptionHandler(ExceptionHandlerProperties properties,
+            HandlerSettingsHolder settingsHolder, ObjectProvider<ExceptionHandledListener> listeners, ObjectProvider<ErrorEventPublisher> eventPublisher,
+            ObjectProvider<ExceptionMappingRegistry> mappingRegistry,
+            ObjectProvider<LocalizedMessageResolver> messageResolver,
+            ObjectProvider<ErrorStatusPolicy> statusPolicy, ObjectProvider<TraceIdResolver> traceIdResolver) {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler(properties, settingsHolder);
+        handler.setExceptionHandledListeners(listeners.orderedStream().collect(Collectors.toList()));
+        handler.setErrorEventPublisher(eventPublisher.getIfAvailable());
+        handler.setExceptionMappingRegistry(mappingRegistry.getIfAvailable());
+        handler.setMessageResolver(messageResolver.getIfAvailable());
+        handler.setStatusPolicy(statusPolicy.getIfAvailable(ErrorStatusPolicy::legacy));
+        handler.setTraceIdResolver(traceIdResolver.getIfAvailable());
+        return handler;
+    }
+    
+    /**
+     * 注册错误响应消息转换器，Spring Boot 会将其排在默认转换器之前
+     */
     @Bean
     @ConditionalOnMissingBean
-    public GlobalExceptionHandler globalExceptionHandler(ExceptionHandlerProperties properties) {
-        return new GlobalExceptionHandler(properties);
+    @ConditionalOnProperty(prefix = "exception.handler.serialization", name = "enabled", havingValue = "true")
+    public ErrorResponseHttpMessageConverter errorResponseHttpMessageConverter(ErrorResponseJsonWriter writer) {
+        return new ErrorResponseHttpMessageConverter(writer);
+    }
+    
+    /**
+     * Spring 6.1 起未匹配的请求抛出 NoResourceFoundException，映射为 404
+     */
+    @Bean
+    @ConditionalOnClass(name = "org.springframework.web.servlet.resource.NoResourceFoundException")
+    public ExceptionMappingCustomizer noResourceFoundExceptionMapping() {
+        return registry -> registry.register(NoResourceFoundException.class, ErrorCode.RESOURCE_NOT_FOUND, HttpStatus.NOT_FOUND);
+    }
+    
+    /**
+     * 负载卸载配置：按下游统计失败，下游持续失败时在控制器执行前直接返回 503
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "exception.handler.load-shedding", name = "enabled", havingValue = "true")
+    static class LoadSheddingConfiguration {
+        
+        @Bean
+        @ConditionalOnMissingBean
+        public LoadShedder loadShedder(ExceptionHandlerProperties properties, ErrorCodeRegistry errorCodeRegistry) {
+            ExceptionHandlerProperties.LoadShedding loadShedding = properties.getLoadShedding();
+            List<DownstreamCircuit> circuits = new ArrayList<>();
+            loadShedding.getDownstreams().forEach((name, downstream) -> {
+                List<PathPattern> patterns = new ArrayList<>();
+                for (String path : downstream.getPaths()) {
+                    patterns.add(PathPatternParser.defaultInstance.parse(path));
+                }
+                circuits.add(new DownstreamCircuit(name, patterns, loadShedding.getWindow().toMillis(),
+                        loadShedding.getBuckets(), loadShedding.getFailureThreshold(),
+                        loadShedding.getOpenDuration().toMillis()));
+            });
+            return new LoadShedder(errorCodeRegistry.resolveAll(loadShedding.getErrorCodes()), circuits);
+        }
+        
+        /**
+         * 503 响应体在启动时编码一次，不包含随请求变化的 path 与 timestamp
+         */
+        @Bean
+        @ConditionalOnMissingBean
+        public LoadSheddingInterceptor loadSheddingInterceptor(LoadShedder loadShedder,
+                ObjectProvider<ObjectMapper> objectMapper) throws JsonProcessingException {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("code", ErrorCode.SERVICE_UNAVAILABLE.getCode());
+            body.put("message", ErrorCode.SERVICE_UNAVAILABLE.getMessage());
+            ObjectMapper mapper = objectMapper.getIfAvailable(() -> Jackson2ObjectMapperBuilder.json().build());
+            return new LoadSheddingInterceptor(loadShedder, mapper.writeValueAsBytes(body));
+        }
+        
+        @Bean
+        public WebMvcConfigurer loadSheddingWebMvcConfigurer(LoadSheddingInterceptor interceptor) {
+            return new WebMvcConfigurer() {
+                @Override
+                public void addInterceptors(InterceptorRegistry registry) {
+                    registry.addInterceptor(interceptor).order(Ordered.HIGHEST_PRECEDENCE);
+                }
+            };
+        }
     }
 }
@@ -0,0 +1,378 @@
+package com.example.exception.starter.autoconfigure;
+
+import com.example.exception.starter.converter.ErrorResponseJsonWriter;
+import com.example.exception.starter.converter.ErrorResponseTemplateCache;
+import com.example.exception.starter.enums.ErrorCodeProvider;
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+import com.example.exception.starter.exception.StackTracePolicy;
+import com.example.exception.starter.fingerprint.ExceptionAggregateStore;
+import com.example.exception.starter.fingerprint.ExceptionFingerprinter;
+import com.example.exception.starter.fingerprint.ExceptionFingerprintsEndpoint;
+import com.example.exception.starter.journal.ErrorJournal;
+import com.example.exception.starter.logging.ErrorEventPublisher;
+import com.example.exception.starter.logging.ErrorEventSink;
+import com.example.exception.starter.logging.LoggingErrorEventSink;
+import com.example.exception.starter.logging.VirtualThreads;
+import com.example.exception.starter.mapping.ExceptionMappingCustomizer;
+import com.example.exception.starter.mapping.ExceptionMappingRegistry;
+import com.example.exception.starter.message.LocalizedMessageResolver;
+import com.example.exception.starter.metrics.ExceptionMetricsRecorder;
+import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import com.example.exception.starter.settings.HandlerSettingsEndpoint;
+import com.example.exception.starter.settings.HandlerSettingsHolder;
+import com.example.exception.starter.statistics.ExceptionStatistics;
+import com.example.exception.starter.statistics.ExceptionStatisticsEndpoint;
+import com.example.exception.starter.status.ErrorStatusPolicy;
+import com.example.exception.starter.time.ErrorTimestampClock;
+import com.example.exception.starter.trace.TraceIdResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Servlet 与 WebFlux 自动配置共用的组件：错误码注册表、运行时配置、追踪 ID、响应序列化、消息国际化、异步错误事件、错误日志、指标、异常统计与异常指纹
+ * @author MyAcme
+ */
+@Configuration
+class ExceptionHandlerSupportConfiguration {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ExceptionHandlerSupportConfiguration.class);
+    
+    /**
+     * 异步日志沿用同步模式的 Logger 名称；这里不直接引用 GlobalExceptionHandler，避免在 WebFlux 应用中加载 Servlet 类型
+     */
+    private static final String HANDLER_LOGGER_NAME = "com.example.exception.starter.handler.GlobalExceptionHandler";
+    
+    private static final String REFRESH_EVENT_CLASS = "org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent";
+    
+    /**
+     * 内置错误码与 ErrorCodeProvider 提供的错误码，创建时检查范围与唯一性，不满足时启动失败
+     */
+    private final ErrorCodeRegistry errorCodeRegistry;
+    
+    ExceptionHandlerSupportConfiguration(ExceptionHandlerProperties properties,
+                                         ObjectProvider<ErrorCodeProvider> errorCodeProviders,
+                                         ObjectProvider<Clock> clock) {
+        this.errorCodeRegistry = ErrorCodeRegistry.of(errorCodeProviders.orderedStream().collect(Collectors.toList()));
+        ExceptionHandlerProperties.Stackless stackless = properties.getStackless();
+        StackTracePolicy.configure(stackless.isEnabled(), errorCodeRegistry.resolveAll(stackless.getErrorCodes()));
+        ExceptionHandlerProperties.StackTrace stackTrace = properties.getStackTrace();
+        StackTracePolicy.configureCapture(stackTrace.getCapture(), stackTrace.getWalkerMaxFrames());
+        ExceptionHandlerProperties.Timestamp timestamp = properties.getTimestamp();
+        Clock timestampClock = clock.getIfAvailable(Clock::systemDefaultZone);
+        if (timestamp.getZone() != null) {
+            timestampClock = timestampClock.withZone(timestamp.getZone());
+        }
+        ErrorTimestampClock.configure(timestampClock, timestamp.getFormat());
+    }
+    
+    /**
+     * 注册错误码注册表，自定义错误码通过 ErrorCodeProvider 加入
+     */
+    @Bean
+    public ErrorCodeRegistry errorCodeRegistry() {
+        return errorCodeRegistry;
+    }
+    
+    /**
+     * 注册异常映射注册表，并依次应用容器中的 ExceptionMappingCustomizer
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ExceptionMappingRegistry exceptionMappingRegistry(ObjectProvider<ExceptionMappingCustomizer> customizers) {
+        ExceptionMappingRegistry registry = new ExceptionMappingRegistry();
+        customizers.orderedStream().forEach(customizer -> customizer.customize(registry));
+        return registry;
+    }
+    
+    /**
+     * 注册 HTTP 状态映射策略，按错误码的配置在启动时解析为注册表中的错误码
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ErrorStatusPolicy errorStatusPolicy(ExceptionHandlerProperties properties) {
+        ExceptionHandlerProperties.StatusMapping statusMapping = properties.getStatusMapping();
+        List<ErrorStatusPolicy.CodePolicy> policies = new ArrayList<>();
+        statusMapping.getCodes().forEach((nameOrCode, code) -> {
+            HttpStatus status = null;
+            if (code.getStatus() != null) {
+                status = HttpStatus.resolve(code.getStatus());
+                if (status == null) {
+                    throw new IllegalArgumentException("Invalid HTTP status " + code.getStatus()
+                            + " for error code '" + nameOrCode + "'");
+                }
+            }
+            policies.add(new ErrorStatusPolicy.CodePolicy(errorCodeRegistry.resolve(nameOrCode), status,
+                    code.getCacheControl(), code.getRetryAfter()));
+        });
+        return new ErrorStatusPolicy(statusMapping.getMode(), errorCodeRegistry,
+                statusMapping.getDefaultCacheControl(), policies);
+    }
+    
+    /**
+     * 注册运行时可替换的处理器配置，覆盖规则引用不存在的错误码时启动失败
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public HandlerSettingsHolder handlerSettingsHolder(ExceptionHandlerProperties properties) {
+        return new HandlerSettingsHolder(properties, errorCodeRegistry);
+    }
+    
+    /**
+     * Spring Cloud 刷新配置后重新创建处理器配置快照；刷新事件在配置属性重新绑定之后发布，
+     * 这里按类名匹配，不依赖 Spring Cloud
+     */
+    @Bean
+    @ConditionalOnClass(name = REFRESH_EVENT_CLASS)
+    public ApplicationListener<ApplicationEvent> handlerSettingsRefreshListener(HandlerSettingsHolder settingsHolder) {
+        return event -> {
+            if (REFRESH_EVENT_CLASS.equals(event.getClass().getName())) {
+                settingsHolder.reload();
+            }
+        };
+    }
+    
+    /**
+     * 注册追踪 ID 解析器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.handler.trace", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TraceIdResolver traceIdResolver(ExceptionHandlerProperties properties) {
+        ExceptionHandlerProperties.Trace trace = properties.getTrace();
+        return new TraceIdResolver(trace.getRequestIdHeader(), trace.getMdcKey());
+    }
+    
+    /**
+     * 注册错误响应模板缓存，开启 Problem Details 时同时预编码 Problem Details 模板
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.handler.serialization", name = "enabled", havingValue = "true")
+    public ErrorResponseTemplateCache errorResponseTemplateCache(ExceptionHandlerProperties properties) {
+        ExceptionHandlerProperties.ProblemDetails problemDetails = properties.getProblemDetails();
+        return new ErrorResponseTemplateCache(errorCodeRegistry,
+                problemDetails.isEnabled() ? problemDetails.getTypeBaseUri() : null);
+    }
+    
+    /**
+     * 注册错误响应JSON写出器
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.handler.serialization", name = "enabled", havingValue = "true")
+    public ErrorResponseJsonWriter errorResponseJsonWriter(ErrorResponseTemplateCache templateCache,
+            ObjectProvider<ObjectMapper> objectMapper, ExceptionHandlerProperties properties) {
+        ExceptionHandlerProperties.VirtualThreads virtualThreads = properties.getVirtualThreads();
+        return new ErrorResponseJsonWriter(templateCache,
+                objectMapper.getIfAvailable(() -> Jackson2ObjectMapperBuilder.json().build()),
+                properties.getSerialization().getBufferSize(),
+                virtualThreads.isEnabled() ? virtualThreads.getSharedBuffers() : 0);
+    }
+    
+    /**
+     * 注册本地化消息解析器并预先解析配置的语言；未设置缓存清空间隔时沿用 spring.messages.cache-duration，
+     * 与资源文件的重载周期保持一致
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.handler.i18n", name = "enabled", havingValue = "true")
+    public LocalizedMessageResolver localizedMessageResolver(MessageSource messageSource,
+            ExceptionHandlerProperties properties, Environment environment) {
+        ExceptionHandlerProperties.I18n i18n = properties.getI18n();
+        Duration cacheDuration = i18n.getCacheDuration() != null ? i18n.getCacheDuration()
+                : Binder.get(environment).bind("spring.messages.cache-duration", Duration.class).orElse(null);
+        LocalizedMessageResolver resolver = new LocalizedMessageResolver(messageSource, errorCodeRegistry,
+                i18n.getKeyPrefix(), i18n.getMaxEntries(), cacheDuration);
+        resolver.warmUp(i18n.getLocales());
+        return resolver;
+    }
+    
+    /**
+     * 注册异步错误事件发布器，异常日志由后台线程输出后再交给其他事件接收器；
+     * WebFlux 应用默认开启，见 {@link ReactiveExceptionHandlerAutoConfiguration}
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.handler.async-events", name = "enabled", havingValue = "true")
+    public ErrorEventPublisher errorEventPublisher(ExceptionHandlerProperties properties,
+            ObjectProvider<ErrorEventSink> sinks, ObjectProvider<TraceIdResolver> traceIdResolver) {
+        return errorEventPublisher(properties, sinks, traceIdResolver, HANDLER_LOGGER_NAME);
+    }
+    
+    /**
+     * @param loggerName 输出异常日志的 Logger 名称，沿用对应处理器同步模式下的名称
+     */
+    static ErrorEventPublisher errorEventPublisher(ExceptionHandlerProperties properties,
+            ObjectProvider<ErrorEventSink> sinks, ObjectProvider<TraceIdResolver> traceIdResolver, String loggerName) {
+        ExceptionHandlerProperties.AsyncEvents asyncEvents = properties.getAsyncEvents();
+        List<ErrorEventSink> allSinks = new ArrayList<>();
+        TraceIdResolver resolver = traceIdResolver.getIfAvailable();
+        allSinks.add(new LoggingErrorEventSink(LoggerFactory.getLogger(loggerName),
+                resolver != null ? resolver.getMdcKey() : null));
+        sinks.orderedStream().forEach(allSinks::add);
+        if (properties.getVirtualThreads().isEnabled()) {
+            if (VirtualThreads.isSupported()) {
+                return ErrorEventPublisher.onVirtualThread(asyncEvents.getBufferSize(), asyncEvents.getBatchSize(),
+                        asyncEvents.getOverflowPolicy(), asyncEvents.getSampleRate(), allSinks);
+            }
+            logger.warn("Virtual threads are not supported on Java {}, error events are consumed on a platform thread",
+                    System.getProperty("java.version"));
+        }
+        return new ErrorEventPublisher(asyncEvents.getBufferSize(), asyncEvents.getBatchSize(),
+                asyncEvents.getOverflowPolicy(), asyncEvents.getSampleRate(), allSinks);
+    }
+    
+    /**
+     * 注册本地错误日志；作为 ExceptionHandledListener 由异常处理器回调，开启指纹聚合时同时记录指纹
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.handler.journal", name = "enabled", havingValue = "true")
+    public ErrorJournal errorJournal(ExceptionHandlerProperties properties,
+            ObjectProvider<ExceptionFingerprinter> fingerprinter) throws IOException {
+        ExceptionHandlerProperties.Journal journal = properties.getJournal();
+        return new ErrorJournal(Paths.get(journal.getDirectory()), (int) Math.min(journal.getSegmentSize().toBytes(),
+                ErrorJournal.MAX_SEGMENT_SIZE), journal.getMaxSegments(), journal.getMaxPathLength(),
+                fingerprinter.getIfAvailable());
+    }
+    
+    /**
+     * 异常指标配置，类路径中存在 Micrometer 且容器中有 MeterRegistry 时生效
+     */
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    @ConditionalOnProperty(prefix = "exception.handler.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+    static class MetricsConfiguration {
+        
+        @Bean
+        @ConditionalOnBean(MeterRegistry.class)
+        @ConditionalOnMissingBean
+        public ExceptionMetricsRecorder exceptionMetricsRecorder(MeterRegistry meterRegistry,
+                ErrorCodeRegistry errorCodeRegistry, ExceptionHandlerProperties properties) {
+            ExceptionHandlerProperties.Metrics metrics = properties.getMetrics();
+            return new ExceptionMetricsRecorder(meterRegistry, errorCodeRegistry, metrics.getMaxExceptionTypes(),
+                    metrics.getMaxUris());
+        }
+        
+        /**
+         * 异步错误事件的丢弃数与积压数，没有事件发布器时不注册指标
+         */
+        @Bean
+        public MeterBinder errorEventPublisherMetrics(ObjectProvider<ErrorEventPublisher> eventPublisher) {
+            return registry -> eventPublisher.ifAvailable(publisher -> {
+                FunctionCounter.builder("exception.handler.events.dropped", publisher, ErrorEventPublisher::getDroppedCount)
+                        .description("Error events dropped because the buffer was full")
+                        .register(registry);
+                FunctionCounter.builder("exception.handler.events.sampled.out", publisher, ErrorEventPublisher::getSampledOutCount)
+                        .description("Error events skipped by the SAMPLE overflow policy")
+                        .register(registry);
+                Gauge.builder("exception.handler.events.pending", publisher, ErrorEventPublisher::getPendingCount)
+                        .description("Error events waiting for the background consumer")
+                        .register(registry);
+            });
+        }
+    }
+    
+    /**
+     * 处理器配置端点，类路径中存在 Spring Boot Actuator 时生效
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    static class SettingsEndpointConfiguration {
+        
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnAvailableEndpoint(endpoint = HandlerSettingsEndpoint.class)
+        public HandlerSettingsEndpoint handlerSettingsEndpoint(HandlerSettingsHolder settingsHolder) {
+            return new HandlerSettingsEndpoint(settingsHolder);
+        }
+    }
+    
+    /**
+     * 异常统计端点，类路径中存在 Spring Boot Actuator 且端点已暴露时生效；端点不可用时不记录统计
+     */
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+    static class StatisticsEndpointConfiguration {
+        
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnAvailableEndpoint(endpoint = ExceptionStatisticsEndpoint.class)
+        public ExceptionStatistics exceptionStatistics(ErrorCodeRegistry errorCodeRegistry) {
+            return new ExceptionStatistics(errorCodeRegistry);
+        }
+        
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnAvailableEndpoint(endpoint = ExceptionStatisticsEndpoint.class)
+        public ExceptionStatisticsEndpoint exceptionStatisticsEndpoint(ExceptionStatistics statistics,
+                HandlerSettingsHolder settingsHolder) {
+            return new ExceptionStatisticsEndpoint(statistics, settingsHolder);
+        }
+    }
+    
+    /**
+     * 异常指纹聚合配置
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "exception.handler.fingerprint", name = "enabled", havingValue = "true")
+    static class FingerprintConfiguration {
+        
+        @Bean
+        @ConditionalOnMissingBean
+        public ExceptionFingerprinter exceptionFingerprinter(ExceptionHandlerProperties properties) {
+            ExceptionHandlerProperties.Fingerprint fingerprint = properties.getFingerprint();
+            return new ExceptionFingerprinter(fingerprint.getFrames(), fingerprint.getApplicationPackages());
+        }
+        
+        @Bean
+        @ConditionalOnMissingBean
+        public ExceptionAggregateStore exceptionAggregateStore(ExceptionFingerprinter fingerprinter,
+                ExceptionHandlerProperties properties) {
+            return new ExceptionAggregateStore(fingerprinter, properties.getFingerprint().getMaxEntries());
+        }
+        
+        /**
+         * 指纹端点，类路径中存在 Spring Boot Actuator 时生效
+         */
+        @Configuration
+        @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.annotation.Endpoint")
+        static class FingerprintEndpointConfiguration {
+            
+            @Bean
+            @ConditionalOnMissingBean
+            @ConditionalOnAvailableEndpoint(endpoint = ExceptionFingerprintsEndpoint.class)
+            public ExceptionFingerprintsEndpoint exceptionFingerprintsEndpoint(ExceptionAggregateStore store) {
+                return new ExceptionFingerprintsEndpoint(store);
+            }
+        }
+    }
+}
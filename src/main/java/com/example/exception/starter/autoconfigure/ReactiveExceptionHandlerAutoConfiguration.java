@@ -0,0 +1,76 @@
+package com.example.exception.starter.autoconfigure;
+
+import com.example.exception.starter.converter.ErrorResponseJsonWriter;
+import com.example.exception.starter.handler.ExceptionHandledListener;
+import com.example.exception.starter.handler.ReactiveGlobalExceptionHandler;
+import com.example.exception.starter.logging.ErrorEventPublisher;
+import com.example.exception.starter.logging.ErrorEventSink;
+import com.example.exception.starter.mapping.ExceptionMappingRegistry;
+import com.example.exception.starter.message.LocalizedMessageResolver;
+import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import com.example.exception.starter.settings.HandlerSettingsHolder;
+import com.example.exception.starter.status.ErrorStatusPolicy;
+import com.example.exception.starter.trace.TraceIdResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux 全局异常处理器自动配置类
+ * @author MyAcme
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnClass(name = "org.springframework.web.reactive.DispatcherHandler")
+@ConditionalOnProperty(prefix = "exception.handler", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(ExceptionHandlerProperties.class)
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+@Import(ExceptionHandlerSupportConfiguration.class)
+public class ReactiveExceptionHandlerAutoConfiguration {
+    
+    /**
+     * 事件循环线程上不能同步输出日志，WebFlux 应用默认开启异步错误事件；
+     * 显式设置 exception.handler.async-events.enabled=false 时日志在事件循环线程上同步输出
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "exception.handler.async-events", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ErrorEventPublisher reactiveErrorEventPublisher(ExceptionHandlerProperties properties,
+            ObjectProvider<ErrorEventSink> sinks, ObjectProvider<TraceIdResolver> traceIdResolver) {
+        return ExceptionHandlerSupportConfiguration.errorEventPublisher(properties, sinks, traceIdResolver,
+                ReactiveGlobalExceptionHandler.class.getName());
+    }
+    
+    /**
+     * 注册 WebFlux 全局异常处理器
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnMissingBean
+    public ReactiveGlobalExceptionHandler reactiveGlobalExceptionHandler(ExceptionHandlerProperties properties,
+            HandlerSettingsHolder settingsHolder, ObjectProvider<ErrorResponseJsonWriter> jsonWriter, ObjectProvider<ObjectMapper> objectMapper,
+            ObjectProvider<ExceptionHandledListener> listeners, ObjectProvider<ErrorEventPublisher> eventPublisher,
+            ObjectProvider<ExceptionMappingRegistry> mappingRegistry,
+            ObjectProvider<LocalizedMessageResolver> messageResolver,
+            ObjectProvider<ErrorStatusPolicy> statusPolicy, ObjectProvider<TraceIdResolver> traceIdResolver) {
+        ReactiveGlobalExceptionHandler handler = new ReactiveGlobalExceptionHandler(properties, settingsHolder,
+                jsonWriter.getIfAvailable(), objectMapper.getIfAvailable(() -> Jackson2ObjectMapperBuilder.json().build()));
+        handler.setExceptionHandledListeners(listeners.orderedStream().collect(Collectors.toList()));
+        handler.setErrorEventPublisher(eventPublisher.getIfAvailable());
+        handler.setExceptionMappingRegistry(mappingRegistry.getIfAvailable());
+        handler.setMessageResolver(messageResolver.getIfAvailable());
+        handler.setStatusPolicy(statusPolicy.getIfAvailable(ErrorStatusPolicy::legacy));
+        handler.setTraceIdResolver(traceIdResolver.getIfAvailable());
+        return handler;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.exception.starter.converter;
+
+import com.example.exception.starter.model.ErrorResponse;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+
+/**
+ * 错误响应消息转换器
+ * 通过 {@link ErrorResponseJsonWriter} 将错误响应直接流式写出到响应输出流，不经过通用的 Jackson 转换器。
+ * 响应类型为 application/problem+json 且设置了状态码时按 Problem Details 格式写出
+ */
+public class ErrorResponseHttpMessageConverter extends AbstractHttpMessageConverter<ErrorResponse> {
+    
+    private final ErrorResponseJsonWriter writer;
+    
+    public ErrorResponseHttpMessageConverter(ErrorResponseJsonWriter writer) {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+        this.writer = writer;
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ErrorResponse.class.isAssignableFrom(clazz);
+    }
+    
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected ErrorResponse readInternal(Class<? extends ErrorResponse> clazz, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+        throw new HttpMessageNotReadableException("ErrorResponse is write-only", inputMessage);
+    }
+    
+    @Override
+    protected void writeInternal(ErrorResponse response, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        MediaType contentType = outputMessage.getHeaders().getContentType();
+        Integer status = response.getStatus();
+        if (status != null && contentType != null && MediaType.APPLICATION_PROBLEM_JSON.isCompatibleWith(contentType)) {
+            writer.writeProblem(response, status, outputMessage.getBody());
+        } else {
+            writer.write(response, outputMessage.getBody());
+        }
+    }
+}
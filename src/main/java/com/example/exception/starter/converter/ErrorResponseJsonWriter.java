@@ -0,0 +1,225 @@
+package com.example.exception.starter.converter;
+
+import com.example.exception.starter.model.ErrorResponse;
+import com.example.exception.starter.time.ErrorTimestampClock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * 错误响应JSON写出器
+ * 手写的流式UTF-8编码器，不经过Jackson的Bean内省，字段顺序、空值处理与转义规则和Jackson默认输出一致：
+ * ErrorResponse 省略 null 字段，FieldError 保留 null 字段。
+ * 只有类型不固定的 rejectedValue 在不是简单类型时交给 ObjectMapper 处理
+ */
+public class ErrorResponseJsonWriter {
+    
+    private static final byte[] CODE_FIELD = ErrorResponseTemplate.ascii("\"code\":");
+    private static final byte[] DETAILS_FIELD = ErrorResponseTemplate.ascii(",\"details\":");
+    private static final byte[] PATH_FIELD = ErrorResponseTemplate.ascii(",\"path\":");
+    private static final byte[] TRACE_ID_FIELD = ErrorResponseTemplate.ascii(",\"traceId\":");
+    private static final byte[] TIMESTAMP_FIELD = ErrorResponseTemplate.ascii(",\"timestamp\":");
+    private static final byte[] FIELD_ERRORS_FIELD = ErrorResponseTemplate.ascii(",\"fieldErrors\":[");
+    private static final byte[] OMITTED_FIELD_ERRORS_FIELD = ErrorResponseTemplate.ascii(",\"omittedFieldErrors\":");
+    private static final byte[] FIELD_FIELD = ErrorResponseTemplate.ascii("{\"field\":");
+    private static final byte[] REJECTED_VALUE_FIELD = ErrorResponseTemplate.ascii(",\"rejectedValue\":");
+    private static final byte[] NULL = ErrorResponseTemplate.ascii("null");
+    private static final byte[] DETAIL_FIELD = ErrorResponseTemplate.ascii(",\"detail\":");
+    private static final byte[] INSTANCE_FIELD = ErrorResponseTemplate.ascii(",\"instance\":");
+    
+    private final ErrorResponseTemplateCache templateCache;
+    private final ObjectMapper objectMapper;
+    private final JsonByteBufferPool bufferPool;
+    
+    public ErrorResponseJsonWriter(ErrorResponseTemplateCache templateCache, ObjectMapper objectMapper, int bufferSize) {
+        this(templateCache, objectMapper, bufferSize, 0);
+    }
+    
+    /**
+     * @param sharedBuffers 大于 0 时改用固定数量的共享缓冲区，而不是每个线程一个（适合虚拟线程）
+     */
+    public ErrorResponseJsonWriter(ErrorResponseTemplateCache templateCache, ObjectMapper objectMapper, int bufferSize,
+                                   int sharedBuffers) {
+        this.templateCache = templateCache;
+        this.objectMapper = objectMapper;
+        this.bufferPool = new JsonByteBufferPool(bufferSize, sharedBuffers);
+    }
+    
+    /**
+     * 将错误响应写出到输出流，不关闭输出流
+     */
+    public void write(ErrorResponse response, OutputStream out) throws IOException {
+        JsonByteBuffer buffer = bufferPool.acquire();
+        buffer.bind(out);
+        try {
+            writeResponse(response, buffer);
+            buffer.flush();
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+    
+    /**
+     * 以 Problem Details（RFC 9457）格式写出错误响应，不关闭输出流。
+     * message 作为 detail，path 作为 instance，code、timestamp、details、traceId 与 fieldErrors 作为扩展成员
+     */
+    public void writeProblem(ErrorResponse response, int status, OutputStream out) throws IOException {
+        JsonByteBuffer buffer = bufferPool.acquire();
+        buffer.bind(out);
+        try {
+            writeProblem(response, status, buffer);
+            buffer.flush();
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+    
+    private void writeProblem(ErrorResponse response, int status, JsonByteBuffer buffer) throws IOException {
+        Integer code = response.getCode();
+        ProblemDetailTemplate template = code != null ? templateCache.getProblem(code) : null;
+        String message = response.getMessage();
+        boolean writeDetail;
+        if (template != null) {
+            writeDetail = template.writeHead(status, message, buffer);
+        } else {
+            buffer.writeRaw(ProblemDetailTemplate.UNKNOWN_HEAD);
+            buffer.writeInt(status);
+            writeDetail = message != null;
+        }
+        if (writeDetail) {
+            buffer.writeRaw(DETAIL_FIELD);
+            buffer.writeQuotedString(message);
+        }
+        writeStringField(INSTANCE_FIELD, response.getPath(), buffer, false);
+        if (code != null) {
+            buffer.writeByte(',');
+            buffer.writeRaw(CODE_FIELD);
+            buffer.writeInt(code);
+        }
+        // path 已作为 instance 写出
+        writeTail(response, buffer, false, false);
+    }
+    
+    private void writeResponse(ErrorResponse response, JsonByteBuffer buffer) throws IOException {
+        Integer code = response.getCode();
+        ErrorResponseTemplate template = code != null ? templateCache.get(code) : null;
+        if (template != null) {
+            template.writeHead(response.getMessage(), buffer);
+            writeTail(response, buffer, false, true);
+            return;
+        }
+        
+        // 未知错误码或无错误码时逐字段写出
+        buffer.writeByte('{');
+        boolean empty = true;
+        if (code != null) {
+            buffer.writeRaw(CODE_FIELD);
+            buffer.writeInt(code);
+            empty = false;
+        }
+        empty = writeStringField(ErrorResponseTemplate.MESSAGE_FIELD, response.getMessage(), buffer, empty);
+        writeTail(response, buffer, empty, true);
+    }
+    
+    /**
+     * 写出 message 之后的字段，empty 表示对象中尚未写出任何字段
+     */
+    private void writeTail(ErrorResponse response, JsonByteBuffer buffer, boolean empty, boolean includePath)
+            throws IOException {
+        empty = writeStringField(DETAILS_FIELD, response.getDetails(), buffer, empty);
+        if (includePath) {
+            empty = writeStringField(PATH_FIELD, response.getPath(), buffer, empty);
+        }
+        empty = writeStringField(TRACE_ID_FIELD, response.getTraceId(), buffer, empty);
+        
+        Long timestamp = response.getTimestampMillis();
+        if (timestamp != null) {
+            writeFieldName(TIMESTAMP_FIELD, buffer, empty);
+            // 同一秒内的错误复用时钟缓存的格式化结果
+            buffer.writeRaw(ErrorTimestampClock.current().jsonValue(timestamp));
+            empty = false;
+        }
+        
+        List<ErrorResponse.FieldError> fieldErrors = response.getFieldErrors();
+        if (fieldErrors != null) {
+            writeFieldName(FIELD_ERRORS_FIELD, buffer, empty);
+            for (int i = 0, size = fieldErrors.size(); i < size; i++) {
+                if (i > 0) {
+                    buffer.writeByte(',');
+                }
+                writeFieldError(fieldErrors.get(i), buffer);
+            }
+            buffer.writeByte(']');
+            empty = false;
+        }
+        
+        Integer omittedFieldErrors = response.getOmittedFieldErrors();
+        if (omittedFieldErrors != null) {
+            writeFieldName(OMITTED_FIELD_ERRORS_FIELD, buffer, empty);
+            buffer.writeInt(omittedFieldErrors);
+        }
+        
+        buffer.writeByte('}');
+    }
+    
+    private void writeFieldError(ErrorResponse.FieldError fieldError, JsonByteBuffer buffer) throws IOException {
+        if (fieldError == null) {
+            buffer.writeRaw(NULL);
+            return;
+        }
+        buffer.writeRaw(FIELD_FIELD);
+        writeNullableString(fieldError.getField(), buffer);
+        buffer.writeRaw(REJECTED_VALUE_FIELD);
+        writeValue(fieldError.getRejectedValue(), buffer);
+        buffer.writeRaw(ErrorResponseTemplate.MESSAGE_FIELD);
+        writeNullableString(fieldError.getMessage(), buffer);
+        buffer.writeByte('}');
+    }
+    
+    private void writeValue(Object value, JsonByteBuffer buffer) throws IOException {
+        if (value == null) {
+            buffer.writeRaw(NULL);
+        } else if (value instanceof String) {
+            buffer.writeQuotedString((String) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger) {
+            buffer.writeAscii(value.toString());
+        } else if (value instanceof Boolean) {
+            buffer.writeAscii(value.toString());
+        } else {
+            // 复杂类型保留应用 ObjectMapper 的序列化配置
+            buffer.writeRaw(objectMapper.writeValueAsBytes(value));
+        }
+    }
+    
+    private boolean writeStringField(byte[] fieldName, String value, JsonByteBuffer buffer, boolean empty) throws IOException {
+        if (value == null) {
+            return empty;
+        }
+        writeFieldName(fieldName, buffer, empty);
+        buffer.writeQuotedString(value);
+        return false;
+    }
+    
+    /**
+     * 字段名片段以逗号开头，对象中的第一个字段跳过逗号
+     */
+    private void writeFieldName(byte[] fieldName, JsonByteBuffer buffer, boolean empty) throws IOException {
+        if (empty) {
+            buffer.writeRaw(fieldName, 1, fieldName.length - 1);
+        } else {
+            buffer.writeRaw(fieldName);
+        }
+    }
+    
+    private void writeNullableString(String value, JsonByteBuffer buffer) throws IOException {
+        if (value == null) {
+            buffer.writeRaw(NULL);
+        } else {
+            buffer.writeQuotedString(value);
+        }
+    }
+}
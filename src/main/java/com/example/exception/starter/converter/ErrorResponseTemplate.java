@@ -0,0 +1,60 @@
+package com.example.exception.starter.converter;
+
+import com.example.exception.starter.enums.ErrorCode;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 错误响应模板
+ * 启动时按错误码预先编码响应体开头不变的JSON片段，写出时消息与默认消息相同则直接复用
+ */
+final class ErrorResponseTemplate {
+    
+    static final byte[] MESSAGE_FIELD = ascii(",\"message\":");
+    
+    private final ErrorCode errorCode;
+    
+    /**
+     * {"code":2001
+     */
+    private final byte[] codeFragment;
+    
+    /**
+     * ,"message":"资源不存在"
+     */
+    private final byte[] defaultMessageFragment;
+    
+    ErrorResponseTemplate(ErrorCode errorCode) {
+        this.errorCode = errorCode;
+        this.codeFragment = ascii("{\"code\":" + errorCode.getCode());
+        byte[] message = JsonByteBuffer.quote(errorCode.getMessage());
+        this.defaultMessageFragment = new byte[MESSAGE_FIELD.length + message.length];
+        System.arraycopy(MESSAGE_FIELD, 0, defaultMessageFragment, 0, MESSAGE_FIELD.length);
+        System.arraycopy(message, 0, defaultMessageFragment, MESSAGE_FIELD.length, message.length);
+    }
+    
+    ErrorCode getErrorCode() {
+        return errorCode;
+    }
+    
+    /**
+     * 写出对象开头的 code 与 message 字段
+     */
+    void writeHead(String message, JsonByteBuffer buffer) throws IOException {
+        buffer.writeRaw(codeFragment);
+        if (message == null) {
+            return;
+        }
+        if (message.equals(errorCode.getMessage())) {
+            buffer.writeRaw(defaultMessageFragment);
+        } else {
+            buffer.writeRaw(MESSAGE_FIELD);
+            buffer.writeQuotedString(message);
+        }
+    }
+    
+    static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
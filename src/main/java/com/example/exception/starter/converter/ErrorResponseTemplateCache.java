@@ -0,0 +1,68 @@
+package com.example.exception.starter.converter;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+
+/**
+ * 错误响应模板缓存
+ * 按 {@link ErrorCodeRegistry} 分配的下标缓存预编码的响应模板，按数字错误码查找时经注册表的直接寻址数组取得下标，
+ * 不产生装箱。指定 Problem Details 类型 URI 前缀时同时缓存 Problem Details 模板
+ */
+public class ErrorResponseTemplateCache {
+    
+    private final ErrorCodeRegistry registry;
+    private final ErrorResponseTemplate[] templates;
+    private final ProblemDetailTemplate[] problemTemplates;
+    
+    public ErrorResponseTemplateCache() {
+        this(ErrorCodeRegistry.builtIn(), null);
+    }
+    
+    public ErrorResponseTemplateCache(String problemTypeBaseUri) {
+        this(ErrorCodeRegistry.builtIn(), problemTypeBaseUri);
+    }
+    
+    /**
+     * @param problemTypeBaseUri Problem Details 的 type 前缀，type 为前缀加上错误码名称（小写，下划线换成连字符），
+     *                           为 null 时不缓存 Problem Details 模板
+     */
+    public ErrorResponseTemplateCache(ErrorCodeRegistry registry, String problemTypeBaseUri) {
+        this.registry = registry;
+        this.templates = new ErrorResponseTemplate[registry.size()];
+        this.problemTemplates = problemTypeBaseUri != null ? new ProblemDetailTemplate[registry.size()] : null;
+        for (ErrorCode errorCode : registry.getErrorCodes()) {
+            int index = registry.indexOf(errorCode);
+            templates[index] = new ErrorResponseTemplate(errorCode);
+            if (problemTemplates != null) {
+                problemTemplates[index] = new ProblemDetailTemplate(errorCode, problemTypeBaseUri);
+            }
+        }
+    }
+    
+    /**
+     * 未注册的错误码返回 null
+     */
+    ErrorResponseTemplate get(ErrorCode errorCode) {
+        int index = registry.indexOf(errorCode);
+        return index >= 0 ? templates[index] : null;
+    }
+    
+    /**
+     * 按数字错误码查找模板，未知错误码返回 null
+     */
+    ErrorResponseTemplate get(int code) {
+        int index = registry.indexOf(code);
+        return index >= 0 ? templates[index] : null;
+    }
+    
+    /**
+     * 按数字错误码查找 Problem Details 模板，未知错误码或未启用时返回 null
+     */
+    ProblemDetailTemplate getProblem(int code) {
+        if (problemTemplates == null) {
+            return null;
+        }
+        int index = registry.indexOf(code);
+        return index >= 0 ? problemTemplates[index] : null;
+    }
+}
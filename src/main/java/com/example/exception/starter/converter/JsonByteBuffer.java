@@ -0,0 +1,200 @@
+package com.example.exception.starter.converter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * JSON字节缓冲区
+ * 直接以UTF-8编码写入字节，字符串转义规则与Jackson默认输出保持一致。
+ * 绑定输出流后缓冲区写满即刷出，容量保持不变，适合池化复用
+ */
+final class JsonByteBuffer {
+    
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    
+    /**
+     * 单个字符转义后的最大字节数
+     */
+    private static final int MAX_BYTES_PER_CHAR = 6;
+    
+    private byte[] buf;
+    private int count;
+    private OutputStream target;
+    
+    JsonByteBuffer(int initialCapacity) {
+        this.buf = new byte[initialCapacity];
+    }
+    
+    /**
+     * 绑定输出流，写满后直接刷出到该流
+     */
+    void bind(OutputStream target) {
+        this.target = target;
+        this.count = 0;
+    }
+    
+    /**
+     * 解除绑定并清空内容
+     */
+    void reset() {
+        this.target = null;
+        this.count = 0;
+    }
+    
+    int capacity() {
+        return buf.length;
+    }
+    
+    void writeByte(int b) throws IOException {
+        ensureCapacity(1);
+        buf[count++] = (byte) b;
+    }
+    
+    void writeRaw(byte[] bytes) throws IOException {
+        writeRaw(bytes, 0, bytes.length);
+    }
+    
+    void writeRaw(byte[] bytes, int offset, int length) throws IOException {
+        if (target != null && length > buf.length) {
+            flush();
+            target.write(bytes, offset, length);
+            return;
+        }
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buf, count, length);
+        count += length;
+    }
+    
+    void writeInt(int value) throws IOException {
+        writeAscii(Integer.toString(value));
+    }
+    
+    void writeAscii(String value) throws IOException {
+        int len = value.length();
+        ensureCapacity(len);
+        for (int i = 0; i < len; i++) {
+            buf[count++] = (byte) value.charAt(i);
+        }
+    }
+    
+    /**
+     * 写入带引号的JSON字符串
+     */
+    void writeQuotedString(String value) throws IOException {
+        writeByte('"');
+        writeEscaped(value);
+        writeByte('"');
+    }
+    
+    private void writeEscaped(String value) throws IOException {
+        int len = value.length();
+        // 按块预留空间，长字符串不会撑大缓冲区；多留一个字符的余量给跨块的代理对
+        int chunk = Math.max(1, buf.length / MAX_BYTES_PER_CHAR - 1);
+        int i = 0;
+        while (i < len) {
+            int end = Math.min(len, i + chunk);
+            ensureCapacity((end - i + 1) * MAX_BYTES_PER_CHAR);
+            for (; i < end; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    if (c >= 0x20 && c != '"' && c != '\\') {
+                        buf[count++] = (byte) c;
+                    } else {
+                        writeEscapedAscii(c);
+                    }
+                } else if (c < 0x800) {
+                    buf[count++] = (byte) (0xC0 | (c >> 6));
+                    buf[count++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, value.charAt(++i));
+                    buf[count++] = (byte) (0xF0 | (cp >> 18));
+                    buf[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[count++] = (byte) (0x80 | (cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // 不成对的代理字符无法编码为合法UTF-8
+                    buf[count++] = '?';
+                } else {
+                    buf[count++] = (byte) (0xE0 | (c >> 12));
+                    buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buf[count++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+    }
+    
+    private void writeEscapedAscii(char c) {
+        buf[count++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                buf[count++] = (byte) c;
+                break;
+            case '\b':
+                buf[count++] = 'b';
+                break;
+            case '\t':
+                buf[count++] = 't';
+                break;
+            case '\n':
+                buf[count++] = 'n';
+                break;
+            case '\f':
+                buf[count++] = 'f';
+                break;
+            case '\r':
+                buf[count++] = 'r';
+                break;
+            default:
+                buf[count++] = 'u';
+                buf[count++] = '0';
+                buf[count++] = '0';
+                buf[count++] = HEX[c >> 4];
+                buf[count++] = HEX[c & 0xF];
+        }
+    }
+    
+    int size() {
+        return count;
+    }
+    
+    byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+    
+    /**
+     * 将缓冲内容刷出到绑定的输出流
+     */
+    void flush() throws IOException {
+        if (target != null && count > 0) {
+            target.write(buf, 0, count);
+            count = 0;
+        }
+    }
+    
+    private void ensureCapacity(int extra) throws IOException {
+        if (count + extra <= buf.length) {
+            return;
+        }
+        flush();
+        if (count + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, count + extra));
+        }
+    }
+    
+    /**
+     * 将字符串编码为带引号的JSON字节
+     */
+    static byte[] quote(String value) {
+        JsonByteBuffer buffer = new JsonByteBuffer(value.length() * MAX_BYTES_PER_CHAR + 2);
+        try {
+            buffer.writeQuotedString(value);
+        } catch (IOException ex) {
+            // 未绑定输出流时不会发生
+            throw new IllegalStateException(ex);
+        }
+        return buffer.toByteArray();
+    }
+}
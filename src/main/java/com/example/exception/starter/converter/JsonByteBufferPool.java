@@ -0,0 +1,72 @@
+package com.example.exception.starter.converter;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * JSON字节缓冲区池
+ * 默认每个线程复用一个固定容量的缓冲区；写入超长内容导致扩容的缓冲区在归还时丢弃，避免长期占用内存。
+ * <p>
+ * 虚拟线程每个请求都是新线程，ThreadLocal 既无法复用又会让每个线程各持有一个缓冲区，
+ * 因此提供固定槽位数的共享模式：通过 CAS 取出和归还，不加锁，槽位都被占用时临时分配
+ */
+final class JsonByteBufferPool {
+    
+    private final int bufferSize;
+    private final ThreadLocal<JsonByteBuffer> buffers;
+    private final AtomicReferenceArray<JsonByteBuffer> shared;
+    
+    /**
+     * @param bufferSize 缓冲区初始容量
+     * @param sharedSlots 共享模式的槽位数，小于等于 0 时按线程复用
+     */
+    JsonByteBufferPool(int bufferSize, int sharedSlots) {
+        this.bufferSize = bufferSize;
+        if (sharedSlots > 0) {
+            this.buffers = null;
+            this.shared = new AtomicReferenceArray<>(sharedSlots);
+        } else {
+            this.buffers = ThreadLocal.withInitial(() -> new JsonByteBuffer(bufferSize));
+            this.shared = null;
+        }
+    }
+    
+    JsonByteBuffer acquire() {
+        if (shared == null) {
+            return buffers.get();
+        }
+        int slots = shared.length();
+        int start = ThreadLocalRandom.current().nextInt(slots);
+        for (int i = 0; i < slots; i++) {
+            int index = (start + i) % slots;
+            if (shared.get(index) != null) {
+                JsonByteBuffer buffer = shared.getAndSet(index, null);
+                if (buffer != null) {
+                    return buffer;
+                }
+            }
+        }
+        return new JsonByteBuffer(bufferSize);
+    }
+    
+    void release(JsonByteBuffer buffer) {
+        buffer.reset();
+        if (shared == null) {
+            if (buffer.capacity() > bufferSize) {
+                buffers.remove();
+            }
+            return;
+        }
+        if (buffer.capacity() > bufferSize) {
+            return;
+        }
+        int slots = shared.length();
+        int start = ThreadLocalRandom.current().nextInt(slots);
+        for (int i = 0; i < slots; i++) {
+            int index = (start + i) % slots;
+            if (shared.get(index) == null && shared.compareAndSet(index, null, buffer)) {
+                return;
+            }
+        }
+    }
+}
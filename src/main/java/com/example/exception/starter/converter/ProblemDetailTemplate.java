@@ -0,0 +1,55 @@
+package com.example.exception.starter.converter;
+
+import com.example.exception.starter.enums.ErrorCode;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Problem Details（RFC 9457）响应模板
+ * 启动时按错误码预先编码 type、title 与 status 字段名，写出时只追加状态码数值和随请求变化的字段
+ */
+final class ProblemDetailTemplate {
+    
+    /**
+     * 未知错误码使用的模板：{"type":"about:blank","status":
+     */
+    static final byte[] UNKNOWN_HEAD = ErrorResponseTemplate.ascii("{\"type\":\"about:blank\",\"status\":");
+    
+    private final ErrorCode errorCode;
+    
+    /**
+     * {"type":"/problems/resource-not-found","title":"资源不存在","status":
+     */
+    private final byte[] head;
+    
+    ProblemDetailTemplate(ErrorCode errorCode, String typeBaseUri) {
+        this.errorCode = errorCode;
+        String type = typeBaseUri + errorCode.name().toLowerCase(Locale.ROOT).replace('_', '-');
+        JsonByteBuffer buffer = new JsonByteBuffer(128);
+        try {
+            buffer.writeAscii("{\"type\":");
+            buffer.writeQuotedString(type);
+            buffer.writeAscii(",\"title\":");
+            buffer.writeQuotedString(errorCode.getMessage());
+            buffer.writeAscii(",\"status\":");
+        } catch (IOException ex) {
+            // 未绑定输出流时不会发生
+            throw new IllegalStateException(ex);
+        }
+        this.head = buffer.toByteArray();
+    }
+    
+    ErrorCode getErrorCode() {
+        return errorCode;
+    }
+    
+    /**
+     * 写出 type、title 与 status，返回 message 是否需要作为 detail 写出（与 title 相同时省略）
+     */
+    boolean writeHead(int status, String message, JsonByteBuffer buffer) throws IOException {
+        buffer.writeRaw(head);
+        buffer.writeInt(status);
+        return message != null && !message.equals(errorCode.getMessage());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.exception.starter.enums;
+
+/**
+ * 内置错误码
+ * 每个错误码携带语义化的 HTTP 状态，也可通过 {@link ErrorCode} 中的同名常量引用
+ */
+public enum BuiltInErrorCode implements ErrorCode {
+    
+    // 系统级别错误 (1000-1999)
+    SUCCESS(0, "操作成功", 200),
+    SYSTEM_ERROR(1000, "系统内部错误", 500),
+    PARAM_ERROR(1001, "参数错误", 400),
+    VALIDATION_ERROR(1002, "数据校验失败", 400),
+    REQUEST_METHOD_NOT_SUPPORTED(1003, "请求方法不支持", 405),
+    MEDIA_TYPE_NOT_SUPPORTED(1004, "媒体类型不支持", 415),
+    MISSING_REQUEST_PARAMETER(1005, "缺少请求参数", 400),
+    TYPE_MISMATCH(1006, "参数类型不匹配", 400),
+    HTTP_MESSAGE_NOT_READABLE(1007, "请求体不可读", 400),
+    MISSING_SERVLET_REQUEST_PART(1008, "缺少文件上传参数", 400),
+    MAX_UPLOAD_SIZE_EXCEEDED(1009, "文件上传大小超限", 413),
+    
+    // 业务级别错误 (2000-2999)
+    BUSINESS_ERROR(2000, "业务处理失败", 400),
+    RESOURCE_NOT_FOUND(2001, "资源不存在", 404),
+    RESOURCE_ALREADY_EXISTS(2002, "资源已存在", 409),
+    OPERATION_NOT_ALLOWED(2003, "操作不被允许", 403),
+    
+    // 权限相关错误 (3000-3999)
+    UNAUTHORIZED(3000, "未授权访问", 401),
+    ACCESS_DENIED(3001, "访问被拒绝", 403),
+    TOKEN_EXPIRED(3002, "令牌已过期", 401),
+    TOKEN_INVALID(3003, "令牌无效", 401),
+    
+    // 外部服务错误 (4000-4999)
+    EXTERNAL_SERVICE_ERROR(4000, "外部服务错误", 502),
+    SERVICE_UNAVAILABLE(4001, "服务不可用", 503),
+    TIMEOUT_ERROR(4002, "请求超时", 408);
+    
+    private final int code;
+    private final String message;
+    private final int httpStatus;
+    
+    BuiltInErrorCode(int code, String message, int httpStatus) {
+        this.code = code;
+        this.message = message;
+        this.httpStatus = httpStatus;
+    }
+    
+    @Override
+    public int getCode() {
+        return code;
+    }
+    
+    @Override
+    public String getMessage() {
+        return message;
+    }
+    
+    @Override
+    public int getHttpStatus() {
+        return httpStatus;
+    }
+}
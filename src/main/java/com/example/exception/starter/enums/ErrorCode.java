@@ -1,53 +1,62 @@
 package com.example.exception.starter.enums;
 
 /**
- * 错误码枚举
+ * 错误码
+ * <p>
+ * 内置错误码由 {@link BuiltInErrorCode} 提供，并以同名常量保留在本接口中；应用可以用自己的枚举实现本接口，
+ * 通过 {@link ErrorCodeProvider} 注册到 {@link ErrorCodeRegistry}，启动时检查错误码范围与唯一性。
+ * 错误码必须落在 {@link ErrorCodeRange} 定义的范围内。
+ * 本接口不声明 default 方法：否则初始化 BuiltInErrorCode 时会先初始化本接口，常量读到的是尚未创建的枚举值
  */
-public enum ErrorCode {
+public interface ErrorCode {
     
     // 系统级别错误 (1000-1999)
-    SUCCESS(0, "操作成功"),
-    SYSTEM_ERROR(1000, "系统内部错误"),
-    PARAM_ERROR(1001, "参数错误"),
-    VALIDATION_ERROR(1002, "数据校验失败"),
-    REQUEST_METHOD_NOT_SUPPORTED(1003, "请求方法不支持"),
-    MEDIA_TYPE_NOT_SUPPORTED(1004, "媒体类型不支持"),
-    MISSING_REQUEST_PARAMETER(1005, "缺少请求参数"),
-    TYPE_MISMATCH(1006, "参数类型不匹配"),
-    HTTP_MESSAGE_NOT_READABLE(1007, "请求体不可读"),
-    MISSING_SERVLET_REQUEST_PART(1008, "缺少文件上传参数"),
-    MAX_UPLOAD_SIZE_EXCEEDED(1009, "文件上传大小超限"),
+    ErrorCode SUCCESS = BuiltInErrorCode.SUCCESS;
+    ErrorCode SYSTEM_ERROR = BuiltInErrorCode.SYSTEM_ERROR;
+    ErrorCode PARAM_ERROR = BuiltInErrorCode.PARAM_ERROR;
+    ErrorCode VALIDATION_ERROR = BuiltInErrorCode.VALIDATION_ERROR;
+    ErrorCode REQUEST_METHOD_NOT_SUPPORTED = BuiltInErrorCode.REQUEST_METHOD_NOT_SUPPORTED;
+    ErrorCode MEDIA_TYPE_NOT_SUPPORTED = BuiltInErrorCode.MEDIA_TYPE_NOT_SUPPORTED;
+    ErrorCode MISSING_REQUEST_PARAMETER = BuiltInErrorCode.MISSING_REQUEST_PARAMETER;
+    ErrorCode TYPE_MISMATCH = BuiltInErrorCode.TYPE_MISMATCH;
+    ErrorCode HTTP_MESSAGE_NOT_READABLE = BuiltInErrorCode.HTTP_MESSAGE_NOT_READABLE;
+    ErrorCode MISSING_SERVLET_REQUEST_PART = BuiltInErrorCode.MISSING_SERVLET_REQUEST_PART;
+    ErrorCode MAX_UPLOAD_SIZE_EXCEEDED = BuiltInErrorCode.MAX_UPLOAD_SIZE_EXCEEDED;
     
     // 业务级别错误 (2000-2999)
-    BUSINESS_ERROR(2000, "业务处理失败"),
-    RESOURCE_NOT_FOUND(2001, "资源不存在"),
-    RESOURCE_ALREADY_EXISTS(2002, "资源已存在"),
-    OPERATION_NOT_ALLOWED(2003, "操作不被允许"),
+    ErrorCode BUSINESS_ERROR = BuiltInErrorCode.BUSINESS_ERROR;
+    ErrorCode RESOURCE_NOT_FOUND = BuiltInErrorCode.RESOURCE_NOT_FOUND;
+    ErrorCode RESOURCE_ALREADY_EXISTS = BuiltInErrorCode.RESOURCE_ALREADY_EXISTS;
+    ErrorCode OPERATION_NOT_ALLOWED = BuiltInErrorCode.OPERATION_NOT_ALLOWED;
     
     // 权限相关错误 (3000-3999)
-    UNAUTHORIZED(3000, "未授权访问"),
-    ACCESS_DENIED(3001, "访问被拒绝"),
-    TOKEN_EXPIRED(3002, "令牌已过期"),
-    TOKEN_INVALID(3003, "令牌无效"),
+    ErrorCode UNAUTHORIZED = BuiltInErrorCode.UNAUTHORIZED;
+    ErrorCode ACCESS_DENIED = BuiltInErrorCode.ACCESS_DENIED;
+    ErrorCode TOKEN_EXPIRED = BuiltInErrorCode.TOKEN_EXPIRED;
+    ErrorCode TOKEN_INVALID = BuiltInErrorCode.TOKEN_INVALID;
     
     // 外部服务错误 (4000-4999)
-    EXTERNAL_SERVICE_ERROR(4000, "外部服务错误"),
-    SERVICE_UNAVAILABLE(4001, "服务不可用"),
-    TIMEOUT_ERROR(4002, "请求超时");
-    
-    private final int code;
-    private final String message;
-    
-    ErrorCode(int code, String message) {
-        this.code = code;
-        this.message = message;
-    }
-    
-    public int getCode() {
-        return code;
-    }
-    
-    public String getMessage() {
-        return message;
-    }
+    ErrorCode EXTERNAL_SERVICE_ERROR = BuiltInErrorCode.EXTERNAL_SERVICE_ERROR;
+    ErrorCode SERVICE_UNAVAILABLE = BuiltInErrorCode.SERVICE_UNAVAILABLE;
+    ErrorCode TIMEOUT_ERROR = BuiltInErrorCode.TIMEOUT_ERROR;
+    
+    /**
+     * 数字错误码
+     */
+    int getCode();
+    
+    /**
+     * 默认消息
+     */
+    String getMessage();
+    
+    /**
+     * 错误码名称，枚举实现直接返回常量名；用于 Problem Details 的 type、指标标签和配置属性
+     */
+    String name();
+    
+    /**
+     * 语义化的 HTTP 状态，没有特定状态时可返回 {@link ErrorCodeRange#defaultStatus(int)}
+     */
+    int getHttpStatus();
 }
@@ -0,0 +1,13 @@
+package com.example.exception.starter.enums;
+
+import java.util.Collection;
+
+/**
+ * 错误码提供者
+ * 应用注册为 Bean 后，其错误码在启动时与内置错误码一起注册到 {@link ErrorCodeRegistry}
+ */
+@FunctionalInterface
+public interface ErrorCodeProvider {
+    
+    Collection<? extends ErrorCode> getErrorCodes();
+}
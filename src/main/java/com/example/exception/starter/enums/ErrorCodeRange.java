@@ -0,0 +1,61 @@
+package com.example.exception.starter.enums;
+
+/**
+ * 错误码范围
+ * 注册到 {@link ErrorCodeRegistry} 的错误码必须落在其中一个范围内，启动时检查
+ */
+public enum ErrorCodeRange {
+    
+    SUCCESS(0, 0, 200),
+    SYSTEM(1000, 1999, 500),
+    BUSINESS(2000, 2999, 400),
+    AUTH(3000, 3999, 401),
+    EXTERNAL(4000, 4999, 502),
+    
+    /**
+     * 应用自定义的错误码
+     */
+    APPLICATION(5000, 9999, 500);
+    
+    private final int min;
+    private final int max;
+    private final int defaultStatus;
+    
+    ErrorCodeRange(int min, int max, int defaultStatus) {
+        this.min = min;
+        this.max = max;
+        this.defaultStatus = defaultStatus;
+    }
+    
+    /**
+     * 错误码所在的范围，不在任何范围内时返回 null
+     */
+    public static ErrorCodeRange of(int code) {
+        for (ErrorCodeRange range : values()) {
+            if (code >= range.min && code <= range.max) {
+                return range;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * 错误码所在范围的默认 HTTP 状态，不在任何范围内时返回 500
+     */
+    public static int defaultStatus(int code) {
+        ErrorCodeRange range = of(code);
+        return range != null ? range.defaultStatus : 500;
+    }
+    
+    public int getMin() {
+        return min;
+    }
+    
+    public int getMax() {
+        return max;
+    }
+    
+    public int getDefaultStatus() {
+        return defaultStatus;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.exception.starter.enums;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 错误码注册表
+ * <p>
+ * 创建时检查每个错误码：数字错误码落在 {@link ErrorCodeRange} 的范围内且不重复，名称不重复，
+ * HTTP 状态在 100-599 之间，不满足时抛出 IllegalStateException，使应用启动失败。
+ * 注册后按注册顺序分配从 0 开始的连续下标，数字错误码到错误码与下标的映射都是按错误码直接寻址的数组，
+ * 查找不产生装箱与分配；其他组件按下标建立自己的数组缓存
+ */
+public class ErrorCodeRegistry {
+    
+    /**
+     * 允许的最大数字错误码
+     */
+    public static final int MAX_CODE = 9999;
+    
+    private static final ErrorCodeRegistry BUILT_IN = new ErrorCodeRegistry(Arrays.asList(BuiltInErrorCode.values()));
+    
+    private final List<ErrorCode> errorCodes;
+    private final ErrorCode[] byCode = new ErrorCode[MAX_CODE + 1];
+    private final int[] indexByCode = new int[MAX_CODE + 1];
+    private final Map<String, ErrorCode> byName = new HashMap<>();
+    
+    public ErrorCodeRegistry(Collection<? extends ErrorCode> errorCodes) {
+        Arrays.fill(indexByCode, -1);
+        List<ErrorCode> registered = new ArrayList<>(errorCodes.size());
+        for (ErrorCode errorCode : errorCodes) {
+            validate(errorCode);
+            indexByCode[errorCode.getCode()] = registered.size();
+            byCode[errorCode.getCode()] = errorCode;
+            byName.put(errorCode.name(), errorCode);
+            registered.add(errorCode);
+        }
+        this.errorCodes = Collections.unmodifiableList(registered);
+    }
+    
+    /**
+     * 只包含内置错误码的注册表
+     */
+    public static ErrorCodeRegistry builtIn() {
+        return BUILT_IN;
+    }
+    
+    /**
+     * 内置错误码加上各提供者的错误码
+     */
+    public static ErrorCodeRegistry of(Collection<? extends ErrorCodeProvider> providers) {
+        List<ErrorCode> errorCodes = new ArrayList<>(Arrays.asList(BuiltInErrorCode.values()));
+        for (ErrorCodeProvider provider : providers) {
+            errorCodes.addAll(provider.getErrorCodes());
+        }
+        return new ErrorCodeRegistry(errorCodes);
+    }
+    
+    private void validate(ErrorCode errorCode) {
+        int code = errorCode.getCode();
+        String name = errorCode.name();
+        if (code < 0 || code > MAX_CODE || ErrorCodeRange.of(code) == null) {
+            throw new IllegalStateException("Error code " + name + "(" + code + ") is outside the allowed ranges "
+                    + Arrays.toString(ErrorCodeRange.values()));
+        }
+        if (byCode[code] != null) {
+            throw new IllegalStateException("Error code " + code + " is used by both " + byCode[code].name()
+                    + " and " + name);
+        }
+        if (name == null || name.isEmpty() || byName.containsKey(name)) {
+            throw new IllegalStateException("Error code name '" + name + "' of code " + code + " is missing or duplicated");
+        }
+        int status = errorCode.getHttpStatus();
+        if (status < 100 || status > 599) {
+            throw new IllegalStateException("Error code " + name + " has invalid HTTP status " + status);
+        }
+    }
+    
+    /**
+     * 按数字错误码查找，未注册时返回 null
+     */
+    public ErrorCode get(int code) {
+        return code >= 0 && code <= MAX_CODE ? byCode[code] : null;
+    }
+    
+    /**
+     * 按名称查找，未注册时返回 null
+     */
+    public ErrorCode get(String name) {
+        return byName.get(name);
+    }
+    
+    /**
+     * 按名称或数字错误码查找，用于解析配置属性；未注册时抛出 IllegalArgumentException
+     */
+    public ErrorCode resolve(String nameOrCode) {
+        String value = nameOrCode.trim();
+        ErrorCode errorCode = byName.get(value);
+        if (errorCode == null && !value.isEmpty() && Character.isDigit(value.charAt(0))) {
+            try {
+                errorCode = get(Integer.parseInt(value));
+            } catch (NumberFormatException ex) {
+                errorCode = null;
+            }
+        }
+        if (errorCode == null) {
+            throw new IllegalArgumentException("Unknown error code '" + nameOrCode + "'");
+        }
+        return errorCode;
+    }
+    
+    /**
+     * 批量解析，见 {@link #resolve(String)}
+     */
+    public List<ErrorCode> resolveAll(Collection<String> namesOrCodes) {
+        List<ErrorCode> result = new ArrayList<>(namesOrCodes.size());
+        for (String nameOrCode : namesOrCodes) {
+            result.add(resolve(nameOrCode));
+        }
+        return result;
+    }
+    
+    /**
+     * 错误码的下标，未注册（或同一数字错误码注册的是另一个实例）时返回 -1
+     */
+    public int indexOf(ErrorCode errorCode) {
+        int code = errorCode.getCode();
+        if (code < 0 || code > MAX_CODE || byCode[code] != errorCode) {
+            return -1;
+        }
+        return indexByCode[code];
+    }
+    
+    /**
+     * 数字错误码的下标，未注册时返回 -1
+     */
+    public int indexOf(int code) {
+        return code >= 0 && code <= MAX_CODE ? indexByCode[code] : -1;
+    }
+    
+    /**
+     * 按下标排列的全部错误码
+     */
+    public List<ErrorCode> getErrorCodes() {
+        return errorCodes;
+    }
+    
+    public int size() {
+        return errorCodes.size();
+    }
+}
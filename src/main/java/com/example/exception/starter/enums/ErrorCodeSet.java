@@ -0,0 +1,56 @@
+package com.example.exception.starter.enums;
+
+import java.util.Collection;
+
+/**
+ * 不可变的错误码集合
+ * 按数字错误码记录在位图中，判断是否包含时只有一次数组读取，不依赖枚举序号
+ */
+public final class ErrorCodeSet {
+    
+    private static final ErrorCodeSet EMPTY = new ErrorCodeSet(new long[0]);
+    
+    private final long[] bits;
+    
+    private ErrorCodeSet(long[] bits) {
+        this.bits = bits;
+    }
+    
+    public static ErrorCodeSet of(Collection<? extends ErrorCode> errorCodes) {
+        if (errorCodes == null || errorCodes.isEmpty()) {
+            return EMPTY;
+        }
+        int maxCode = -1;
+        for (ErrorCode errorCode : errorCodes) {
+            maxCode = Math.max(maxCode, errorCode.getCode());
+        }
+        if (maxCode < 0) {
+            return EMPTY;
+        }
+        long[] bits = new long[(maxCode >>> 6) + 1];
+        for (ErrorCode errorCode : errorCodes) {
+            int code = errorCode.getCode();
+            if (code >= 0) {
+                bits[code >>> 6] |= 1L << code;
+            }
+        }
+        return new ErrorCodeSet(bits);
+    }
+    
+    public static ErrorCodeSet empty() {
+        return EMPTY;
+    }
+    
+    public boolean contains(ErrorCode errorCode) {
+        if (errorCode == null) {
+            return false;
+        }
+        int code = errorCode.getCode();
+        int word = code >>> 6;
+        return code >= 0 && word < bits.length && (bits[word] & (1L << code)) != 0;
+    }
+    
+    public boolean isEmpty() {
+        return bits.length == 0;
+    }
+}
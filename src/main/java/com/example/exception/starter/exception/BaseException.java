@@ -1,43 +1,121 @@
 package com.example.exception.starter.exception;
 
 import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.message.MessageTemplate;
 
 /**
  * 基础异常类
+ * 当错误码被 {@link StackTracePolicy} 标记为无堆栈时，构造过程跳过 fillInStackTrace；
+ * StackWalker 捕获模式下不由 JVM 填充完整堆栈，而是只记录构造位置之后的前 N 帧并通过 setStackTrace 写入，
+ * printStackTrace、序列化等读取内部堆栈的途径与完整堆栈模式一样可以看到这些帧
  */
 public class BaseException extends RuntimeException {
     
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+    
     private final ErrorCode errorCode;
     private final Object[] args;
+    private final boolean stackless;
+    
+    /**
+     * 构造期间 fillInStackTrace 选用 StackWalker 模式时记录的帧数。
+     * 该字段在父类构造器中赋值，因此不能带初始化表达式
+     */
+    private transient int walkerMaxFrames;
+    
+    private transient boolean constructed;
+    
+    /**
+     * StackWalker 模式下的栈顶帧，避免读取时复制堆栈数组
+     */
+    private transient StackTraceElement topFrame;
     
     public BaseException(ErrorCode errorCode) {
-        super(errorCode.getMessage());
-        this.errorCode = errorCode;
-        this.args = null;
+        this(errorCode, errorCode.getMessage(), null, null, StackTracePolicy.isStackless(errorCode));
     }
     
     public BaseException(ErrorCode errorCode, String message) {
-        super(message);
-        this.errorCode = errorCode;
-        this.args = null;
+        this(errorCode, message, null, null, StackTracePolicy.isStackless(errorCode));
     }
     
+    /**
+     * 以 args 填充错误码消息中的 {0}、{1} 占位符
+     */
     public BaseException(ErrorCode errorCode, Object... args) {
-        super(errorCode.getMessage());
-        this.errorCode = errorCode;
-        this.args = args;
+        this(errorCode, MessageTemplate.format(errorCode.getMessage(), args), null, args,
+                StackTracePolicy.isStackless(errorCode));
     }
     
     public BaseException(ErrorCode errorCode, String message, Throwable cause) {
-        super(message, cause);
-        this.errorCode = errorCode;
-        this.args = null;
+        this(errorCode, message, cause, null, StackTracePolicy.isStackless(errorCode));
     }
     
     public BaseException(ErrorCode errorCode, Throwable cause) {
-        super(errorCode.getMessage(), cause);
+        this(errorCode, errorCode.getMessage(), cause, null, StackTracePolicy.isStackless(errorCode));
+    }
+    
+    /**
+     * 完整构造器
+     * stackless 为 true 时既不填充堆栈也不记录 suppressed 异常，实例可安全地在线程间共享
+     */
+    protected BaseException(ErrorCode errorCode, String message, Throwable cause, Object[] args, boolean stackless) {
+        super(message, cause, !stackless, !stackless);
         this.errorCode = errorCode;
-        this.args = null;
+        this.args = args;
+        this.stackless = stackless;
+        if (walkerMaxFrames > 0) {
+            StackTraceElement[] stackTrace = walkFrames(walkerMaxFrames);
+            setStackTrace(stackTrace);
+            this.topFrame = stackTrace.length > 0 ? stackTrace[0] : null;
+        }
+        this.constructed = true;
+    }
+    
+    /**
+     * 构造期间在 StackWalker 模式下跳过 JVM 的堆栈填充，由构造器写入记录的帧；构造完成后的调用照常填充完整堆栈
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        if (!constructed) {
+            int maxFrames = StackTracePolicy.stackWalkerMaxFrames();
+            if (maxFrames > 0) {
+                walkerMaxFrames = maxFrames;
+                return this;
+            }
+        }
+        return super.fillInStackTrace();
+    }
+    
+    /**
+     * 跳过异常构造器的帧，记录之后的前 maxFrames 帧
+     */
+    private static StackTraceElement[] walkFrames(int maxFrames) {
+        return STACK_WALKER.walk(frames -> frames
+                .dropWhile(frame -> frame.getDeclaringClass() == BaseException.class
+                        || ("<init>".equals(frame.getMethodName()) && Throwable.class.isAssignableFrom(frame.getDeclaringClass())))
+                .limit(maxFrames)
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .toArray(StackTraceElement[]::new));
+    }
+    
+    /**
+     * 栈顶帧，无堆栈时返回 null；StackWalker 模式与无堆栈模式下不复制堆栈数组
+     */
+    public StackTraceElement getTopFrame() {
+        if (stackless) {
+            return null;
+        }
+        if (topFrame != null) {
+            return topFrame;
+        }
+        StackTraceElement[] stackTrace = super.getStackTrace();
+        return stackTrace.length > 0 ? stackTrace[0] : null;
+    }
+    
+    @Override
+    public void setStackTrace(StackTraceElement[] stackTrace) {
+        super.setStackTrace(stackTrace);
+        this.topFrame = null;
     }
     
     public ErrorCode getErrorCode() {
@@ -47,4 +125,11 @@ public class BaseException extends RuntimeException {
     public Object[] getArgs() {
         return args;
     }
+    
+    /**
+     * 是否为无堆栈异常
+     */
+    public boolean isStackless() {
+        return stackless;
+    }
 }
@@ -30,4 +30,8 @@ public class BusinessException extends BaseException {
     public BusinessException(ErrorCode errorCode, Throwable cause) {
         super(errorCode, cause);
     }
+    
+    protected BusinessException(ErrorCode errorCode, String message, Throwable cause, boolean stackless) {
+        super(errorCode, message, cause, null, stackless);
+    }
 }
@@ -0,0 +1,33 @@
+package com.example.exception.starter.exception;
+
+import com.example.exception.starter.enums.ErrorCode;
+
+/**
+ * 外部服务异常
+ * 携带下游服务名称，开启负载卸载时按该名称统计下游失败
+ */
+public class ExternalServiceException extends BaseException {
+    
+    private final String downstream;
+    
+    public ExternalServiceException(String downstream, String message) {
+        this(downstream, ErrorCode.EXTERNAL_SERVICE_ERROR, message, null);
+    }
+    
+    public ExternalServiceException(String downstream, String message, Throwable cause) {
+        this(downstream, ErrorCode.EXTERNAL_SERVICE_ERROR, message, cause);
+    }
+    
+    public ExternalServiceException(String downstream, ErrorCode errorCode, Throwable cause) {
+        this(downstream, errorCode, errorCode.getMessage(), cause);
+    }
+    
+    public ExternalServiceException(String downstream, ErrorCode errorCode, String message, Throwable cause) {
+        super(errorCode, message, cause);
+        this.downstream = downstream;
+    }
+    
+    public String getDownstream() {
+        return downstream;
+    }
+}
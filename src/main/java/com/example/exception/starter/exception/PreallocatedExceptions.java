@@ -0,0 +1,61 @@
+package com.example.exception.starter.exception;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 预分配的无参异常实例
+ * 适用于仅由错误码决定、作为流程控制抛出的异常，例如 RESOURCE_NOT_FOUND。
+ * 实例不含堆栈且禁用 suppressed 异常，可在线程间共享，抛出时没有任何分配开销。
+ * 实例按数字错误码在第一次使用时创建；同一数字错误码对应另一个 ErrorCode 实例时每次新建
+ */
+public final class PreallocatedExceptions {
+    
+    private static final AtomicReferenceArray<BusinessException> BUSINESS =
+            new AtomicReferenceArray<>(ErrorCodeRegistry.MAX_CODE + 1);
+    private static final AtomicReferenceArray<ValidationException> VALIDATION =
+            new AtomicReferenceArray<>(ErrorCodeRegistry.MAX_CODE + 1);
+    
+    private PreallocatedExceptions() {
+    }
+    
+    /**
+     * 获取指定错误码的共享业务异常
+     */
+    public static BusinessException business(ErrorCode errorCode) {
+        int code = errorCode.getCode();
+        if (code < 0 || code > ErrorCodeRegistry.MAX_CODE) {
+            return new BusinessException(errorCode, errorCode.getMessage(), null, true);
+        }
+        BusinessException exception = BUSINESS.get(code);
+        if (exception == null) {
+            exception = new BusinessException(errorCode, errorCode.getMessage(), null, true);
+            if (!BUSINESS.compareAndSet(code, null, exception)) {
+                exception = BUSINESS.get(code);
+            }
+        }
+        return exception.getErrorCode() == errorCode
+                ? exception : new BusinessException(errorCode, errorCode.getMessage(), null, true);
+    }
+    
+    /**
+     * 获取指定错误码的共享校验异常
+     */
+    public static ValidationException validation(ErrorCode errorCode) {
+        int code = errorCode.getCode();
+        if (code < 0 || code > ErrorCodeRegistry.MAX_CODE) {
+            return new ValidationException(errorCode, errorCode.getMessage(), null, true);
+        }
+        ValidationException exception = VALIDATION.get(code);
+        if (exception == null) {
+            exception = new ValidationException(errorCode, errorCode.getMessage(), null, true);
+            if (!VALIDATION.compareAndSet(code, null, exception)) {
+                exception = VALIDATION.get(code);
+            }
+        }
+        return exception.getErrorCode() == errorCode
+                ? exception : new ValidationException(errorCode, errorCode.getMessage(), null, true);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.exception.starter.exception;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.enums.ErrorCodeSet;
+
+import java.util.Collection;
+
+/**
+ * 异常堆栈策略
+ * 决定 BaseException 构造时是否填充堆栈，可全局开启或按错误码开启，由自动配置根据配置属性初始化；
+ * 需要堆栈时可选择完整填充，或通过 StackWalker 只记录前 N 帧
+ */
+public final class StackTracePolicy {
+    
+    /**
+     * 堆栈捕获方式
+     */
+    public enum CaptureMode {
+        
+        /**
+         * 由 JVM 填充完整堆栈
+         */
+        FULL,
+        
+        /**
+         * 通过 StackWalker 只记录构造位置之后的前 N 帧，构造时写入异常的堆栈，printStackTrace 与序列化均可见。
+         * StackWalker 的开销与记录的帧数成正比，只在 N 较小（约 10 帧以内）时比完整填充更快
+         */
+        STACK_WALKER
+    }
+    
+    private static volatile boolean stacklessAll = false;
+    
+    /**
+     * StackWalker 模式下记录的帧数，0 表示使用完整堆栈
+     */
+    private static volatile int walkerMaxFrames = 0;
+    
+    private static volatile ErrorCodeSet stacklessCodes = ErrorCodeSet.empty();
+    
+    private StackTracePolicy() {
+    }
+    
+    /**
+     * 指定错误码的异常是否跳过堆栈填充
+     */
+    public static boolean isStackless(ErrorCode errorCode) {
+        return stacklessAll || stacklessCodes.contains(errorCode);
+    }
+    
+    /**
+     * StackWalker 模式下记录的帧数，返回 0 表示使用完整堆栈
+     */
+    public static int stackWalkerMaxFrames() {
+        return walkerMaxFrames;
+    }
+    
+    /**
+     * 更新堆栈捕获方式
+     * @param mode 捕获方式
+     * @param maxFrames STACK_WALKER 模式下记录的帧数
+     */
+    public static void configureCapture(CaptureMode mode, int maxFrames) {
+        walkerMaxFrames = mode == CaptureMode.STACK_WALKER ? Math.max(maxFrames, 1) : 0;
+    }
+    
+    /**
+     * 更新策略
+     * @param all 是否对所有错误码关闭堆栈
+     * @param errorCodes 单独关闭堆栈的错误码
+     */
+    public static void configure(boolean all, Collection<ErrorCode> errorCodes) {
+        stacklessCodes = ErrorCodeSet.of(errorCodes);
+        stacklessAll = all;
+    }
+    
+    /**
+     * 恢复默认策略（全部填充完整堆栈）
+     */
+    public static void reset() {
+        configure(false, null);
+        configureCapture(CaptureMode.FULL, 0);
+    }
+}
@@ -30,4 +30,8 @@ public class ValidationException extends BaseException {
     public ValidationException(ErrorCode errorCode, Throwable cause) {
         super(errorCode, cause);
     }
+    
+    protected ValidationException(ErrorCode errorCode, String message, Throwable cause, boolean stackless) {
+        super(errorCode, message, cause, null, stackless);
+    }
 }
@@ -0,0 +1,78 @@
+package com.example.exception.starter.fingerprint;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 同一指纹异常的聚合统计
+ */
+public class ExceptionAggregate {
+    
+    private final long fingerprint;
+    private final String exceptionType;
+    private final Integer errorCode;
+    private final String message;
+    private final long firstSeen;
+    private final LongAdder count = new LongAdder();
+    
+    private volatile long lastSeen;
+    private volatile String samplePath;
+    
+    ExceptionAggregate(long fingerprint, String exceptionType, Integer errorCode, String message,
+                       long now, String samplePath) {
+        this.fingerprint = fingerprint;
+        this.exceptionType = exceptionType;
+        this.errorCode = errorCode;
+        this.message = message;
+        this.firstSeen = now;
+        this.lastSeen = now;
+        this.samplePath = samplePath;
+    }
+    
+    void record(long now, String path) {
+        count.increment();
+        // 同一毫秒内只写一次，避免热点指纹上的共享写
+        if (lastSeen != now) {
+            lastSeen = now;
+            samplePath = path;
+        }
+    }
+    
+    public String getFingerprint() {
+        return String.format("%016x", fingerprint);
+    }
+    
+    long fingerprint() {
+        return fingerprint;
+    }
+    
+    public String getExceptionType() {
+        return exceptionType;
+    }
+    
+    public Integer getErrorCode() {
+        return errorCode;
+    }
+    
+    /**
+     * 归一化后的异常消息
+     */
+    public String getMessage() {
+        return message;
+    }
+    
+    public long getCount() {
+        return count.sum();
+    }
+    
+    public long getFirstSeen() {
+        return firstSeen;
+    }
+    
+    public long getLastSeen() {
+        return lastSeen;
+    }
+    
+    public String getSamplePath() {
+        return samplePath;
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.exception.starter.fingerprint;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.handler.ExceptionHandledListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 异常聚合存储
+ * <p>
+ * 按指纹聚合已处理的异常：次数、首次/最近出现时间和一个示例请求路径。
+ * 条目数有上限，超出后由一个线程按最近出现时间淘汰最旧的 10%（近似 LRU），其余线程不等待。
+ * 已有指纹的记录只做一次开放寻址查找与一次 LongAdder 累加，不装箱、不加锁
+ * <p>
+ * 聚合保存在以 64 位指纹直接寻址的数组中，淘汰时把保留的条目复制到新数组后整体替换；
+ * 替换期间写入旧数组的新指纹会丢失，下次出现时重新创建
+ */
+public class ExceptionAggregateStore implements ExceptionHandledListener {
+    
+    private final ExceptionFingerprinter fingerprinter;
+    private final int maxEntries;
+    private final int capacity;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    
+    private volatile Table table;
+    
+    public ExceptionAggregateStore(ExceptionFingerprinter fingerprinter, int maxEntries) {
+        this.fingerprinter = fingerprinter;
+        this.maxEntries = maxEntries;
+        // 负载因子不超过 0.5，淘汰期间仍有空位容纳新指纹
+        this.capacity = Integer.highestOneBit(Math.max(maxEntries, 1) * 2 - 1) << 1;
+        this.table = new Table(capacity);
+    }
+    
+    @Override
+    public void onExceptionHandled(Throwable exception, ErrorCode errorCode, int status,
+                                   String method, String path, String pathPattern, long durationNanos) {
+        long fingerprint = fingerprinter.fingerprint(exception, errorCode);
+        long now = System.currentTimeMillis();
+        
+        Table current = table;
+        ExceptionAggregate aggregate = current.get(fingerprint);
+        if (aggregate == null) {
+            aggregate = current.putIfAbsent(new ExceptionAggregate(fingerprint,
+                    exception.getClass().getName(), errorCode != null ? errorCode.getCode() : null,
+                    ExceptionFingerprinter.normalizeMessage(exception.getMessage()), now, path));
+            if (current.size() > maxEntries) {
+                evict();
+            }
+            if (aggregate == null) {
+                // 数组已满，等待淘汰完成
+                return;
+            }
+        }
+        aggregate.record(now, path);
+    }
+    
+    /**
+     * 按出现次数从高到低返回前 limit 个指纹
+     */
+    public List<ExceptionAggregate> top(int limit) {
+        ExceptionAggregate[] entries = table.entries();
+        long[] counts = new long[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            counts[i] = entries[i].getCount();
+        }
+        Integer[] order = sortedIndexes(counts, Comparator.<Integer>comparingLong(i -> counts[i]).reversed());
+        int size = Math.min(Math.max(limit, 0), order.length);
+        List<ExceptionAggregate> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(entries[order[i]]);
+        }
+        return result;
+    }
+    
+    public int size() {
+        return table.size();
+    }
+    
+    public void clear() {
+        table = new Table(capacity);
+    }
+    
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            ExceptionAggregate[] entries = table.entries();
+            int target = maxEntries - maxEntries / 10;
+            if (entries.length <= target) {
+                return;
+            }
+            // lastSeen 仍在被请求线程更新，按复制出的值排序才能保证比较结果一致
+            long[] lastSeen = new long[entries.length];
+            for (int i = 0; i < entries.length; i++) {
+                lastSeen[i] = entries[i].getLastSeen();
+            }
+            Integer[] order = sortedIndexes(lastSeen, Comparator.comparingLong(i -> lastSeen[i]));
+            Table retained = new Table(capacity);
+            for (int i = entries.length - target; i < order.length; i++) {
+                retained.putIfAbsent(entries[order[i]]);
+            }
+            table = retained;
+        } finally {
+            evicting.set(false);
+        }
+    }
+    
+    private static Integer[] sortedIndexes(long[] values, Comparator<Integer> comparator) {
+        Integer[] order = new Integer[values.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, comparator);
+        return order;
+    }
+    
+    /**
+     * 以指纹为键的开放寻址数组，槽位只会从空变为非空
+     */
+    private static final class Table {
+        
+        private final AtomicReferenceArray<ExceptionAggregate> slots;
+        private final int mask;
+        private final AtomicInteger size = new AtomicInteger();
+        
+        Table(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.mask = capacity - 1;
+        }
+        
+        ExceptionAggregate get(long fingerprint) {
+            for (int i = index(fingerprint), probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                ExceptionAggregate aggregate = slots.get(i);
+                if (aggregate == null || aggregate.fingerprint() == fingerprint) {
+                    return aggregate;
+                }
+            }
+            return null;
+        }
+        
+        /**
+         * 插入聚合，已存在相同指纹时返回已有的聚合，数组已满时返回 null
+         */
+        ExceptionAggregate putIfAbsent(ExceptionAggregate candidate) {
+            long fingerprint = candidate.fingerprint();
+            for (int i = index(fingerprint), probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                ExceptionAggregate aggregate = slots.get(i);
+                if (aggregate == null) {
+                    if (slots.compareAndSet(i, null, candidate)) {
+                        size.incrementAndGet();
+                        return candidate;
+                    }
+                    aggregate = slots.get(i);
+                }
+                if (aggregate.fingerprint() == fingerprint) {
+                    return aggregate;
+                }
+            }
+            return null;
+        }
+        
+        int size() {
+            return size.get();
+        }
+        
+        ExceptionAggregate[] entries() {
+            List<ExceptionAggregate> entries = new ArrayList<>(size());
+            for (int i = 0; i <= mask; i++) {
+                ExceptionAggregate aggregate = slots.get(i);
+                if (aggregate != null) {
+                    entries.add(aggregate);
+                }
+            }
+            return entries.toArray(new ExceptionAggregate[0]);
+        }
+        
+        private int index(long fingerprint) {
+            return (int) (fingerprint ^ (fingerprint >>> 32)) & mask;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.exception.starter.fingerprint;
+
+import com.example.exception.starter.enums.ErrorCode;
+
+import java.util.List;
+
+/**
+ * 异常指纹计算器
+ * <p>
+ * 指纹由异常类型、错误码、归一化后的消息和前 N 个应用帧组成，计算结果为 64 位哈希。
+ * 消息中包含数字的十六进制/数字片段（ID、UUID、端口号等）归一化为同一个占位符，
+ * 使 "用户 123 不存在" 与 "用户 456 不存在" 得到相同的指纹。计算过程只做哈希，不构建中间字符串
+ */
+public class ExceptionFingerprinter {
+    
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    private static final String[] FRAMEWORK_PREFIXES = {
+            "java.", "javax.", "jakarta.", "jdk.", "sun.", "com.sun.",
+            "org.springframework.", "org.apache.", "io.micrometer.", "com.fasterxml.", "org.hibernate."
+    };
+    
+    private final int maxFrames;
+    private final String[] applicationPackages;
+    
+    /**
+     * @param maxFrames 参与计算的应用帧数
+     * @param applicationPackages 应用包名前缀，为空时把非框架帧视为应用帧
+     */
+    public ExceptionFingerprinter(int maxFrames, List<String> applicationPackages) {
+        this.maxFrames = maxFrames;
+        this.applicationPackages = applicationPackages.toArray(new String[0]);
+    }
+    
+    public long fingerprint(Throwable ex, ErrorCode errorCode) {
+        long hash = FNV_OFFSET;
+        hash = hashString(hash, ex.getClass().getName());
+        hash = hashInt(hash, errorCode != null ? errorCode.getCode() : -1);
+        hash = hashNormalizedMessage(hash, ex.getMessage());
+        
+        StackTraceElement[] stackTrace = ex.getStackTrace();
+        int frames = 0;
+        for (int i = 0; i < stackTrace.length && frames < maxFrames; i++) {
+            if (isApplicationFrame(stackTrace[i].getClassName())) {
+                hash = hashInt(hash, stackTrace[i].hashCode());
+                frames++;
+            }
+        }
+        if (frames == 0) {
+            // 没有应用帧（例如 404）时退回到栈顶帧
+            for (int i = 0; i < stackTrace.length && i < maxFrames; i++) {
+                hash = hashInt(hash, stackTrace[i].hashCode());
+            }
+        }
+        return mix(hash);
+    }
+    
+    /**
+     * 归一化消息，用于展示；与指纹计算使用相同的规则
+     */
+    public static String normalizeMessage(String message) {
+        if (message == null) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(message.length());
+        int len = message.length();
+        int i = 0;
+        while (i < len) {
+            int end = tokenEnd(message, i);
+            if (end > i) {
+                sb.append('#');
+                i = end;
+            } else {
+                sb.append(message.charAt(i++));
+            }
+        }
+        return sb.toString();
+    }
+    
+    boolean isApplicationFrame(String className) {
+        if (className.contains("$$")) {
+            // CGLIB / 动态代理
+            return false;
+        }
+        if (applicationPackages.length > 0) {
+            for (String prefix : applicationPackages) {
+                if (className.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (String prefix : FRAMEWORK_PREFIXES) {
+            if (className.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static long hashNormalizedMessage(long hash, String message) {
+        if (message == null) {
+            return hashInt(hash, 0);
+        }
+        int len = message.length();
+        int i = 0;
+        while (i < len) {
+            int end = tokenEnd(message, i);
+            if (end > i) {
+                hash = hashChar(hash, '#');
+                i = end;
+            } else {
+                hash = hashChar(hash, message.charAt(i++));
+            }
+        }
+        return hash;
+    }
+    
+    /**
+     * 从 start 开始的由十六进制字符与连字符组成、且至少包含一个数字的片段的结束位置，不是这样的片段时返回 start
+     */
+    private static int tokenEnd(String message, int start) {
+        int i = start;
+        boolean digit = false;
+        while (i < message.length()) {
+            char c = message.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digit = true;
+            } else if (!((c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F') || c == '-')) {
+                break;
+            }
+            i++;
+        }
+        return digit ? i : start;
+    }
+    
+    private static long hashString(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = hashChar(hash, value.charAt(i));
+        }
+        return hash;
+    }
+    
+    private static long hashChar(long hash, char c) {
+        return (hash ^ c) * FNV_PRIME;
+    }
+    
+    private static long hashInt(long hash, int value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+    
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.exception.starter.fingerprint;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 异常指纹端点：/actuator/exceptionfingerprints
+ * 按出现次数列出最频繁的异常指纹，DELETE 清空统计
+ */
+@Endpoint(id = "exceptionfingerprints")
+public class ExceptionFingerprintsEndpoint {
+    
+    private static final int DEFAULT_LIMIT = 20;
+    
+    private final ExceptionAggregateStore store;
+    
+    public ExceptionFingerprintsEndpoint(ExceptionAggregateStore store) {
+        this.store = store;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> topOffenders(@Nullable Integer limit) {
+        List<ExceptionAggregate> top = store.top(limit != null ? limit : DEFAULT_LIMIT);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("tracked", store.size());
+        result.put("fingerprints", top);
+        return result;
+    }
+    
+    @DeleteOperation
+    public void reset() {
+        store.clear();
+    }
+}
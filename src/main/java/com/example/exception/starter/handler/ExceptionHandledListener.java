@@ -0,0 +1,23 @@
+package com.example.exception.starter.handler;
+
+import com.example.exception.starter.enums.ErrorCode;
+
+/**
+ * 异常处理完成监听器
+ * 每个异常处理方法构建完响应后在请求线程上同步回调，实现必须足够轻量且不能抛出异常。
+ * 参数只包含基本信息，不依赖具体的 Web 技术栈
+ */
+public interface ExceptionHandledListener {
+    
+    /**
+     * @param exception 被处理的异常
+     * @param errorCode 响应使用的错误码
+     * @param status 响应的HTTP状态码
+     * @param method 请求方法
+     * @param path 原始请求路径
+     * @param pathPattern 匹配到的路由模板，例如 /api/users/{id}，未匹配到处理器时为 null
+     * @param durationNanos 处理方法耗时（纳秒）
+     */
+    void onExceptionHandled(Throwable exception, ErrorCode errorCode, int status,
+                            String method, String path, String pathPattern, long durationNanos);
+}
@@ -0,0 +1,135 @@
+package com.example.exception.starter.handler;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.exception.BaseException;
+import com.example.exception.starter.message.BuiltInMessage;
+import com.example.exception.starter.message.LocalizedMessageResolver;
+import com.example.exception.starter.message.MessageTemplate;
+import com.example.exception.starter.model.ErrorResponse;
+import com.example.exception.starter.settings.HandlerSettings;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.ObjectError;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Servlet 与 WebFlux 异常处理器共用的错误响应构建方法
+ */
+final class ExceptionResponseSupport {
+    
+    private ExceptionResponseSupport() {
+    }
+    
+    /**
+     * 内置消息，未开启国际化时 resolver 为 null，使用默认模板
+     */
+    static String message(BuiltInMessage message, LocalizedMessageResolver resolver, Locale locale, Object... args) {
+        return resolver != null ? resolver.getMessage(message, locale, args) : message.getTemplate().render(args);
+    }
+    
+    /**
+     * 响应消息来自错误码消息时替换为本地化消息，业务代码显式传入的消息保持不变
+     */
+    static void localizeMessage(ErrorResponse response, Throwable ex, ErrorCode errorCode,
+                                LocalizedMessageResolver resolver, Locale locale) {
+        String message = response.getMessage();
+        if (message == null) {
+            return;
+        }
+        if (message.equals(errorCode.getMessage())) {
+            response.setMessage(resolver.getMessage(errorCode, null, locale));
+            return;
+        }
+        if (ex instanceof BaseException && ((BaseException) ex).getErrorCode() == errorCode) {
+            Object[] args = ((BaseException) ex).getArgs();
+            if (args != null && message.equals(MessageTemplate.format(errorCode.getMessage(), args))) {
+                response.setMessage(resolver.getMessage(errorCode, args, locale));
+            }
+        }
+    }
+    
+    /**
+     * 按配置填充字段错误信息：字段错误在前、全局错误在后，超出 max-errors 的部分只计数，
+     * rejectedValue 按 {@link RejectedValues#summarize(Object, int)} 摘要。
+     * 只遍历绑定结果的只读视图，不复制全部错误
+     */
+    static void applyFieldErrors(ErrorResponse response, BindingResult bindingResult,
+                                 HandlerSettings settings) {
+        if (!settings.isIncludeFieldErrors()) {
+            return;
+        }
+        int maxValueLength = settings.getMaxRejectedValueLength();
+        List<ObjectError> allErrors = bindingResult.getAllErrors();
+        int total = allErrors.size();
+        int capacity = capacity(total, settings.getMaxFieldErrors());
+        
+        List<ErrorResponse.FieldError> fieldErrors = new ArrayList<>(capacity);
+        List<ErrorResponse.FieldError> globalErrors = null;
+        int collected = 0;
+        for (ObjectError error : allErrors) {
+            if (collected == capacity) {
+                break;
+            }
+            if (error instanceof FieldError) {
+                FieldError fieldError = (FieldError) error;
+                fieldErrors.add(new ErrorResponse.FieldError(fieldError.getField(),
+                        RejectedValues.summarize(fieldError.getRejectedValue(), maxValueLength),
+                        fieldError.getDefaultMessage()));
+            } else {
+                if (globalErrors == null) {
+                    globalErrors = new ArrayList<>();
+                }
+                globalErrors.add(new ErrorResponse.FieldError(error.getObjectName(), null, error.getDefaultMessage()));
+            }
+            collected++;
+        }
+        if (globalErrors != null) {
+            fieldErrors.addAll(globalErrors);
+        }
+        
+        response.setFieldErrors(fieldErrors);
+        if (total > collected) {
+            response.setOmittedFieldErrors(total - collected);
+        }
+    }
+    
+    /**
+     * 按配置填充约束违反的字段错误信息，规则同 {@link #applyFieldErrors(ErrorResponse, BindingResult, HandlerSettings)}
+     */
+    static void applyFieldErrors(ErrorResponse response, ConstraintViolationException ex,
+                                 HandlerSettings settings) {
+        if (!settings.isIncludeFieldErrors()) {
+            return;
+        }
+        int maxValueLength = settings.getMaxRejectedValueLength();
+        Set<ConstraintViolation<?>> violations = ex.getConstraintViolations();
+        int total = violations != null ? violations.size() : 0;
+        int capacity = capacity(total, settings.getMaxFieldErrors());
+        
+        List<ErrorResponse.FieldError> fieldErrors = new ArrayList<>(capacity);
+        if (violations != null) {
+            for (ConstraintViolation<?> violation : violations) {
+                if (fieldErrors.size() == capacity) {
+                    break;
+                }
+                fieldErrors.add(new ErrorResponse.FieldError(violation.getPropertyPath().toString(),
+                        RejectedValues.summarize(violation.getInvalidValue(), maxValueLength), violation.getMessage()));
+            }
+        }
+        
+        response.setFieldErrors(fieldErrors);
+        if (total > fieldErrors.size()) {
+            response.setOmittedFieldErrors(total - fieldErrors.size());
+        }
+    }
+    
+    private static int capacity(int total, int maxErrors) {
+        return maxErrors > 0 ? Math.min(total, maxErrors) : total;
+    }
+}
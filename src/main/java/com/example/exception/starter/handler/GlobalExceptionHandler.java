@@ -1,23 +1,35 @@
 package com.example.exception.starter.handler;
 
 import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.enums.ErrorCodeRegistry;
 import com.example.exception.starter.exception.BaseException;
+import com.example.exception.starter.logging.ErrorEventPublisher;
+import com.example.exception.starter.logging.ExceptionLogLimiter;
+import com.example.exception.starter.mapping.ExceptionMapping;
+import com.example.exception.starter.mapping.ExceptionMappingRegistry;
+import com.example.exception.starter.message.BuiltInMessage;
+import com.example.exception.starter.message.LocalizedMessageResolver;
 import com.example.exception.starter.model.ErrorResponse;
 import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import com.example.exception.starter.settings.HandlerSettings;
+import com.example.exception.starter.settings.HandlerSettingsHolder;
+import com.example.exception.starter.status.ErrorStatusPolicy;
+import com.example.exception.starter.trace.TraceIdResolver;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.beans.ConversionNotSupportedException;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.http.converter.HttpMessageNotWritableException;
 import org.springframework.validation.BindException;
-import org.springframework.validation.BindingResult;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -27,12 +39,12 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 import org.springframework.web.multipart.support.MissingServletRequestPartException;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.NoHandlerFoundException;
+import org.springframework.web.servlet.support.RequestContextUtils;
 
 import java.nio.file.AccessDeniedException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Set;
+import java.util.Collection;
 
 
 /**
@@ -45,10 +57,104 @@ public class GlobalExceptionHandler {
     
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
     
-    private final ExceptionHandlerProperties properties;
+    private static final ExceptionHandledListener[] NO_LISTENERS = new ExceptionHandledListener[0];
+    
+    /**
+     * 同一请求的日志与响应使用同一个追踪 ID
+     */
+    private static final String TRACE_ID_ATTRIBUTE = GlobalExceptionHandler.class.getName() + ".traceId";
+    
+    /**
+     * 每个请求读取一次的配置快照，配置变化时整体替换
+     */
+    private final HandlerSettingsHolder settingsHolder;
+    
+    private final ExceptionLogLimiter logLimiter;
+    
+    /**
+     * 是否以 application/problem+json 输出，依赖 exception.handler.serialization 注册的消息转换器
+     */
+    private final boolean problemDetails;
+    
+    private ExceptionHandledListener[] listeners = NO_LISTENERS;
+    
+    private ErrorEventPublisher eventPublisher;
+    
+    private ExceptionMappingRegistry mappingRegistry;
+    
+    private LocalizedMessageResolver messageResolver;
+    
+    private ErrorStatusPolicy statusPolicy = ErrorStatusPolicy.legacy();
+    
+    private TraceIdResolver traceIdResolver;
     
     public GlobalExceptionHandler(ExceptionHandlerProperties properties) {
-        this.properties = properties;
+        this(properties, new HandlerSettingsHolder(properties, ErrorCodeRegistry.builtIn()));
+    }
+    
+    /**
+     * @param settingsHolder 运行时可替换的配置，日志限流与 Problem Details 仍只在创建时读取
+     */
+    public GlobalExceptionHandler(ExceptionHandlerProperties properties, HandlerSettingsHolder settingsHolder) {
+        this.settingsHolder = settingsHolder;
+        
+        ExceptionHandlerProperties.LogRateLimit rateLimit = properties.getLogRateLimit();
+        this.logLimiter = rateLimit.isEnabled()
+                ? new ExceptionLogLimiter(logger, rateLimit.getPermitsPerSecond(), rateLimit.getBurst(),
+                        rateLimit.getSampleRate(), rateLimit.getSummaryInterval())
+                : null;
+        this.problemDetails = properties.getProblemDetails().isEnabled() && properties.getSerialization().isEnabled();
+    }
+    
+    /**
+     * 设置异常处理完成监听器
+     */
+    public void setExceptionHandledListeners(Collection<? extends ExceptionHandledListener> listeners) {
+        this.listeners = listeners.toArray(NO_LISTENERS);
+    }
+    
+    /**
+     * 设置异步错误事件发布器，设置后异常日志由后台线程输出
+     */
+    public void setErrorEventPublisher(ErrorEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+    
+    /**
+     * 设置异常映射注册表，未被 @ExceptionHandler 方法处理的异常先按注册表解包和映射
+     */
+    public void setExceptionMappingRegistry(ExceptionMappingRegistry mappingRegistry) {
+        this.mappingRegistry = mappingRegistry;
+    }
+    
+    /**
+     * 设置本地化消息解析器，设置后错误码消息和内置消息按请求语言解析
+     */
+    public void setMessageResolver(LocalizedMessageResolver messageResolver) {
+        this.messageResolver = messageResolver;
+    }
+    
+    /**
+     * 设置状态映射策略，决定 BaseException 的响应状态以及各错误码的 Cache-Control 与 Retry-After 头
+     */
+    public void setStatusPolicy(ErrorStatusPolicy statusPolicy) {
+        this.statusPolicy = statusPolicy;
+    }
+    
+    /**
+     * 设置追踪 ID 解析器，设置后错误响应与异常日志带有追踪 ID
+     */
+    public void setTraceIdResolver(TraceIdResolver traceIdResolver) {
+        this.traceIdResolver = traceIdResolver;
+    }
+    
+    /**
+     * 停止日志限流器的汇总线程并输出最后一次丢弃汇总
+     */
+    public void close() {
+        if (logLimiter != null) {
+            logLimiter.close();
+        }
     }
     
     /**
@@ -56,16 +162,19 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(BaseException.class)
     public ResponseEntity<ErrorResponse> handleBaseException(BaseException ex, HttpServletRequest request) {
+        long startNanos = System.nanoTime();
         String path = request.getRequestURI();
         ErrorResponse response = new ErrorResponse(ex.getErrorCode().getCode(), ex.getMessage(), path);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        HandlerSettings settings = settings(ex.getErrorCode(), path);
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "Business exception occurred", request);
+        logException(ex, "Business exception occurred", request, settings);
         
-        return ResponseEntity.status(HttpStatus.OK).body(response);
+        return respond(ex, ex.getErrorCode(), statusPolicy.businessStatus(ex.getErrorCode()), response, request,
+                startNanos);
     }
     
     /**
@@ -74,20 +183,22 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentNotValidException(
             MethodArgumentNotValidException ex, HttpServletRequest request) {
+        long startNanos = System.nanoTime();
         
         String path = request.getRequestURI();
         ErrorResponse response = new ErrorResponse(ErrorCode.VALIDATION_ERROR.getCode(), 
                 ErrorCode.VALIDATION_ERROR.getMessage(), path);
         
-        response.setFieldErrors(buildFieldErrors(ex.getBindingResult()));
+        HandlerSettings settings = settings(ErrorCode.VALIDATION_ERROR, path);
+        ExceptionResponseSupport.applyFieldErrors(response, ex.getBindingResult(), settings);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "Method argument validation failed", request);
+        logException(ex, "Method argument validation failed", request, settings);
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        return respond(ex, ErrorCode.VALIDATION_ERROR, response, request, startNanos);
     }
     
     /**
@@ -95,19 +206,21 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(BindException.class)
     public ResponseEntity<ErrorResponse> handleBindException(BindException ex, HttpServletRequest request) {
+        long startNanos = System.nanoTime();
         String path = request.getRequestURI();
         ErrorResponse response = new ErrorResponse(ErrorCode.VALIDATION_ERROR.getCode(), 
                 ErrorCode.VALIDATION_ERROR.getMessage(), path);
         
-        response.setFieldErrors(buildFieldErrors(ex.getBindingResult()));
+        HandlerSettings settings = settings(ErrorCode.VALIDATION_ERROR, path);
+        ExceptionResponseSupport.applyFieldErrors(response, ex.getBindingResult(), settings);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "Parameter binding failed", request);
+        logException(ex, "Parameter binding failed", request, settings);
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        return respond(ex, ErrorCode.VALIDATION_ERROR, response, request, startNanos);
     }
     
     /**
@@ -116,28 +229,22 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorResponse> handleConstraintViolationException(
             ConstraintViolationException ex, HttpServletRequest request) {
+        long startNanos = System.nanoTime();
         
         String path = request.getRequestURI();
         ErrorResponse response = new ErrorResponse(ErrorCode.VALIDATION_ERROR.getCode(), 
                 ErrorCode.VALIDATION_ERROR.getMessage(), path);
         
-        List<ErrorResponse.FieldError> fieldErrors = new ArrayList<>();
-        Set<ConstraintViolation<?>> violations = ex.getConstraintViolations();
-        for (ConstraintViolation<?> violation : violations) {
-            String propertyPath = violation.getPropertyPath().toString();
-            String message = violation.getMessage();
-            Object invalidValue = violation.getInvalidValue();
-            fieldErrors.add(new ErrorResponse.FieldError(propertyPath, invalidValue, message));
-        }
-        response.setFieldErrors(fieldErrors);
+        HandlerSettings settings = settings(ErrorCode.VALIDATION_ERROR, path);
+        ExceptionResponseSupport.applyFieldErrors(response, ex, settings);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "Constraint validation failed", request);
+        logException(ex, "Constraint validation failed", request, settings);
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        return respond(ex, ErrorCode.VALIDATION_ERROR, response, request, startNanos);
     }
     
     /**
@@ -146,21 +253,23 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(HttpRequestMethodNotSupportedException.class)
     public ResponseEntity<ErrorResponse> handleHttpRequestMethodNotSupportedException(
             HttpRequestMethodNotSupportedException ex, HttpServletRequest request) {
+        long startNanos = System.nanoTime();
         
         String path = request.getRequestURI();
-        String message = String.format("请求方法 '%s' 不被支持，支持的方法: %s", 
+        String message = message(BuiltInMessage.METHOD_NOT_SUPPORTED, request,
                 ex.getMethod(), String.join(", ", ex.getSupportedMethods()));
         
         ErrorResponse response = new ErrorResponse(ErrorCode.REQUEST_METHOD_NOT_SUPPORTED.getCode(), 
                 message, path);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        HandlerSettings settings = settings(ErrorCode.REQUEST_METHOD_NOT_SUPPORTED, path);
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "HTTP request method not supported", request);
+        logException(ex, "HTTP request method not supported", request, settings);
         
-        return ResponseEntity.status(HttpStatus.METHOD_NOT_ALLOWED).body(response);
+        return respond(ex, ErrorCode.REQUEST_METHOD_NOT_SUPPORTED, response, request, startNanos);
     }
     
     /**
@@ -168,17 +277,19 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler({HttpMediaTypeNotSupportedException.class, HttpMediaTypeNotAcceptableException.class})
     public ResponseEntity<ErrorResponse> handleHttpMediaTypeException(Exception ex, HttpServletRequest request) {
+        long startNanos = System.nanoTime();
         String path = request.getRequestURI();
         ErrorResponse response = new ErrorResponse(ErrorCode.MEDIA_TYPE_NOT_SUPPORTED.getCode(), 
                 ErrorCode.MEDIA_TYPE_NOT_SUPPORTED.getMessage(), path);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        HandlerSettings settings = settings(ErrorCode.MEDIA_TYPE_NOT_SUPPORTED, path);
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "HTTP media type not supported", request);
+        logException(ex, "HTTP media type not supported", request, settings);
         
-        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE).body(response);
+        return respond(ex, ErrorCode.MEDIA_TYPE_NOT_SUPPORTED, response, request, startNanos);
     }
     
     /**
@@ -187,20 +298,22 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<ErrorResponse> handleMissingServletRequestParameterException(
             MissingServletRequestParameterException ex, HttpServletRequest request) {
+        long startNanos = System.nanoTime();
         
         String path = request.getRequestURI();
-        String message = String.format("缺少必需的请求参数: %s", ex.getParameterName());
+        String message = message(BuiltInMessage.MISSING_PARAMETER, request, ex.getParameterName());
         
         ErrorResponse response = new ErrorResponse(ErrorCode.MISSING_REQUEST_PARAMETER.getCode(), 
                 message, path);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        HandlerSettings settings = settings(ErrorCode.MISSING_REQUEST_PARAMETER, path);
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "Missing servlet request parameter", request);
+        logException(ex, "Missing servlet request parameter", request, settings);
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        return respond(ex, ErrorCode.MISSING_REQUEST_PARAMETER, response, request, startNanos);
     }
     
     /**
@@ -208,17 +321,19 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler({TypeMismatchException.class, ConversionNotSupportedException.class})
     public ResponseEntity<ErrorResponse> handleTypeMismatchException(Exception ex, HttpServletRequest request) {
+        long startNanos = System.nanoTime();
         String path = request.getRequestURI();
         ErrorResponse response = new ErrorResponse(ErrorCode.TYPE_MISMATCH.getCode(), 
                 ErrorCode.TYPE_MISMATCH.getMessage(), path);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        HandlerSettings settings = settings(ErrorCode.TYPE_MISMATCH, path);
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "Type mismatch occurred", request);
+        logException(ex, "Type mismatch occurred", request, settings);
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        return respond(ex, ErrorCode.TYPE_MISMATCH, response, request, startNanos);
     }
     
     /**
@@ -226,17 +341,19 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler({HttpMessageNotReadableException.class, HttpMessageNotWritableException.class})
     public ResponseEntity<ErrorResponse> handleHttpMessageException(Exception ex, HttpServletRequest request) {
+        long startNanos = System.nanoTime();
         String path = request.getRequestURI();
         ErrorResponse response = new ErrorResponse(ErrorCode.HTTP_MESSAGE_NOT_READABLE.getCode(), 
                 ErrorCode.HTTP_MESSAGE_NOT_READABLE.getMessage(), path);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        HandlerSettings settings = settings(ErrorCode.HTTP_MESSAGE_NOT_READABLE, path);
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "HTTP message not readable", request);
+        logException(ex, "HTTP message not readable", request, settings);
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        return respond(ex, ErrorCode.HTTP_MESSAGE_NOT_READABLE, response, request, startNanos);
     }
     
     /**
@@ -245,20 +362,22 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(MissingServletRequestPartException.class)
     public ResponseEntity<ErrorResponse> handleMissingServletRequestPartException(
             MissingServletRequestPartException ex, HttpServletRequest request) {
+        long startNanos = System.nanoTime();
         
         String path = request.getRequestURI();
-        String message = String.format("缺少文件上传参数: %s", ex.getRequestPartName());
+        String message = message(BuiltInMessage.MISSING_PART, request, ex.getRequestPartName());
         
         ErrorResponse response = new ErrorResponse(ErrorCode.MISSING_SERVLET_REQUEST_PART.getCode(), 
                 message, path);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        HandlerSettings settings = settings(ErrorCode.MISSING_SERVLET_REQUEST_PART, path);
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "Missing servlet request part", request);
+        logException(ex, "Missing servlet request part", request, settings);
         
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        return respond(ex, ErrorCode.MISSING_SERVLET_REQUEST_PART, response, request, startNanos);
     }
     
     /**
@@ -266,17 +385,19 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException ex, HttpServletRequest request) {
+        long startNanos = System.nanoTime();
         String path = request.getRequestURI();
         ErrorResponse response = new ErrorResponse(ErrorCode.ACCESS_DENIED.getCode(), 
                 ErrorCode.ACCESS_DENIED.getMessage(), path);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        HandlerSettings settings = settings(ErrorCode.ACCESS_DENIED, path);
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "Access denied", request);
+        logException(ex, "Access denied", request, settings);
         
-        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+        return respond(ex, ErrorCode.ACCESS_DENIED, response, request, startNanos);
     }
     
     /**
@@ -284,19 +405,21 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(NoHandlerFoundException.class)
     public ResponseEntity<ErrorResponse> handleNoHandlerFoundException(NoHandlerFoundException ex, HttpServletRequest request) {
+        long startNanos = System.nanoTime();
         String path = request.getRequestURI();
-        String message = String.format("请求的资源 '%s' 不存在", path);
+        String message = message(BuiltInMessage.NOT_FOUND, request, path);
         
         ErrorResponse response = new ErrorResponse(ErrorCode.RESOURCE_NOT_FOUND.getCode(), 
                 message, path);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        HandlerSettings settings = settings(ErrorCode.RESOURCE_NOT_FOUND, path);
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "No handler found", request);
+        logException(ex, "No handler found", request, settings);
         
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        return respond(ex, ErrorCode.RESOURCE_NOT_FOUND, response, request, startNanos);
     }
     
     /**
@@ -305,18 +428,20 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(AsyncRequestTimeoutException.class)
     public ResponseEntity<ErrorResponse> handleAsyncRequestTimeoutException(
             AsyncRequestTimeoutException ex, HttpServletRequest request) {
+        long startNanos = System.nanoTime();
         
         String path = request.getRequestURI();
         ErrorResponse response = new ErrorResponse(ErrorCode.TIMEOUT_ERROR.getCode(), 
                 ErrorCode.TIMEOUT_ERROR.getMessage(), path);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        HandlerSettings settings = settings(ErrorCode.TIMEOUT_ERROR, path);
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "Async request timeout", request);
+        logException(ex, "Async request timeout", request, settings);
         
-        return ResponseEntity.status(HttpStatus.REQUEST_TIMEOUT).body(response);
+        return respond(ex, ErrorCode.TIMEOUT_ERROR, response, request, startNanos);
     }
     
     /**
@@ -324,81 +449,181 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception ex, HttpServletRequest request) {
+        if (mappingRegistry != null) {
+            ResponseEntity<ErrorResponse> mapped = handleMappedException(ex, request);
+            if (mapped != null) {
+                return mapped;
+            }
+        }
+        
+        long startNanos = System.nanoTime();
         String path = request.getRequestURI();
         ErrorResponse response = new ErrorResponse(ErrorCode.SYSTEM_ERROR.getCode(), 
                 ErrorCode.SYSTEM_ERROR.getMessage(), path);
         
-        if (properties.isIncludeStackTrace()) {
-            response.setDetails(getStackTrace(ex));
+        HandlerSettings settings = settings(ErrorCode.SYSTEM_ERROR, path);
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
         }
         
-        logException(ex, "Unexpected exception occurred", request);
+        logException(ex, "Unexpected exception occurred", request, settings);
         
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        return respond(ex, ErrorCode.SYSTEM_ERROR, response, request, startNanos);
     }
     
     /**
-     * 构建字段错误信息
+     * 按异常映射注册表处理：包装异常解开后为业务异常时按业务异常处理，否则使用注册的错误码和 HTTP 状态，
+     * 没有映射时返回 null
      */
-    private List<ErrorResponse.FieldError> buildFieldErrors(BindingResult bindingResult) {
-        List<ErrorResponse.FieldError> fieldErrors = new ArrayList<>();
+    private ResponseEntity<ErrorResponse> handleMappedException(Exception ex, HttpServletRequest request) {
+        Throwable cause = mappingRegistry.unwrap(ex);
+        if (cause instanceof BaseException) {
+            return handleBaseException((BaseException) cause, request);
+        }
+        ExceptionMapping mapping = mappingRegistry.getMapping(cause.getClass());
+        if (mapping == null) {
+            return null;
+        }
         
-        bindingResult.getFieldErrors().forEach(error -> {
-            fieldErrors.add(new ErrorResponse.FieldError(
-                    error.getField(),
-                    error.getRejectedValue(),
-                    error.getDefaultMessage()
-            ));
-        });
+        long startNanos = System.nanoTime();
+        String path = request.getRequestURI();
+        ErrorCode errorCode = mapping.getErrorCode();
+        ErrorResponse response = new ErrorResponse(errorCode.getCode(), errorCode.getMessage(), path);
         
-        bindingResult.getGlobalErrors().forEach(error -> {
-            fieldErrors.add(new ErrorResponse.FieldError(
-                    error.getObjectName(),
-                    null,
-                    error.getDefaultMessage()
-            ));
-        });
+        HandlerSettings settings = settings(errorCode, path);
+        if (settings.isIncludeStackTrace()) {
+            response.setDetails(settings.renderStackTrace(ex));
+        }
+        
+        logException(ex, "Mapped exception occurred", request, settings);
         
-        return fieldErrors;
+        return respond(ex, errorCode, mapping.getStatus(), response, request, startNanos);
     }
     
     /**
-     * 记录异常日志
+     * 请求适用的配置，处理过程中只读取一次快照
      */
-    private void logException(Exception ex, String message, HttpServletRequest request) {
-        if (properties.isEnableLogging()) {
-            String requestInfo = String.format("[%s] %s", request.getMethod(), request.getRequestURI());
-            
-            if (ex instanceof BaseException) {
-                logger.warn("{} - {}: {}", message, requestInfo, ex.getMessage());
-            } else {
-                logger.error("{} - {}: {}", message, requestInfo, ex.getMessage(), ex);
+    private HandlerSettings settings(ErrorCode errorCode, String path) {
+        return settingsHolder.current().forRequest(errorCode, path);
+    }
+    
+    /**
+     * 以状态映射策略给出的错误码状态构建响应
+     */
+    private ResponseEntity<ErrorResponse> respond(Exception ex, ErrorCode errorCode, ErrorResponse response,
+                                                  HttpServletRequest request, long startNanos) {
+        return respond(ex, errorCode, statusPolicy.status(errorCode), response, request, startNanos);
+    }
+    
+    /**
+     * 构建响应并通知监听器
+     */
+    private ResponseEntity<ErrorResponse> respond(Exception ex, ErrorCode errorCode, HttpStatus status,
+                                                  ErrorResponse response, HttpServletRequest request, long startNanos) {
+        if (messageResolver != null) {
+            ExceptionResponseSupport.localizeMessage(response, ex, errorCode, messageResolver,
+                    RequestContextUtils.getLocale(request));
+        }
+        if (traceIdResolver != null) {
+            response.setTraceId(traceId(request));
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        String cacheControl = statusPolicy.cacheControl(errorCode);
+        if (cacheControl != null) {
+            builder.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        String retryAfter = statusPolicy.retryAfter(errorCode);
+        if (retryAfter != null) {
+            builder.header(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        ResponseEntity<ErrorResponse> entity;
+        if (problemDetails) {
+            response.setStatus(status.value());
+            entity = builder.contentType(MediaType.APPLICATION_PROBLEM_JSON).body(response);
+        } else {
+            entity = builder.body(response);
+        }
+        if (listeners.length > 0) {
+            notifyListeners(ex, errorCode, status, request, System.nanoTime() - startNanos);
+        }
+        return entity;
+    }
+    
+    private String message(BuiltInMessage message, HttpServletRequest request, Object... args) {
+        return ExceptionResponseSupport.message(message, messageResolver,
+                messageResolver != null ? RequestContextUtils.getLocale(request) : null, args);
+    }
+    
+    private void notifyListeners(Exception ex, ErrorCode errorCode, HttpStatus status,
+                                 HttpServletRequest request, long durationNanos) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String pathPattern = pattern instanceof String ? (String) pattern : null;
+        for (ExceptionHandledListener listener : listeners) {
+            try {
+                listener.onExceptionHandled(ex, errorCode, status.value(), request.getMethod(),
+                        request.getRequestURI(), pathPattern, durationNanos);
+            } catch (RuntimeException listenerEx) {
+                // 监听器失败不能影响错误响应
+                logger.debug("Exception handled listener {} failed", listener, listenerEx);
             }
         }
     }
     
     /**
-     * 获取异常堆栈信息
+     * 记录异常日志
      */
-    private String getStackTrace(Exception ex) {
-        if (ex == null) {
-            return null;
+    private void logException(Exception ex, String message, HttpServletRequest request, HandlerSettings settings) {
+        if (settings.isEnableLogging()) {
+            if (logLimiter != null && !logLimiter.tryAcquire(ex)) {
+                return;
+            }
+            
+            String traceId = traceIdResolver != null ? traceId(request) : null;
+            if (eventPublisher != null) {
+                eventPublisher.publish(ex, message, request.getMethod(), request.getRequestURI(), traceId);
+                return;
+            }
+            
+            if (traceId == null) {
+                log(ex, message, request.getMethod(), request.getRequestURI());
+                return;
+            }
+            // 只在错误路径上写入 MDC，已有值（例如链路追踪框架写入的）时不覆盖
+            String mdcKey = traceIdResolver.getMdcKey();
+            boolean putMdc = MDC.get(mdcKey) == null;
+            if (putMdc) {
+                MDC.put(mdcKey, traceId);
+            }
+            try {
+                log(ex, message, request.getMethod(), request.getRequestURI() + " [" + traceId + "]");
+            } finally {
+                if (putMdc) {
+                    MDC.remove(mdcKey);
+                }
+            }
         }
-        
-        StringBuilder sb = new StringBuilder();
-        sb.append(ex.getClass().getName()).append(": ").append(ex.getMessage()).append("\n");
-        
-        StackTraceElement[] stackTrace = ex.getStackTrace();
-        int maxLines = Math.min(stackTrace.length, properties.getMaxStackTraceLines());
-        
-        for (int i = 0; i < maxLines; i++) {
-            sb.append("\tat ").append(stackTrace[i]).append("\n");
+    }
+    
+    private void log(Exception ex, String message, String method, String location) {
+        if (ex instanceof BaseException) {
+            logger.warn("{} - [{}] {}: {}", message, method, location, ex.getMessage());
+        } else {
+            logger.error("{} - [{}] {}: {}", message, method, location, ex.getMessage(), ex);
         }
-        
-        if (stackTrace.length > maxLines) {
-            sb.append("\t... ").append(stackTrace.length - maxLines).append(" more");
+    }
+    
+    /**
+     * 当前请求的追踪 ID，首次调用时解析并保存在请求属性中
+     */
+    private String traceId(HttpServletRequest request) {
+        Object cached = request.getAttribute(TRACE_ID_ATTRIBUTE);
+        if (cached instanceof String) {
+            return (String) cached;
         }
-        
-        return sb.toString();
+        String requestIdHeader = traceIdResolver.getRequestIdHeader();
+        String traceId = traceIdResolver.resolve(request.getHeader(TraceIdResolver.TRACEPARENT_HEADER),
+                requestIdHeader != null ? request.getHeader(requestIdHeader) : null);
+        request.setAttribute(TRACE_ID_ATTRIBUTE, traceId);
+        return traceId;
     }
 }
@@ -0,0 +1,471 @@
+package com.example.exception.starter.handler;
+
+import com.example.exception.starter.converter.ErrorResponseJsonWriter;
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+import com.example.exception.starter.exception.BaseException;
+import com.example.exception.starter.logging.ErrorEventPublisher;
+import com.example.exception.starter.logging.ExceptionLogLimiter;
+import com.example.exception.starter.mapping.ExceptionMapping;
+import com.example.exception.starter.mapping.ExceptionMappingRegistry;
+import com.example.exception.starter.message.BuiltInMessage;
+import com.example.exception.starter.message.LocalizedMessageResolver;
+import com.example.exception.starter.model.ErrorResponse;
+import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import com.example.exception.starter.settings.HandlerSettings;
+import com.example.exception.starter.settings.HandlerSettingsHolder;
+import com.example.exception.starter.status.ErrorStatusPolicy;
+import com.example.exception.starter.trace.TraceIdResolver;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.MethodNotAllowedException;
+import org.springframework.web.server.MissingRequestValueException;
+import org.springframework.web.server.NotAcceptableStatusException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import org.springframework.web.server.UnsupportedMediaTypeStatusException;
+import org.springframework.web.server.WebExceptionHandler;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AccessDeniedException;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * WebFlux 全局异常处理器
+ * <p>
+ * 与 {@link GlobalExceptionHandler} 使用相同的 ErrorCode 映射和 ErrorResponse 格式。
+ * 响应体在当前线程上直接编码到 {@link DataBuffer} 中再写出，不切换线程。
+ * 自动配置默认设置 {@link ErrorEventPublisher}，异常日志由后台线程输出；没有设置发布器时日志在当前线程上同步输出，
+ * 在事件循环线程上可能因 Appender 阻塞。
+ * 顺序为 -2，先于 Spring Boot 默认的 ErrorWebExceptionHandler 执行
+ */
+public class ReactiveGlobalExceptionHandler implements WebExceptionHandler, Ordered {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveGlobalExceptionHandler.class);
+    
+    private static final int INITIAL_BUFFER_SIZE = 256;
+    
+    private static final ExceptionHandledListener[] NO_LISTENERS = new ExceptionHandledListener[0];
+    
+    /**
+     * 每个请求读取一次的配置快照，配置变化时整体替换
+     */
+    private final HandlerSettingsHolder settingsHolder;
+    
+    private final ErrorResponseJsonWriter jsonWriter;
+    
+    private final ObjectMapper objectMapper;
+    
+    private final ExceptionLogLimiter logLimiter;
+    
+    /**
+     * 是否以 application/problem+json 输出，需要流式写出器
+     */
+    private final boolean problemDetails;
+    
+    private ExceptionHandledListener[] listeners = NO_LISTENERS;
+    
+    private ErrorEventPublisher eventPublisher;
+    
+    private ExceptionMappingRegistry mappingRegistry;
+    
+    private LocalizedMessageResolver messageResolver;
+    
+    private ErrorStatusPolicy statusPolicy = ErrorStatusPolicy.legacy();
+    
+    private TraceIdResolver traceIdResolver;
+    
+    /**
+     * @param jsonWriter 流式写出器，未开启 exception.handler.serialization 时为 null，改用 ObjectMapper
+     */
+    public ReactiveGlobalExceptionHandler(ExceptionHandlerProperties properties, ErrorResponseJsonWriter jsonWriter,
+                                          ObjectMapper objectMapper) {
+        this(properties, new HandlerSettingsHolder(properties, ErrorCodeRegistry.builtIn()), jsonWriter, objectMapper);
+    }
+    
+    /**
+     * @param settingsHolder 运行时可替换的配置，日志限流与 Problem Details 仍只在创建时读取
+     * @param jsonWriter 流式写出器，未开启 exception.handler.serialization 时为 null，改用 ObjectMapper
+     */
+    public ReactiveGlobalExceptionHandler(ExceptionHandlerProperties properties, HandlerSettingsHolder settingsHolder,
+                                          ErrorResponseJsonWriter jsonWriter, ObjectMapper objectMapper) {
+        this.settingsHolder = settingsHolder;
+        this.jsonWriter = jsonWriter;
+        this.objectMapper = objectMapper;
+        
+        ExceptionHandlerProperties.LogRateLimit rateLimit = properties.getLogRateLimit();
+        this.logLimiter = rateLimit.isEnabled()
+                ? new ExceptionLogLimiter(logger, rateLimit.getPermitsPerSecond(), rateLimit.getBurst(),
+                        rateLimit.getSampleRate(), rateLimit.getSummaryInterval())
+                : null;
+        this.problemDetails = properties.getProblemDetails().isEnabled() && jsonWriter != null;
+    }
+    
+    /**
+     * 设置异常处理完成监听器
+     */
+    public void setExceptionHandledListeners(Collection<? extends ExceptionHandledListener> listeners) {
+        this.listeners = listeners.toArray(NO_LISTENERS);
+    }
+    
+    /**
+     * 设置异步错误事件发布器，设置后异常日志由后台线程输出
+     */
+    public void setErrorEventPublisher(ErrorEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+    
+    /**
+     * 设置异常映射注册表，包装异常先解包，内置映射未覆盖的异常按注册表映射
+     */
+    public void setExceptionMappingRegistry(ExceptionMappingRegistry mappingRegistry) {
+        this.mappingRegistry = mappingRegistry;
+    }
+    
+    /**
+     * 设置本地化消息解析器，设置后错误码消息和内置消息按请求语言解析
+     */
+    public void setMessageResolver(LocalizedMessageResolver messageResolver) {
+        this.messageResolver = messageResolver;
+    }
+    
+    /**
+     * 设置状态映射策略，决定 BaseException 的响应状态以及各错误码的 Cache-Control 与 Retry-After 头
+     */
+    public void setStatusPolicy(ErrorStatusPolicy statusPolicy) {
+        this.statusPolicy = statusPolicy;
+    }
+    
+    /**
+     * 设置追踪 ID 解析器，设置后错误响应与异常日志带有追踪 ID
+     */
+    public void setTraceIdResolver(TraceIdResolver traceIdResolver) {
+        this.traceIdResolver = traceIdResolver;
+    }
+    
+    /**
+     * 停止日志限流器的汇总线程并输出最后一次丢弃汇总
+     */
+    public void close() {
+        if (logLimiter != null) {
+            logLimiter.close();
+        }
+    }
+    
+    @Override
+    public int getOrder() {
+        return -2;
+    }
+    
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, Throwable throwable) {
+        if (exchange.getResponse().isCommitted()) {
+            return Mono.error(throwable);
+        }
+        long startNanos = System.nanoTime();
+        String path = exchange.getRequest().getPath().value();
+        Throwable ex = mappingRegistry != null ? mappingRegistry.unwrap(throwable) : throwable;
+        
+        if (ex instanceof BaseException) {
+            BaseException baseException = (BaseException) ex;
+            ErrorResponse response = new ErrorResponse(baseException.getErrorCode().getCode(), ex.getMessage(), path);
+            return respond(exchange, ex, "Business exception occurred", baseException.getErrorCode(),
+                    statusPolicy.businessStatus(baseException.getErrorCode()), response, startNanos);
+        }
+        if (ex instanceof WebExchangeBindException) {
+            ErrorResponse response = errorResponse(ErrorCode.VALIDATION_ERROR, path);
+            ExceptionResponseSupport.applyFieldErrors(response, ((WebExchangeBindException) ex).getBindingResult(),
+                    settings(ErrorCode.VALIDATION_ERROR, path));
+            return respond(exchange, ex, "Method argument validation failed", ErrorCode.VALIDATION_ERROR,
+                    response, startNanos);
+        }
+        if (ex instanceof ConstraintViolationException) {
+            ErrorResponse response = errorResponse(ErrorCode.VALIDATION_ERROR, path);
+            ExceptionResponseSupport.applyFieldErrors(response, (ConstraintViolationException) ex,
+                    settings(ErrorCode.VALIDATION_ERROR, path));
+            return respond(exchange, ex, "Constraint validation failed", ErrorCode.VALIDATION_ERROR,
+                    response, startNanos);
+        }
+        if (ex instanceof MethodNotAllowedException) {
+            MethodNotAllowedException notAllowed = (MethodNotAllowedException) ex;
+            String message = message(BuiltInMessage.METHOD_NOT_SUPPORTED, exchange, notAllowed.getHttpMethod(),
+                    notAllowed.getSupportedMethods().stream().map(HttpMethod::name).collect(Collectors.joining(", ")));
+            ErrorResponse response = new ErrorResponse(ErrorCode.REQUEST_METHOD_NOT_SUPPORTED.getCode(), message, path);
+            return respond(exchange, ex, "HTTP request method not supported", ErrorCode.REQUEST_METHOD_NOT_SUPPORTED,
+                    response, startNanos);
+        }
+        if (ex instanceof UnsupportedMediaTypeStatusException || ex instanceof NotAcceptableStatusException) {
+            return respond(exchange, ex, "HTTP media type not supported", ErrorCode.MEDIA_TYPE_NOT_SUPPORTED,
+                    errorResponse(ErrorCode.MEDIA_TYPE_NOT_SUPPORTED, path), startNanos);
+        }
+        if (ex instanceof MissingRequestValueException) {
+            String message = message(BuiltInMessage.MISSING_PARAMETER, exchange,
+                    ((MissingRequestValueException) ex).getName());
+            ErrorResponse response = new ErrorResponse(ErrorCode.MISSING_REQUEST_PARAMETER.getCode(), message, path);
+            return respond(exchange, ex, "Missing request value", ErrorCode.MISSING_REQUEST_PARAMETER,
+                    response, startNanos);
+        }
+        if (ex instanceof ServerWebInputException) {
+            if (ex.getCause() instanceof TypeMismatchException) {
+                return respond(exchange, ex, "Type mismatch occurred", ErrorCode.TYPE_MISMATCH,
+                        errorResponse(ErrorCode.TYPE_MISMATCH, path), startNanos);
+            }
+            return respond(exchange, ex, "HTTP message not readable", ErrorCode.HTTP_MESSAGE_NOT_READABLE,
+                    errorResponse(ErrorCode.HTTP_MESSAGE_NOT_READABLE, path), startNanos);
+        }
+        if (ex instanceof ResponseStatusException
+                && ((ResponseStatusException) ex).getStatusCode().value() == HttpStatus.NOT_FOUND.value()) {
+            String message = message(BuiltInMessage.NOT_FOUND, exchange, path);
+            ErrorResponse response = new ErrorResponse(ErrorCode.RESOURCE_NOT_FOUND.getCode(), message, path);
+            return respond(exchange, ex, "No handler found", ErrorCode.RESOURCE_NOT_FOUND,
+                    response, startNanos);
+        }
+        if (ex instanceof ResponseStatusException) {
+            // 其他状态（例如 413、应用代码抛出的 401/403/409）按异常自身的状态响应
+            ResponseStatusException statusException = (ResponseStatusException) ex;
+            HttpStatusCode status = statusException.getStatusCode();
+            ErrorCode errorCode = errorCode(status);
+            String reason = statusException.getReason();
+            ErrorResponse response = new ErrorResponse(errorCode.getCode(),
+                    reason != null ? reason : errorCode.getMessage(), path);
+            return respond(exchange, ex, "Response status exception occurred", errorCode, status, response,
+                    startNanos);
+        }
+        if (ex instanceof AccessDeniedException) {
+            return respond(exchange, ex, "Access denied", ErrorCode.ACCESS_DENIED,
+                    errorResponse(ErrorCode.ACCESS_DENIED, path), startNanos);
+        }
+        if (ex instanceof TimeoutException) {
+            return respond(exchange, ex, "Request timeout", ErrorCode.TIMEOUT_ERROR,
+                    errorResponse(ErrorCode.TIMEOUT_ERROR, path), startNanos);
+        }
+        ExceptionMapping mapping = mappingRegistry != null ? mappingRegistry.getMapping(ex.getClass()) : null;
+        if (mapping != null) {
+            return respond(exchange, throwable, "Mapped exception occurred", mapping.getErrorCode(),
+                    mapping.getStatus(), errorResponse(mapping.getErrorCode(), path), startNanos);
+        }
+        return respond(exchange, throwable, "Unexpected exception occurred", ErrorCode.SYSTEM_ERROR,
+                errorResponse(ErrorCode.SYSTEM_ERROR, path), startNanos);
+    }
+    
+    private String message(BuiltInMessage message, ServerWebExchange exchange, Object... args) {
+        return ExceptionResponseSupport.message(message, messageResolver,
+                messageResolver != null ? locale(exchange) : null, args);
+    }
+    
+    private static Locale locale(ServerWebExchange exchange) {
+        Locale locale = exchange.getLocaleContext().getLocale();
+        return locale != null ? locale : Locale.getDefault();
+    }
+    
+    /**
+     * 与 ResponseStatusException 状态对应的内置错误码，没有对应项时按 4xx/5xx 使用通用错误码
+     */
+    private static ErrorCode errorCode(HttpStatusCode status) {
+        switch (status.value()) {
+            case 400:
+                return ErrorCode.PARAM_ERROR;
+            case 401:
+                return ErrorCode.UNAUTHORIZED;
+            case 403:
+                return ErrorCode.ACCESS_DENIED;
+            case 404:
+                return ErrorCode.RESOURCE_NOT_FOUND;
+            case 405:
+                return ErrorCode.REQUEST_METHOD_NOT_SUPPORTED;
+            case 408:
+                return ErrorCode.TIMEOUT_ERROR;
+            case 409:
+                return ErrorCode.RESOURCE_ALREADY_EXISTS;
+            case 413:
+                return ErrorCode.MAX_UPLOAD_SIZE_EXCEEDED;
+            case 415:
+                return ErrorCode.MEDIA_TYPE_NOT_SUPPORTED;
+            case 502:
+                return ErrorCode.EXTERNAL_SERVICE_ERROR;
+            case 503:
+                return ErrorCode.SERVICE_UNAVAILABLE;
+            default:
+                return status.is5xxServerError() ? ErrorCode.SYSTEM_ERROR : ErrorCode.BUSINESS_ERROR;
+        }
+    }
+    
+    private HandlerSettings settings(ErrorCode errorCode, String path) {
+        return settingsHolder.current().forRequest(errorCode, path);
+    }
+    
+    private static ErrorResponse errorResponse(ErrorCode errorCode, String path) {
+        return new ErrorResponse(errorCode.getCode(), errorCode.getMessage(), path);
+    }
+    
+    /**
+     * 以状态映射策略给出的错误码状态写出响应
+     */
+    private Mono<Void> respond(ServerWebExchange exchange, Throwable ex, String description, ErrorCode errorCode,
+                               ErrorResponse body, long startNanos) {
+        return respond(exchange, ex, description, errorCode, statusPolicy.status(errorCode), body,
+                startNanos);
+    }
+    
+    /**
+     * 记录日志、通知监听器并写出响应
+     */
+    private Mono<Void> respond(ServerWebExchange exchange, Throwable ex, String description, ErrorCode errorCode,
+                               HttpStatusCode status, ErrorResponse body, long startNanos) {
+        if (messageResolver != null) {
+            ExceptionResponseSupport.localizeMessage(body, ex, errorCode, messageResolver, locale(exchange));
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        HandlerSettings settings = settings(errorCode, request.getPath().value());
+        if (settings.isIncludeStackTrace()) {
+            body.setDetails(settings.renderStackTrace(ex));
+        }
+        
+        String traceId = null;
+        if (traceIdResolver != null) {
+            String requestIdHeader = traceIdResolver.getRequestIdHeader();
+            traceId = traceIdResolver.resolve(request.getHeaders().getFirst(TraceIdResolver.TRACEPARENT_HEADER),
+                    requestIdHeader != null ? request.getHeaders().getFirst(requestIdHeader) : null);
+            body.setTraceId(traceId);
+        }
+        // 业务异常与客户端错误状态的 ResponseStatusException 以 WARN 级别输出
+        boolean warning = ex instanceof BaseException
+                || (ex instanceof ResponseStatusException && !status.is5xxServerError());
+        logException(ex, description, request, traceId, settings, warning);
+        
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(problemDetails ? MediaType.APPLICATION_PROBLEM_JSON : MediaType.APPLICATION_JSON);
+        String cacheControl = statusPolicy.cacheControl(errorCode);
+        if (cacheControl != null) {
+            response.getHeaders().set(HttpHeaders.CACHE_CONTROL, cacheControl);
+        }
+        String retryAfter = statusPolicy.retryAfter(errorCode);
+        if (retryAfter != null) {
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        
+        DataBuffer buffer;
+        try {
+            buffer = encode(response.bufferFactory(), body, problemDetails ? status.value() : 0);
+        } catch (IOException encodeEx) {
+            return Mono.error(encodeEx);
+        }
+        
+        if (listeners.length > 0) {
+            notifyListeners(ex, errorCode, status, exchange, System.nanoTime() - startNanos);
+        }
+        return response.writeWith(Mono.just(buffer));
+    }
+    
+    /**
+     * @param problemStatus 大于 0 时以 Problem Details 格式写出
+     */
+    private DataBuffer encode(DataBufferFactory bufferFactory, ErrorResponse body, int problemStatus) throws IOException {
+        if (jsonWriter == null) {
+            return bufferFactory.wrap(objectMapper.writeValueAsBytes(body));
+        }
+        DataBuffer buffer = bufferFactory.allocateBuffer(INITIAL_BUFFER_SIZE);
+        boolean release = true;
+        try {
+            try (OutputStream out = buffer.asOutputStream()) {
+                if (problemStatus > 0) {
+                    jsonWriter.writeProblem(body, problemStatus, out);
+                } else {
+                    jsonWriter.write(body, out);
+                }
+            }
+            release = false;
+            return buffer;
+        } finally {
+            if (release) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+    
+    private void notifyListeners(Throwable ex, ErrorCode errorCode, HttpStatusCode status, ServerWebExchange exchange,
+                                 long durationNanos) {
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String pathPattern = pattern instanceof PathPattern ? ((PathPattern) pattern).getPatternString() : null;
+        ServerHttpRequest request = exchange.getRequest();
+        for (ExceptionHandledListener listener : listeners) {
+            try {
+                listener.onExceptionHandled(ex, errorCode, status.value(), request.getMethod().name(),
+                        request.getPath().value(), pathPattern, durationNanos);
+            } catch (RuntimeException listenerEx) {
+                // 监听器失败不能影响错误响应
+                logger.debug("Exception handled listener {} failed", listener, listenerEx);
+            }
+        }
+    }
+    
+    /**
+     * 记录异常日志
+     */
+    private void logException(Throwable ex, String message, ServerHttpRequest request, String traceId,
+                              HandlerSettings settings, boolean warning) {
+        if (settings.isEnableLogging()) {
+            if (logLimiter != null && !logLimiter.tryAcquire(ex)) {
+                return;
+            }
+            
+            String method = request.getMethod().name();
+            String path = request.getPath().value();
+            if (eventPublisher != null) {
+                eventPublisher.publish(ex, message, method, path, traceId, warning);
+                return;
+            }
+            
+            if (traceId == null) {
+                log(ex, message, method, path, warning);
+                return;
+            }
+            // 只在错误路径上写入 MDC，已有值时不覆盖
+            String mdcKey = traceIdResolver.getMdcKey();
+            boolean putMdc = MDC.get(mdcKey) == null;
+            if (putMdc) {
+                MDC.put(mdcKey, traceId);
+            }
+            try {
+                log(ex, message, method, path + " [" + traceId + "]", warning);
+            } finally {
+                if (putMdc) {
+                    MDC.remove(mdcKey);
+                }
+            }
+        }
+    }
+    
+    private void log(Throwable ex, String message, String method, String location, boolean warning) {
+        if (warning) {
+            logger.warn("{} - [{}] {}: {}", message, method, location, ex.getMessage());
+        } else {
+            logger.error("{} - [{}] {}: {}", message, method, location, ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.exception.starter.handler;
+
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 字段错误 rejectedValue 摘要
+ * <p>
+ * 只保留标量值：数字保持原类型，字符串（以及十进制表示超长的大数）超长时截断并注明原长度，集合、数组、Map 只给出类型和大小，
+ * 其他对象只给出类型名，避免把上传的大对象原样序列化进错误响应
+ */
+final class RejectedValues {
+    
+    private RejectedValues() {
+    }
+    
+    /**
+     * @param maxLength 字符串最大长度，小于等于 0 表示不截断
+     */
+    static Object summarize(Object value, int maxLength) {
+        if (value == null || value instanceof Boolean || value instanceof Character) {
+            return value;
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+                || value instanceof Double || value instanceof Float) {
+            return value;
+        }
+        if (value instanceof BigInteger || value instanceof BigDecimal) {
+            // 保持 JSON 数字类型，只有超长时才退回为截断后的字符串
+            String text = value.toString();
+            return maxLength > 0 && text.length() > maxLength ? truncate(text, maxLength) : value;
+        }
+        if (value instanceof CharSequence) {
+            return truncate((CharSequence) value, maxLength);
+        }
+        if (value instanceof Enum<?> || value instanceof TemporalAccessor || value instanceof UUID) {
+            return truncate(value.toString(), maxLength);
+        }
+        Class<?> type = value.getClass();
+        if (type.isArray()) {
+            return "<" + type.getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]>";
+        }
+        if (value instanceof Collection<?>) {
+            return "<" + type.getSimpleName() + " size=" + ((Collection<?>) value).size() + ">";
+        }
+        if (value instanceof Map<?, ?>) {
+            return "<" + type.getSimpleName() + " size=" + ((Map<?, ?>) value).size() + ">";
+        }
+        return "<" + type.getSimpleName() + ">";
+    }
+    
+    private static String truncate(CharSequence value, int maxLength) {
+        int length = value.length();
+        if (maxLength <= 0 || length <= maxLength) {
+            return value.toString();
+        }
+        int end = maxLength;
+        // 不截断代理对
+        if (Character.isHighSurrogate(value.charAt(end - 1))) {
+            end--;
+        }
+        return value.subSequence(0, end) + "...(" + length + " chars)";
+    }
+}
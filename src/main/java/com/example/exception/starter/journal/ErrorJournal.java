@@ -0,0 +1,179 @@
+package com.example.exception.starter.journal;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.fingerprint.ExceptionFingerprinter;
+import com.example.exception.starter.handler.ExceptionHandledListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 本地错误日志
+ * <p>
+ * 每个已处理的异常以紧凑的二进制记录（时间戳、错误码、状态码、指纹、请求方法、路由模板、路径、耗时）
+ * 追加到内存映射的段文件中，写入只是一次原子的位置递增和若干次内存写，不加锁也不经过文本日志。
+ * 段写满后切换到新段，只保留最新的若干个段。写入的数据在进程崩溃后仍由操作系统落盘，
+ * 关闭时才写入段结束标记并调用 force，因此不能防止操作系统崩溃造成的丢失。
+ * 离线读取见 {@link ErrorJournalReader} 与 {@link ErrorJournalCli}
+ */
+public class ErrorJournal implements ExceptionHandledListener, Closeable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ErrorJournal.class);
+    
+    /**
+     * 段文件的最大长度，记录偏移量使用 int
+     */
+    public static final int MAX_SEGMENT_SIZE = 1 << 30;
+    
+    private static final byte[] EMPTY = new byte[0];
+    
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final int maxPathBytes;
+    private final ExceptionFingerprinter fingerprinter;
+    
+    /**
+     * 保护段切换与关闭；使用 ReentrantLock 而不是 synchronized，
+     * 在虚拟线程上创建和映射新段文件时不会固定载体线程
+     */
+    private final ReentrantLock rollLock = new ReentrantLock();
+    
+    private volatile JournalSegment current;
+    private long nextSequence;
+    
+    /**
+     * @param segmentSize 单个段文件的长度（字节）
+     * @param maxSegments 保留的段文件数量，包含正在写入的段
+     * @param maxPathBytes 路由模板与路径各自保留的最大字节数
+     * @param fingerprinter 异常指纹计算，为 null 时指纹记为 0
+     */
+    public ErrorJournal(Path directory, int segmentSize, int maxSegments, int maxPathBytes,
+                        ExceptionFingerprinter fingerprinter) throws IOException {
+        if (segmentSize < JournalSegment.HEADER_SIZE + JournalSegment.recordLength(255, maxPathBytes, maxPathBytes)
+                || segmentSize > MAX_SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Segment size " + segmentSize + " is too small for max path length "
+                    + maxPathBytes + " or larger than " + MAX_SEGMENT_SIZE);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(maxSegments, 1);
+        this.maxPathBytes = Math.min(maxPathBytes, Short.MAX_VALUE);
+        this.fingerprinter = fingerprinter;
+        
+        Files.createDirectories(directory);
+        List<Path> segments = ErrorJournalReader.segments(directory);
+        // 重启后总是从新段开始，不续写上次未写满的段
+        this.nextSequence = segments.isEmpty() ? 0 : JournalSegment.sequenceOf(segments.get(segments.size() - 1)) + 1;
+        this.current = JournalSegment.create(directory, nextSequence++, segmentSize, System.currentTimeMillis());
+        deleteExpiredSegments();
+    }
+    
+    @Override
+    public void onExceptionHandled(Throwable exception, ErrorCode errorCode, int status,
+                                   String method, String path, String pathPattern, long durationNanos) {
+        if (current == null) {
+            return;
+        }
+        long fingerprint = fingerprinter != null ? fingerprinter.fingerprint(exception, errorCode) : 0L;
+        byte[] methodBytes = method != null ? method.getBytes(StandardCharsets.US_ASCII) : EMPTY;
+        byte[] routeBytes = pathPattern != null ? pathPattern.getBytes(StandardCharsets.UTF_8) : EMPTY;
+        byte[] pathBytes = path != null ? path.getBytes(StandardCharsets.UTF_8) : EMPTY;
+        int methodLength = Math.min(methodBytes.length, 255);
+        int routeLength = truncatedLength(routeBytes, maxPathBytes);
+        int pathLength = truncatedLength(pathBytes, maxPathBytes);
+        int length = JournalSegment.recordLength(methodLength, routeLength, pathLength);
+        long now = System.currentTimeMillis();
+        
+        for (;;) {
+            JournalSegment segment = current;
+            if (segment == null) {
+                return;
+            }
+            int offset = segment.reserve(length);
+            if (offset >= 0) {
+                segment.write(offset, length, now, durationNanos, fingerprint,
+                        errorCode != null ? errorCode.getCode() : -1, status,
+                        methodBytes, methodLength, routeBytes, routeLength, pathBytes, pathLength);
+                return;
+            }
+            roll(segment);
+        }
+    }
+    
+    /**
+     * 切换到新段，只有发现段写满的线程进入，其余线程仍在无锁路径上
+     */
+    private void roll(JournalSegment full) {
+        rollLock.lock();
+        try {
+            if (current != full) {
+                return;
+            }
+            try {
+                current = JournalSegment.create(directory, nextSequence++, segmentSize, System.currentTimeMillis());
+            } catch (IOException | RuntimeException ex) {
+                current = null;
+                logger.warn("Failed to create error journal segment in {}, error journal is disabled", directory, ex);
+                return;
+            }
+            deleteExpiredSegments();
+        } finally {
+            rollLock.unlock();
+        }
+    }
+    
+    private void deleteExpiredSegments() {
+        try {
+            List<Path> segments = ErrorJournalReader.segments(directory);
+            for (int i = 0; i < segments.size() - maxSegments; i++) {
+                Files.deleteIfExists(segments.get(i));
+            }
+        } catch (IOException ex) {
+            logger.warn("Failed to delete expired error journal segments in {}", directory, ex);
+        }
+    }
+    
+    /**
+     * UTF-8 字节截取到不超过 maxBytes，且不截断多字节字符
+     */
+    private static int truncatedLength(byte[] bytes, int maxBytes) {
+        if (bytes.length <= maxBytes) {
+            return bytes.length;
+        }
+        int length = maxBytes;
+        while (length > 0 && (bytes[length] & 0xC0) == 0x80) {
+            length--;
+        }
+        return length;
+    }
+    
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    /**
+     * 停止写入，在当前段写入段结束标记并刷到磁盘；重启后从新段开始，读取器不需要等待这个段
+     */
+    @Override
+    public void close() {
+        rollLock.lock();
+        try {
+            JournalSegment segment = current;
+            current = null;
+            if (segment != null) {
+                segment.seal();
+                segment.force();
+            }
+        } finally {
+            rollLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.exception.starter.journal;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 错误日志命令行工具
+ * <pre>
+ * java -cp global-exception-handler-starter.jar com.example.exception.starter.journal.ErrorJournalCli \
+ *     tail [-f] [-n 20] logs/error-journal
+ * java -cp global-exception-handler-starter.jar com.example.exception.starter.journal.ErrorJournalCli \
+ *     stats [--by code|route|fingerprint] [--since 60] logs/error-journal
+ * </pre>
+ * tail 输出最近的记录，-f 持续跟踪新记录；stats 按错误码、路由模板或指纹汇总次数与耗时，--since 只统计最近若干分钟。
+ * 只读取一次时不等待崩溃留下的未封闭段，直接读取后续的段
+ */
+public final class ErrorJournalCli {
+    
+    private static final long POLL_INTERVAL_MILLIS = 500;
+    
+    private ErrorJournalCli() {
+    }
+    
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            usage();
+            System.exit(2);
+        }
+        Path directory = Paths.get(args[args.length - 1]);
+        String command = args[0];
+        if ("tail".equals(command)) {
+            boolean follow = false;
+            int lines = 20;
+            for (int i = 1; i < args.length - 1; i++) {
+                if ("-f".equals(args[i])) {
+                    follow = true;
+                } else if ("-n".equals(args[i]) && i + 1 < args.length - 1) {
+                    lines = Integer.parseInt(args[++i]);
+                }
+            }
+            tail(directory, lines, follow, System.out);
+        } else if ("stats".equals(command)) {
+            String by = "code";
+            long sinceMillis = 0;
+            for (int i = 1; i < args.length - 1; i++) {
+                if ("--by".equals(args[i]) && i + 1 < args.length - 1) {
+                    by = args[++i];
+                } else if ("--since".equals(args[i]) && i + 1 < args.length - 1) {
+                    sinceMillis = System.currentTimeMillis() - Long.parseLong(args[++i]) * 60_000L;
+                }
+            }
+            stats(directory, by, sinceMillis, System.out);
+        } else {
+            usage();
+            System.exit(2);
+        }
+    }
+    
+    private static void usage() {
+        System.err.println("Usage: ErrorJournalCli tail [-f] [-n <lines>] <directory>");
+        System.err.println("       ErrorJournalCli stats [--by code|route|fingerprint] [--since <minutes>] <directory>");
+    }
+    
+    static void tail(Path directory, int lines, boolean follow, PrintStream out)
+            throws IOException, InterruptedException {
+        ErrorJournalReader reader = new ErrorJournalReader(directory,
+                follow ? ErrorJournalReader.DEFAULT_STALL_GRACE : Duration.ZERO);
+        Deque<ErrorJournalRecord> last = new ArrayDeque<>();
+        reader.poll(record -> {
+            if (lines > 0) {
+                if (last.size() == lines) {
+                    last.removeFirst();
+                }
+                last.addLast(record);
+            }
+        });
+        for (ErrorJournalRecord record : last) {
+            out.println(format(record));
+        }
+        while (follow) {
+            if (reader.poll(record -> out.println(format(record))) == 0) {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+        }
+    }
+    
+    static void stats(Path directory, String by, long sinceMillis, PrintStream out) throws IOException {
+        Function<ErrorJournalRecord, String> key = keyFunction(by);
+        Map<String, long[]> totals = new HashMap<>();
+        new ErrorJournalReader(directory, Duration.ZERO).poll(record -> {
+            if (record.getTimestampMillis() < sinceMillis) {
+                return;
+            }
+            // 次数、总耗时、最大耗时
+            long[] total = totals.computeIfAbsent(key.apply(record), k -> new long[3]);
+            total[0]++;
+            total[1] += record.getDurationNanos();
+            total[2] = Math.max(total[2], record.getDurationNanos());
+        });
+        List<Map.Entry<String, long[]>> entries = new ArrayList<>(totals.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue()[0], a.getValue()[0]));
+        out.printf("%-60s %10s %12s %12s%n", by, "count", "avg(us)", "max(us)");
+        for (Map.Entry<String, long[]> entry : entries) {
+            long[] total = entry.getValue();
+            out.printf("%-60s %10d %12.1f %12.1f%n", entry.getKey(), total[0], total[1] / 1000.0 / total[0],
+                    total[2] / 1000.0);
+        }
+    }
+    
+    private static Function<ErrorJournalRecord, String> keyFunction(String by) {
+        switch (by) {
+            case "route":
+                return record -> record.getMethod() + " "
+                        + (record.getRoute().isEmpty() ? record.getPath() : record.getRoute());
+            case "fingerprint":
+                return record -> Long.toHexString(record.getFingerprint());
+            default:
+                return record -> Integer.toString(record.getCode());
+        }
+    }
+    
+    private static String format(ErrorJournalRecord record) {
+        return Instant.ofEpochMilli(record.getTimestampMillis()) + " " + record.getCode() + " " + record.getStatus()
+                + " " + record.getMethod() + " " + record.getPath()
+                + (record.getRoute().isEmpty() ? "" : " (" + record.getRoute() + ")")
+                + " " + String.format("%.1fus", record.getDurationNanos() / 1000.0)
+                + (record.getFingerprint() != 0 ? " fp=" + Long.toHexString(record.getFingerprint()) : "");
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.exception.starter.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 错误日志读取器
+ * <p>
+ * 按段序号依次读取已提交的记录，可以在写入进程运行时反复调用 {@link #poll(Consumer)} 跟踪新记录。
+ * 读到未提交的位置时停在该处，读到段结束标记后才进入下一个段；并发写入方可能仍在提交预留在旧段中的记录。
+ * 已经存在更新的段、但旧段在宽限期内一直没有新的提交时（例如写入进程崩溃，旧段没有结束标记），才放弃旧段。
+ * 只读取一次的场景（例如离线统计）应使用 0 宽限期，否则会停在崩溃留下的段上
+ */
+public class ErrorJournalReader {
+    
+    /**
+     * 默认的宽限期，远大于写入方预留与提交一条记录之间的间隔
+     */
+    public static final Duration DEFAULT_STALL_GRACE = Duration.ofSeconds(5);
+    
+    private final Path directory;
+    private final long stallGraceNanos;
+    
+    private MappedByteBuffer buffer;
+    private long sequence = -1;
+    private int offset;
+    
+    /**
+     * 在未提交位置等待、且已经存在更新段的起始时间，0 表示没有在等待
+     */
+    private long stalledSinceNanos;
+    
+    public ErrorJournalReader(Path directory) {
+        this(directory, DEFAULT_STALL_GRACE);
+    }
+    
+    /**
+     * @param stallGrace 已经存在更新的段时，在未提交位置最多等待多久后放弃当前段，为 0 时立即放弃
+     */
+    public ErrorJournalReader(Path directory, Duration stallGrace) {
+        this.directory = directory;
+        this.stallGraceNanos = stallGrace.toNanos();
+    }
+    
+    /**
+     * 目录中按序号排列的段文件
+     */
+    public static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> JournalSegment.sequenceOf(file) >= 0)
+                    .sorted(Comparator.comparingLong(JournalSegment::sequenceOf))
+                    .collect(Collectors.toList());
+        }
+    }
+    
+    /**
+     * 读取当前可见的全部新记录，返回读取的条数
+     */
+    public int poll(Consumer<ErrorJournalRecord> consumer) throws IOException {
+        int count = 0;
+        for (;;) {
+            if (buffer == null && !openNext()) {
+                return count;
+            }
+            int length = offset + 4 <= buffer.capacity()
+                    ? JournalSegment.readLength(buffer, offset) : JournalSegment.END_OF_SEGMENT;
+            if (length > 0 && offset + length <= buffer.capacity()) {
+                consumer.accept(read(offset));
+                offset += length;
+                count++;
+                stalledSinceNanos = 0;
+            } else if (length == JournalSegment.END_OF_SEGMENT || stalledPastGrace()) {
+                buffer = null;
+                stalledSinceNanos = 0;
+            } else {
+                return count;
+            }
+        }
+    }
+    
+    private ErrorJournalRecord read(int offset) {
+        int index = offset + 4;
+        long timestampMillis = buffer.getLong(index);
+        long durationNanos = buffer.getLong(index + 8);
+        long fingerprint = buffer.getLong(index + 16);
+        int code = buffer.getInt(index + 24);
+        int status = buffer.getShort(index + 28);
+        int methodLength = buffer.get(index + 30) & 0xFF;
+        int routeLength = buffer.getShort(index + 31);
+        int pathLength = buffer.getShort(index + 33);
+        index += 35;
+        String method = string(index, methodLength);
+        index += methodLength;
+        String route = string(index, routeLength);
+        index += routeLength;
+        String path = string(index, pathLength);
+        return new ErrorJournalRecord(timestampMillis, durationNanos, fingerprint, code, status, method, route, path);
+    }
+    
+    private String string(int index, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(index, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * 打开序号大于当前段的第一个段，跳过格式不符或已被删除的文件
+     */
+    private boolean openNext() throws IOException {
+        for (Path file : segments(directory)) {
+            long fileSequence = JournalSegment.sequenceOf(file);
+            if (fileSequence <= sequence) {
+                continue;
+            }
+            sequence = fileSequence;
+            MappedByteBuffer mapped = map(file);
+            if (mapped != null && mapped.capacity() >= JournalSegment.HEADER_SIZE
+                    && mapped.getInt(0) == JournalSegment.MAGIC && mapped.getInt(4) == JournalSegment.VERSION) {
+                buffer = mapped;
+                offset = JournalSegment.HEADER_SIZE;
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * 当前位置未提交且已经存在更新的段，并且从首次发现起已超过宽限期
+     */
+    private boolean stalledPastGrace() throws IOException {
+        if (!hasNewerSegment()) {
+            stalledSinceNanos = 0;
+            return false;
+        }
+        long now = System.nanoTime();
+        if (stalledSinceNanos == 0) {
+            stalledSinceNanos = now;
+        }
+        return now - stalledSinceNanos >= stallGraceNanos;
+    }
+    
+    private boolean hasNewerSegment() throws IOException {
+        for (Path file : segments(directory)) {
+            if (JournalSegment.sequenceOf(file) > sequence) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static MappedByteBuffer map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.exception.starter.journal;
+
+/**
+ * 错误日志中的一条记录
+ */
+public final class ErrorJournalRecord {
+    
+    private final long timestampMillis;
+    private final long durationNanos;
+    private final long fingerprint;
+    private final int code;
+    private final int status;
+    private final String method;
+    private final String route;
+    private final String path;
+    
+    public ErrorJournalRecord(long timestampMillis, long durationNanos, long fingerprint, int code, int status,
+                              String method, String route, String path) {
+        this.timestampMillis = timestampMillis;
+        this.durationNanos = durationNanos;
+        this.fingerprint = fingerprint;
+        this.code = code;
+        this.status = status;
+        this.method = method;
+        this.route = route;
+        this.path = path;
+    }
+    
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    /**
+     * 异常处理方法的耗时（纳秒）
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+    
+    /**
+     * 异常指纹，未开启指纹聚合时为 0
+     */
+    public long getFingerprint() {
+        return fingerprint;
+    }
+    
+    public int getCode() {
+        return code;
+    }
+    
+    public int getStatus() {
+        return status;
+    }
+    
+    public String getMethod() {
+        return method;
+    }
+    
+    /**
+     * 匹配到的路由模板，未匹配到处理器时为空字符串
+     */
+    public String getRoute() {
+        return route;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+}
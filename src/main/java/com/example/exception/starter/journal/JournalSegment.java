@@ -0,0 +1,141 @@
+package com.example.exception.starter.journal;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 错误日志的一个内存映射段文件
+ * <p>
+ * 文件头 16 字节：魔数、格式版本、创建时间。之后是按 8 字节对齐的记录，每条记录的首个 int 为记录长度，
+ * 写入方在其余字段写完后以 release 语义写入长度，读取方以 acquire 语义读到非 0 长度后才读取记录内容；
+ * 长度为 -1 表示该段已写满，后续记录在下一个段中
+ */
+final class JournalSegment {
+    
+    static final int MAGIC = 0x45524A31;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int ALIGNMENT = 8;
+    static final int END_OF_SEGMENT = -1;
+    
+    static final String FILE_PREFIX = "errors-";
+    static final String FILE_SUFFIX = ".journal";
+    
+    /**
+     * 记录中长度之后的定长部分：时间戳、耗时、指纹、错误码、状态码、三个字符串的长度
+     */
+    static final int FIXED_SIZE = 4 + 8 + 8 + 8 + 4 + 2 + 1 + 2 + 2;
+    
+    private static final VarHandle INT_VIEW = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final AtomicInteger position = new AtomicInteger(HEADER_SIZE);
+    
+    private JournalSegment(MappedByteBuffer buffer) {
+        this.buffer = buffer;
+        this.capacity = buffer.capacity() & -ALIGNMENT;
+    }
+    
+    /**
+     * 创建并映射新的段文件，文件已存在时失败
+     */
+    static JournalSegment create(Path directory, long sequence, int size, long nowMillis) throws IOException {
+        Path file = directory.resolve(fileName(sequence));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(8, nowMillis);
+            return new JournalSegment(buffer);
+        }
+    }
+    
+    static String fileName(long sequence) {
+        return FILE_PREFIX + String.format("%020d", sequence) + FILE_SUFFIX;
+    }
+    
+    /**
+     * 从文件名解析段序号，不是段文件时返回 -1
+     */
+    static long sequenceOf(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+    
+    static int recordLength(int methodLength, int routeLength, int pathLength) {
+        return (FIXED_SIZE + methodLength + routeLength + pathLength + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+    
+    /**
+     * 预留一段空间，返回记录的起始偏移；段已写满时返回 -1，第一个越界的写入方负责写入段结束标记
+     */
+    int reserve(int length) {
+        int offset = position.getAndAdd(length);
+        if (offset >= 0 && offset + length <= capacity) {
+            return offset;
+        }
+        if (offset >= 0 && offset < capacity) {
+            INT_VIEW.setRelease(buffer, offset, END_OF_SEGMENT);
+        }
+        return -1;
+    }
+    
+    /**
+     * 写入记录，字符串按调用方给出的长度截取
+     */
+    void write(int offset, int length, long timestampMillis, long durationNanos, long fingerprint, int code,
+               int status, byte[] method, int methodLength, byte[] route, int routeLength, byte[] path, int pathLength) {
+        ByteBuffer target = buffer;
+        int index = offset + 4;
+        target.putLong(index, timestampMillis);
+        target.putLong(index + 8, durationNanos);
+        target.putLong(index + 16, fingerprint);
+        target.putInt(index + 24, code);
+        target.putShort(index + 28, (short) status);
+        target.put(index + 30, (byte) methodLength);
+        target.putShort(index + 31, (short) routeLength);
+        target.putShort(index + 33, (short) pathLength);
+        index += 35;
+        target.put(index, method, 0, methodLength);
+        index += methodLength;
+        target.put(index, route, 0, routeLength);
+        index += routeLength;
+        target.put(index, path, 0, pathLength);
+        INT_VIEW.setRelease(target, offset, length);
+    }
+    
+    /**
+     * 封闭段：之后的预留全部失败，并在当前位置写入段结束标记；已预留的记录仍可提交
+     */
+    void seal() {
+        int offset = position.getAndUpdate(current -> Math.max(current, capacity));
+        if (offset >= 0 && offset < capacity) {
+            INT_VIEW.setRelease(buffer, offset, END_OF_SEGMENT);
+        }
+    }
+    
+    static int readLength(ByteBuffer buffer, int offset) {
+        return (int) INT_VIEW.getAcquire(buffer, offset);
+    }
+    
+    void force() {
+        buffer.force();
+    }
+}
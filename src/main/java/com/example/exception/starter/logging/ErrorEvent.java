@@ -0,0 +1,81 @@
+package com.example.exception.starter.logging;
+
+/**
+ * 错误事件
+ * <p>
+ * 事件对象由 {@link ErrorEventPublisher} 预先分配并循环使用，
+ * {@link ErrorEventSink} 只能在回调期间读取，不能持有事件引用
+ */
+public final class ErrorEvent {
+    
+    private Throwable exception;
+    private String description;
+    private String method;
+    private String path;
+    
+    private String traceId;
+    private long timestamp;
+    private boolean warning;
+    
+    ErrorEvent() {
+    }
+    
+    void set(Throwable exception, String description, String method, String path, String traceId, long timestamp,
+             boolean warning) {
+        this.exception = exception;
+        this.description = description;
+        this.method = method;
+        this.path = path;
+        this.traceId = traceId;
+        this.timestamp = timestamp;
+        this.warning = warning;
+    }
+    
+    void clear() {
+        exception = null;
+        description = null;
+        method = null;
+        path = null;
+        traceId = null;
+    }
+    
+    public Throwable getException() {
+        return exception;
+    }
+    
+    /**
+     * 处理器给出的异常描述，例如 "Business exception occurred"
+     */
+    public String getDescription() {
+        return description;
+    }
+    
+    public String getMethod() {
+        return method;
+    }
+    
+    public String getPath() {
+        return path;
+    }
+    
+    /**
+     * 追踪 ID，未开启时为 null
+     */
+    public String getTraceId() {
+        return traceId;
+    }
+    
+    /**
+     * 事件发布时间（毫秒）
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+    
+    /**
+     * 是否以 WARN 级别且不带堆栈输出，为 false 时以 ERROR 级别带堆栈输出
+     */
+    public boolean isWarning() {
+        return warning;
+    }
+}
@@ -0,0 +1,281 @@
+package com.example.exception.starter.logging;
+
+import com.example.exception.starter.exception.BaseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 异步错误事件发布器
+ * <p>
+ * 请求线程把错误事件写入预分配的环形缓冲区后立即返回，由一个后台线程按批取出事件，
+ * 依次交给各个 {@link ErrorEventSink}（包括输出日志），错误响应的尾延迟不再受日志 Appender 速度影响。
+ * <p>
+ * 缓冲区为多生产者单消费者结构：生产者通过 CAS 申请序号，填充槽位后发布该序号；
+ * 消费者按序号顺序读取已发布的槽位。缓冲区满时按 {@link OverflowPolicy} 处理
+ */
+public class ErrorEventPublisher implements AutoCloseable {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ErrorEventPublisher.class);
+    
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+    
+    private static final String CONSUMER_THREAD_NAME = "exception-event-consumer";
+    
+    /**
+     * 缓冲区满时的处理策略
+     */
+    public enum OverflowPolicy {
+        
+        /**
+         * 丢弃新事件
+         */
+        DROP,
+        
+        /**
+         * 缓冲区使用超过 3/4 后按比例采样，满时丢弃
+         */
+        SAMPLE,
+        
+        /**
+         * 请求线程等待缓冲区有空位
+         */
+        BLOCK
+    }
+    
+    private final ErrorEvent[] slots;
+    private final AtomicLongArray publishedSequences;
+    private final int mask;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final double sampleRate;
+    private final long sampleThreshold;
+    private final ErrorEventSink[] sinks;
+    
+    /**
+     * 下一个待申请的序号
+     */
+    private final AtomicLong claimSequence = new AtomicLong();
+    
+    /**
+     * 下一个待消费的序号
+     */
+    private volatile long consumeSequence;
+    
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder sampledOutCount = new LongAdder();
+    
+    private final Thread consumer;
+    private volatile boolean running = true;
+    private volatile boolean consumerParked;
+    
+    /**
+     * @param bufferSize 缓冲区大小，向上取整为 2 的幂
+     * @param batchSize 每批最多处理的事件数
+     * @param overflowPolicy 缓冲区满时的处理策略
+     * @param sampleRate SAMPLE 策略下的采样比例
+     * @param sinks 事件接收器
+     */
+    public ErrorEventPublisher(int bufferSize, int batchSize, OverflowPolicy overflowPolicy, double sampleRate,
+                               Collection<? extends ErrorEventSink> sinks) {
+        this(bufferSize, batchSize, overflowPolicy, sampleRate, sinks, ErrorEventPublisher::newPlatformThread);
+    }
+    
+    /**
+     * @param threadFactory 创建后台消费线程的工厂，例如 {@link VirtualThreads#factory(String)}
+     */
+    public ErrorEventPublisher(int bufferSize, int batchSize, OverflowPolicy overflowPolicy, double sampleRate,
+                               Collection<? extends ErrorEventSink> sinks, ThreadFactory threadFactory) {
+        int capacity = Integer.highestOneBit(Math.max(bufferSize, 2) - 1) << 1;
+        this.slots = new ErrorEvent[capacity];
+        this.publishedSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new ErrorEvent();
+            publishedSequences.set(i, -1);
+        }
+        this.mask = capacity - 1;
+        this.batchSize = Math.max(batchSize, 1);
+        this.overflowPolicy = overflowPolicy;
+        this.sampleRate = sampleRate;
+        this.sampleThreshold = capacity - capacity / 4;
+        this.sinks = sinks.toArray(new ErrorEventSink[0]);
+        
+        this.consumer = threadFactory.newThread(this::consume);
+        this.consumer.start();
+    }
+    
+    private static Thread newPlatformThread(Runnable task) {
+        Thread thread = new Thread(task, CONSUMER_THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+    }
+    
+    /**
+     * 创建以虚拟线程运行后台消费者的发布器，接收器中的阻塞 IO 不再占用平台线程
+     */
+    public static ErrorEventPublisher onVirtualThread(int bufferSize, int batchSize, OverflowPolicy overflowPolicy,
+                                                      double sampleRate, Collection<? extends ErrorEventSink> sinks) {
+        return new ErrorEventPublisher(bufferSize, batchSize, overflowPolicy, sampleRate, sinks,
+                VirtualThreads.factory(CONSUMER_THREAD_NAME));
+    }
+    
+    /**
+     * 发布错误事件，缓冲区满且策略不是 BLOCK 时丢弃并计数
+     */
+    public void publish(Throwable exception, String description, String method, String path) {
+        publish(exception, description, method, path, null);
+    }
+    
+    /**
+     * 发布带追踪 ID 的错误事件
+     */
+    public void publish(Throwable exception, String description, String method, String path, String traceId) {
+        publish(exception, description, method, path, traceId, exception instanceof BaseException);
+    }
+    
+    /**
+     * 发布错误事件并指定日志级别
+     * @param warning 是否以 WARN 级别且不带堆栈输出，默认只有 BaseException 如此
+     */
+    public void publish(Throwable exception, String description, String method, String path, String traceId,
+                        boolean warning) {
+        long sequence = claim();
+        if (sequence < 0) {
+            return;
+        }
+        int index = (int) (sequence & mask);
+        slots[index].set(exception, description, method, path, traceId, System.currentTimeMillis(), warning);
+        publishedSequences.set(index, sequence);
+        if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+    
+    private long claim() {
+        for (;;) {
+            long sequence = claimSequence.get();
+            long used = sequence - consumeSequence;
+            if (used > mask) {
+                if (overflowPolicy == OverflowPolicy.BLOCK && running) {
+                    LockSupport.unpark(consumer);
+                    LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+                    continue;
+                }
+                droppedCount.increment();
+                return -1;
+            }
+            if (overflowPolicy == OverflowPolicy.SAMPLE && used >= sampleThreshold
+                    && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+                sampledOutCount.increment();
+                return -1;
+            }
+            if (!running) {
+                droppedCount.increment();
+                return -1;
+            }
+            if (claimSequence.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+    
+    private void consume() {
+        long next = consumeSequence;
+        while (running || next < claimSequence.get()) {
+            int processed = 0;
+            while (processed < batchSize) {
+                int index = (int) (next & mask);
+                if (publishedSequences.get(index) != next) {
+                    break;
+                }
+                ErrorEvent event = slots[index];
+                dispatch(event);
+                event.clear();
+                consumeSequence = ++next;
+                processed++;
+            }
+            
+            if (processed > 0) {
+                flushSinks();
+            } else if (!running) {
+                // 关闭时等待已申请序号的生产者完成发布
+                Thread.yield();
+            } else {
+                consumerParked = true;
+                if (publishedSequences.get((int) (next & mask)) != next && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                consumerParked = false;
+            }
+        }
+    }
+    
+    private void dispatch(ErrorEvent event) {
+        for (ErrorEventSink sink : sinks) {
+            try {
+                sink.accept(event);
+            } catch (RuntimeException ex) {
+                logger.debug("Error event sink {} failed", sink, ex);
+            }
+        }
+    }
+    
+    private void flushSinks() {
+        for (ErrorEventSink sink : sinks) {
+            try {
+                sink.flush();
+            } catch (RuntimeException ex) {
+                logger.debug("Error event sink {} failed to flush", sink, ex);
+            }
+        }
+    }
+    
+    /**
+     * 因缓冲区满（或已关闭）被丢弃的事件数
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+    
+    /**
+     * SAMPLE 策略下未被采样的事件数
+     */
+    public long getSampledOutCount() {
+        return sampledOutCount.sum();
+    }
+    
+    /**
+     * 当前缓冲区中待处理的事件数
+     */
+    public long getPendingCount() {
+        return Math.max(0, claimSequence.get() - consumeSequence);
+    }
+    
+    public int getCapacity() {
+        return slots.length;
+    }
+    
+    /**
+     * 停止接收新事件，处理完缓冲区中剩余的事件后退出后台线程
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.exception.starter.logging;
+
+/**
+ * 错误事件接收器
+ * <p>
+ * 由 {@link ErrorEventPublisher} 的后台线程按批调用：先对批内每个事件调用 {@link #accept(ErrorEvent)}，
+ * 批结束后调用一次 {@link #flush()}。容器中的所有实现会自动注册
+ */
+public interface ErrorEventSink {
+    
+    void accept(ErrorEvent event);
+    
+    /**
+     * 一批事件处理完成
+     */
+    default void flush() {
+    }
+}
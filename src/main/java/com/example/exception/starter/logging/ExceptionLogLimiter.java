@@ -0,0 +1,242 @@
+package com.example.exception.starter.logging;
+
+import com.example.exception.starter.exception.BaseException;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 异常日志限流器
+ * <p>
+ * 按异常指纹（异常类型 + 栈顶帧）限流，同一指纹的日志使用令牌桶控制输出速率，另可按比例随机采样。
+ * 被丢弃的日志按指纹计数，每个汇总周期输出一行
+ * "Suppressed N identical exceptions in the last 10s" 的汇总日志。
+ * <p>
+ * 每个指纹有独立的令牌桶，令牌桶采用 GCRA 算法，只有一个 long 状态，通过 CAS 更新，不加锁。
+ * 指纹数有上限，超出后新指纹共用一个溢出桶；处于初始状态的桶在汇总时移除。
+ * 汇总日志由一个后台线程按汇总周期输出，{@link #close()} 时输出最后一次汇总
+ */
+public class ExceptionLogLimiter implements AutoCloseable {
+    
+    static final int MAX_FINGERPRINTS = 1024;
+    
+    private static final long UNSET = Long.MIN_VALUE;
+    
+    private static final String SUMMARY_THREAD_NAME = "exception-log-summary";
+    
+    private final Logger logger;
+    
+    /**
+     * 两次放行之间的理论间隔（纳秒）
+     */
+    private final long emissionIntervalNanos;
+    
+    /**
+     * 允许的突发容量对应的时间容差（纳秒）
+     */
+    private final long burstToleranceNanos;
+    
+    private final double sampleRate;
+    
+    private final ConcurrentMap<Fingerprint, Bucket> buckets = new ConcurrentHashMap<>();
+    
+    /**
+     * 指纹数达到上限后新指纹共用的桶
+     */
+    private final Bucket overflow = new Bucket("other exceptions");
+    
+    private final ScheduledExecutorService summaryScheduler;
+    
+    private long lastSummaryNanos;
+    
+    public ExceptionLogLimiter(Logger logger, double permitsPerSecond, int burst, double sampleRate,
+                               Duration summaryInterval) {
+        this(logger, permitsPerSecond, burst, sampleRate, summaryInterval, true);
+    }
+    
+    /**
+     * @param scheduleSummaries 是否启动后台线程按周期输出汇总，为 false 时只在调用 {@link #emitSummaries()} 时输出
+     */
+    ExceptionLogLimiter(Logger logger, double permitsPerSecond, int burst, double sampleRate,
+                        Duration summaryInterval, boolean scheduleSummaries) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.logger = logger;
+        this.emissionIntervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (Math.max(burst, 1) - 1);
+        this.sampleRate = sampleRate;
+        this.lastSummaryNanos = System.nanoTime();
+        if (scheduleSummaries) {
+            long intervalNanos = Math.max(summaryInterval.toNanos(), TimeUnit.MILLISECONDS.toNanos(1));
+            this.summaryScheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, SUMMARY_THREAD_NAME);
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.summaryScheduler.scheduleAtFixedRate(this::emitSummaries, intervalNanos, intervalNanos,
+                    TimeUnit.NANOSECONDS);
+        } else {
+            this.summaryScheduler = null;
+        }
+    }
+    
+    /**
+     * 判断该异常的日志是否可以输出，不能输出时计入对应指纹的丢弃数
+     */
+    public boolean tryAcquire(Throwable ex) {
+        Bucket bucket = bucket(ex);
+        if ((sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate)
+                && bucket.acquire(System.nanoTime(), emissionIntervalNanos, burstToleranceNanos)) {
+            return true;
+        }
+        bucket.suppressed.incrementAndGet();
+        return false;
+    }
+    
+    private Bucket bucket(Throwable ex) {
+        Fingerprint fingerprint = new Fingerprint(ex.getClass(), topFrame(ex));
+        Bucket bucket = buckets.get(fingerprint);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= MAX_FINGERPRINTS) {
+            return overflow;
+        }
+        return buckets.computeIfAbsent(fingerprint, key -> new Bucket(key.describe()));
+    }
+    
+    /**
+     * 栈顶帧；BaseException 不复制堆栈数组，其他异常随后会带完整堆栈输出，复制的开销可以忽略
+     */
+    private static StackTraceElement topFrame(Throwable ex) {
+        if (ex instanceof BaseException) {
+            return ((BaseException) ex).getTopFrame();
+        }
+        StackTraceElement[] stackTrace = ex.getStackTrace();
+        return stackTrace.length > 0 ? stackTrace[0] : null;
+    }
+    
+    /**
+     * 输出自上次汇总以来各指纹的丢弃数，并移除处于初始状态的桶
+     */
+    public synchronized void emitSummaries() {
+        long now = System.nanoTime();
+        long seconds = Math.max(1, Math.round((now - lastSummaryNanos) / 1_000_000_000.0));
+        lastSummaryNanos = now;
+        for (Map.Entry<Fingerprint, Bucket> entry : buckets.entrySet()) {
+            Bucket bucket = entry.getValue();
+            if (!emitSummary(bucket, seconds) && bucket.isIdle(now)) {
+                // 与新建的桶状态相同，移除后不影响限流结果
+                buckets.remove(entry.getKey(), bucket);
+            }
+        }
+        emitSummary(overflow, seconds);
+    }
+    
+    private boolean emitSummary(Bucket bucket, long seconds) {
+        long suppressed = bucket.suppressed.getAndSet(0);
+        if (suppressed == 0) {
+            return false;
+        }
+        logger.warn("Suppressed {} identical exceptions [{}] in the last {}s", suppressed, bucket.description, seconds);
+        return true;
+    }
+    
+    /**
+     * 停止后台汇总线程并输出最后一次汇总
+     */
+    @Override
+    public void close() {
+        if (summaryScheduler != null) {
+            summaryScheduler.shutdownNow();
+        }
+        emitSummaries();
+    }
+    
+    /**
+     * 异常类型 + 栈顶帧
+     */
+    private static final class Fingerprint {
+        
+        private final Class<?> exceptionClass;
+        private final StackTraceElement topFrame;
+        private final int hash;
+        
+        Fingerprint(Class<?> exceptionClass, StackTraceElement topFrame) {
+            this.exceptionClass = exceptionClass;
+            this.topFrame = topFrame;
+            this.hash = exceptionClass.hashCode() * 31 + Objects.hashCode(topFrame);
+        }
+        
+        String describe() {
+            return topFrame != null ? exceptionClass.getName() + " at " + topFrame : exceptionClass.getName();
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Fingerprint)) {
+                return false;
+            }
+            Fingerprint other = (Fingerprint) o;
+            return exceptionClass == other.exceptionClass && Objects.equals(topFrame, other.topFrame);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+    
+    /**
+     * 单个指纹的令牌桶与丢弃计数
+     */
+    private static final class Bucket {
+        
+        private final String description;
+        
+        /**
+         * 理论到达时间（GCRA 状态）
+         */
+        private final AtomicLong theoreticalArrival = new AtomicLong(UNSET);
+        
+        private final AtomicLong suppressed = new AtomicLong();
+        
+        Bucket(String description) {
+            this.description = description;
+        }
+        
+        boolean acquire(long now, long emissionIntervalNanos, long burstToleranceNanos) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long base = tat == UNSET || tat - now < 0 ? now : tat;
+                if (base - now > burstToleranceNanos) {
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(tat, base + emissionIntervalNanos)) {
+                    return true;
+                }
+            }
+        }
+        
+        /**
+         * 令牌已全部恢复且没有未汇总的丢弃数
+         */
+        boolean isIdle(long now) {
+            long tat = theoreticalArrival.get();
+            return (tat == UNSET || tat - now <= 0) && suppressed.get() == 0;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.exception.starter.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+/**
+ * 输出异常日志的错误事件接收器，日志格式与同步模式一致；
+ * 事件带有追踪 ID 时，输出期间在后台线程的 MDC 中写入该 ID
+ */
+public class LoggingErrorEventSink implements ErrorEventSink {
+    
+    private final Logger logger;
+    
+    private final String mdcKey;
+    
+    public LoggingErrorEventSink(Logger logger) {
+        this(logger, null);
+    }
+    
+    /**
+     * @param mdcKey 追踪 ID 写入 MDC 的键，为 null 时不写入
+     */
+    public LoggingErrorEventSink(Logger logger, String mdcKey) {
+        this.logger = logger;
+        this.mdcKey = mdcKey;
+    }
+    
+    @Override
+    public void accept(ErrorEvent event) {
+        String traceId = event.getTraceId();
+        if (traceId == null) {
+            log(event, event.getPath());
+            return;
+        }
+        if (mdcKey != null) {
+            MDC.put(mdcKey, traceId);
+        }
+        try {
+            log(event, event.getPath() + " [" + traceId + "]");
+        } finally {
+            if (mdcKey != null) {
+                MDC.remove(mdcKey);
+            }
+        }
+    }
+    
+    private void log(ErrorEvent event, String location) {
+        Throwable ex = event.getException();
+        if (event.isWarning()) {
+            logger.warn("{} - [{}] {}: {}", event.getDescription(), event.getMethod(), location, ex.getMessage());
+        } else {
+            logger.error("{} - [{}] {}: {}", event.getDescription(), event.getMethod(), location, ex.getMessage(), ex);
+        }
+    }
+}
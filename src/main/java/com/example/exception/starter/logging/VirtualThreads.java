@@ -0,0 +1,85 @@
+package com.example.exception.starter.logging;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * 虚拟线程支持
+ * <p>
+ * 项目以 Java 17 为编译目标，虚拟线程相关 API（JDK 21+）通过 MethodHandle 调用；
+ * 运行时不支持虚拟线程时 {@link #isSupported()} 返回 false
+ */
+public final class VirtualThreads {
+    
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle BUILDER_NAME;
+    private static final MethodHandle BUILDER_FACTORY;
+    private static final MethodHandle IS_VIRTUAL;
+    
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle builderName = null;
+        MethodHandle builderFactory = null;
+        MethodHandle isVirtual = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Class<?> virtualBuilderClass = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(virtualBuilderClass));
+            builderName = lookup.findVirtual(builderClass, "name", MethodType.methodType(builderClass, String.class));
+            builderFactory = lookup.findVirtual(builderClass, "factory", MethodType.methodType(ThreadFactory.class));
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException ex) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        IS_VIRTUAL = isVirtual;
+    }
+    
+    private VirtualThreads() {
+    }
+    
+    /**
+     * 当前运行时是否支持虚拟线程
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+    
+    /**
+     * 创建以 name 命名虚拟线程的线程工厂
+     *
+     * @throws UnsupportedOperationException 运行时不支持虚拟线程
+     */
+    public static ThreadFactory factory(String name) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require JDK 21+, running on "
+                    + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke();
+            builder = BUILDER_NAME.invoke(builder, name);
+            return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+        } catch (Throwable ex) {
+            throw new IllegalStateException("Cannot create virtual thread factory", ex);
+        }
+    }
+    
+    /**
+     * 线程是否为虚拟线程，运行时不支持虚拟线程时总是返回 false
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invoke(thread);
+        } catch (Throwable ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.exception.starter.mapping;
+
+import com.example.exception.starter.enums.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+/**
+ * 异常类型到错误码与 HTTP 状态的映射
+ */
+public final class ExceptionMapping {
+    
+    private final ErrorCode errorCode;
+    private final HttpStatus status;
+    
+    public ExceptionMapping(ErrorCode errorCode, HttpStatus status) {
+        this.errorCode = errorCode;
+        this.status = status;
+    }
+    
+    public ErrorCode getErrorCode() {
+        return errorCode;
+    }
+    
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
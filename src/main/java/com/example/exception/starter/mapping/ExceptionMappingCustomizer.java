@@ -0,0 +1,10 @@
+package com.example.exception.starter.mapping;
+
+/**
+ * 异常映射定制器，容器中的所有实现会在创建 {@link ExceptionMappingRegistry} 时按顺序调用
+ */
+@FunctionalInterface
+public interface ExceptionMappingCustomizer {
+    
+    void customize(ExceptionMappingRegistry registry);
+}
@@ -0,0 +1,107 @@
+package com.example.exception.starter.mapping;
+
+import com.example.exception.starter.enums.ErrorCode;
+import org.springframework.http.HttpStatus;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * 异常映射注册表
+ * <p>
+ * 应用可以把自定义异常类型映射到错误码和 HTTP 状态，无需再编写 @ExceptionHandler 方法；
+ * 也可以登记包装类型，处理时沿 cause 链解开后再匹配。
+ * 每个异常类的查找结果（沿继承链找到的最近映射，或者是否为包装类型）通过 {@link ClassValue} 缓存，
+ * 继承链只在该类第一次出现时遍历一次，之后的查找为 O(1)。注册新的映射会丢弃全部缓存
+ */
+public class ExceptionMappingRegistry {
+    
+    /**
+     * 解开包装异常时最多展开的层数，防止 cause 链成环
+     */
+    private static final int MAX_UNWRAP_DEPTH = 16;
+    
+    private static final Object NONE = new Object();
+    private static final Object WRAPPER = new Object();
+    
+    private final Map<Class<?>, Object> registrations = new ConcurrentHashMap<>();
+    
+    private volatile ClassValue<Object> cache = newCache();
+    
+    public ExceptionMappingRegistry() {
+        registerWrapper(UndeclaredThrowableException.class);
+        registerWrapper(InvocationTargetException.class);
+        registerWrapper(CompletionException.class);
+        registerWrapper(ExecutionException.class);
+    }
+    
+    /**
+     * 把异常类型（及其子类）映射到错误码和 HTTP 状态
+     */
+    public ExceptionMappingRegistry register(Class<? extends Throwable> exceptionType, ErrorCode errorCode,
+                                             HttpStatus status) {
+        registrations.put(exceptionType, new ExceptionMapping(errorCode, status));
+        cache = newCache();
+        return this;
+    }
+    
+    /**
+     * 把异常类型（及其子类）映射到错误码，HTTP 状态取错误码携带的状态
+     */
+    public ExceptionMappingRegistry register(Class<? extends Throwable> exceptionType, ErrorCode errorCode) {
+        HttpStatus status = HttpStatus.resolve(errorCode.getHttpStatus());
+        return register(exceptionType, errorCode, status != null ? status : HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+    
+    /**
+     * 登记包装异常类型（及其子类），匹配前先取其 cause
+     */
+    public ExceptionMappingRegistry registerWrapper(Class<? extends Throwable> wrapperType) {
+        registrations.put(wrapperType, WRAPPER);
+        cache = newCache();
+        return this;
+    }
+    
+    /**
+     * 沿 cause 链解开已登记的包装异常，返回第一个不是包装类型的异常；cause 为空时返回包装异常本身
+     */
+    public Throwable unwrap(Throwable ex) {
+        ClassValue<Object> current = cache;
+        Throwable result = ex;
+        for (int depth = 0; depth < MAX_UNWRAP_DEPTH; depth++) {
+            Throwable cause = result.getCause();
+            if (current.get(result.getClass()) != WRAPPER || cause == null) {
+                break;
+            }
+            result = cause;
+        }
+        return result;
+    }
+    
+    /**
+     * 查找异常类型的映射，沿继承链取最近的已注册类型，没有映射时返回 null
+     */
+    public ExceptionMapping getMapping(Class<? extends Throwable> exceptionType) {
+        Object resolved = cache.get(exceptionType);
+        return resolved instanceof ExceptionMapping ? (ExceptionMapping) resolved : null;
+    }
+    
+    private ClassValue<Object> newCache() {
+        return new ClassValue<Object>() {
+            @Override
+            protected Object computeValue(Class<?> type) {
+                for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                    Object registration = registrations.get(current);
+                    if (registration != null) {
+                        return registration;
+                    }
+                }
+                return NONE;
+            }
+        };
+    }
+}
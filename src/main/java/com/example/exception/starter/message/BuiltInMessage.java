@@ -0,0 +1,32 @@
+package com.example.exception.starter.message;
+
+/**
+ * 异常处理器内置的带参数消息
+ * 开启国际化时消息键为前缀加 {@link #getName()}，例如 error.method-not-supported
+ */
+public enum BuiltInMessage {
+    
+    METHOD_NOT_SUPPORTED("method-not-supported", "请求方法 '{0}' 不被支持，支持的方法: {1}"),
+    MISSING_PARAMETER("missing-parameter", "缺少必需的请求参数: {0}"),
+    MISSING_PART("missing-part", "缺少文件上传参数: {0}"),
+    NOT_FOUND("not-found", "请求的资源 '{0}' 不存在");
+    
+    private final String name;
+    private final MessageTemplate template;
+    
+    BuiltInMessage(String name, String pattern) {
+        this.name = name;
+        this.template = MessageTemplate.compile(pattern);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    /**
+     * 默认（中文）模板
+     */
+    public MessageTemplate getTemplate() {
+        return template;
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.exception.starter.message;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+import org.springframework.context.MessageSource;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 通过 MessageSource 解析本地化的错误消息
+ * <p>
+ * 消息键为前缀加错误码数值（如 error.2001）或内置消息名（如 error.method-not-supported），
+ * 资源文件中的消息按 {@link MessageTemplate} 的占位符语法编译，缺少该键时使用默认的中文模板。
+ * (键, 语言) 到编译结果的映射按语言分组缓存，命中时不访问 MessageSource；
+ * 缓存条目数有上限，超出后每次直接解析。设置刷新间隔时，超过间隔后的第一次访问清空缓存，
+ * 与可重载资源文件的 cache-duration 保持一致
+ */
+public class LocalizedMessageResolver {
+    
+    private final MessageSource messageSource;
+    private final String keyPrefix;
+    private final int maxEntries;
+    private final long refreshIntervalNanos;
+    
+    private final ErrorCodeRegistry errorCodes;
+    
+    /**
+     * 按注册表下标排列的错误码消息名，避免每次拼接
+     */
+    private final String[] codeNames;
+    
+    private final ConcurrentMap<Locale, ConcurrentMap<String, MessageTemplate>> cache = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile long expiresAtNanos;
+    
+    /**
+     * 只预先分配内置错误码的消息名
+     */
+    public LocalizedMessageResolver(MessageSource messageSource, String keyPrefix, int maxEntries,
+                                    Duration refreshInterval) {
+        this(messageSource, ErrorCodeRegistry.builtIn(), keyPrefix, maxEntries, refreshInterval);
+    }
+    
+    /**
+     * @param refreshInterval 缓存清空间隔，为 null 或 0 时不过期
+     */
+    public LocalizedMessageResolver(MessageSource messageSource, ErrorCodeRegistry errorCodes, String keyPrefix,
+                                    int maxEntries, Duration refreshInterval) {
+        this.messageSource = messageSource;
+        this.errorCodes = errorCodes;
+        this.keyPrefix = keyPrefix != null ? keyPrefix : "";
+        this.maxEntries = maxEntries;
+        this.refreshIntervalNanos = refreshInterval != null ? refreshInterval.toNanos() : 0;
+        this.codeNames = new String[errorCodes.size()];
+        for (ErrorCode errorCode : errorCodes.getErrorCodes()) {
+            codeNames[errorCodes.indexOf(errorCode)] = Integer.toString(errorCode.getCode());
+        }
+        this.expiresAtNanos = System.nanoTime() + refreshIntervalNanos;
+    }
+    
+    /**
+     * 错误码消息，args 填充占位符
+     */
+    public String getMessage(ErrorCode errorCode, Object[] args, Locale locale) {
+        int index = errorCodes.indexOf(errorCode);
+        String name = index >= 0 ? codeNames[index] : Integer.toString(errorCode.getCode());
+        return getTemplate(name, errorCode.getMessage(), null, locale).render(args);
+    }
+    
+    /**
+     * 内置消息，args 填充占位符
+     */
+    public String getMessage(BuiltInMessage message, Locale locale, Object... args) {
+        return getTemplate(message.getName(), null, message.getTemplate(), locale).render(args);
+    }
+    
+    /**
+     * 预先解析指定语言的全部错误码消息和内置消息
+     */
+    public void warmUp(Collection<Locale> locales) {
+        for (Locale locale : locales) {
+            for (ErrorCode errorCode : errorCodes.getErrorCodes()) {
+                getMessage(errorCode, null, locale);
+            }
+            for (BuiltInMessage message : BuiltInMessage.values()) {
+                getTemplate(message.getName(), null, message.getTemplate(), locale);
+            }
+        }
+    }
+    
+    /**
+     * 清空缓存，资源文件被手动重载后调用
+     */
+    public void invalidate() {
+        cache.clear();
+        size.set(0);
+        expiresAtNanos = System.nanoTime() + refreshIntervalNanos;
+    }
+    
+    /**
+     * 当前缓存的条目数
+     */
+    public int size() {
+        return size.get();
+    }
+    
+    /**
+     * defaultPattern 与 defaultTemplate 二选一，前者只在未命中缓存时编译
+     */
+    private MessageTemplate getTemplate(String name, String defaultPattern, MessageTemplate defaultTemplate,
+                                        Locale locale) {
+        if (refreshIntervalNanos > 0 && System.nanoTime() - expiresAtNanos >= 0) {
+            invalidate();
+        }
+        ConcurrentMap<String, MessageTemplate> templates = cache.get(locale);
+        if (templates != null) {
+            MessageTemplate template = templates.get(name);
+            if (template != null) {
+                return template;
+            }
+        }
+        
+        MessageTemplate template = resolve(name, defaultPattern, defaultTemplate, locale);
+        if (size.get() < maxEntries) {
+            if (templates == null) {
+                templates = cache.computeIfAbsent(locale, key -> new ConcurrentHashMap<>());
+            }
+            if (templates.putIfAbsent(name, template) == null) {
+                size.incrementAndGet();
+            }
+        }
+        return template;
+    }
+    
+    private MessageTemplate resolve(String name, String defaultPattern, MessageTemplate defaultTemplate,
+                                    Locale locale) {
+        String key = keyPrefix + name;
+        // args 为 null 时 MessageSource 返回未经 MessageFormat 处理的原文，缺少该键时返回 null
+        String pattern = messageSource.getMessage(key, null, null, locale);
+        if (pattern == null || pattern.equals(key)) {
+            return defaultTemplate != null ? defaultTemplate : MessageTemplate.of(defaultPattern);
+        }
+        return MessageTemplate.compile(pattern);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.exception.starter.message;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 预编译的消息模板
+ * <p>
+ * 占位符为 {0}、{1} 形式的参数下标。模板只解析一次，编译为文本段与参数下标交替的数组，
+ * 渲染时用一个预估容量的 StringBuilder 依次追加，不经过 String.format 的格式串解析。
+ * 与 MessageFormat 不同，单引号按普通字符处理，也不支持 {0,number} 这类格式类型；
+ * 不是合法占位符的花括号、没有对应参数的占位符按原文输出
+ */
+public final class MessageTemplate {
+    
+    private static final int MAX_CACHED_TEMPLATES = 1024;
+    private static final int ESTIMATED_ARG_LENGTH = 16;
+    
+    private static final ConcurrentMap<String, MessageTemplate> CACHE = new ConcurrentHashMap<>();
+    
+    private final String pattern;
+    
+    /**
+     * 文本段，literals[i] 之后紧跟参数 argIndexes[i]，最后一段之后没有参数
+     */
+    private final String[] literals;
+    private final int[] argIndexes;
+    private final int literalLength;
+    
+    private MessageTemplate(String pattern, String[] literals, int[] argIndexes) {
+        this.pattern = pattern;
+        this.literals = literals;
+        this.argIndexes = argIndexes;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+    
+    /**
+     * 取缓存的编译结果，缓存已满时编译后不缓存
+     */
+    public static MessageTemplate of(String pattern) {
+        MessageTemplate template = CACHE.get(pattern);
+        if (template != null) {
+            return template;
+        }
+        template = compile(pattern);
+        if (CACHE.size() < MAX_CACHED_TEMPLATES) {
+            MessageTemplate existing = CACHE.putIfAbsent(pattern, template);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return template;
+    }
+    
+    /**
+     * 按缓存的模板渲染，没有参数时直接返回原文
+     */
+    public static String format(String pattern, Object... args) {
+        if (pattern == null || args == null || args.length == 0) {
+            return pattern;
+        }
+        return of(pattern).render(args);
+    }
+    
+    /**
+     * 编译模板，不经过缓存
+     */
+    public static MessageTemplate compile(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> argIndexes = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int length = pattern.length();
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            int close = c == '{' ? placeholderEnd(pattern, i + 1) : -1;
+            if (close < 0) {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            literals.add(literal.toString());
+            literal.setLength(0);
+            argIndexes.add(Integer.parseInt(pattern, i + 1, close, 10));
+            i = close + 1;
+        }
+        literals.add(literal.toString());
+        int[] indexes = new int[argIndexes.size()];
+        for (int k = 0; k < indexes.length; k++) {
+            indexes[k] = argIndexes.get(k);
+        }
+        return new MessageTemplate(pattern, literals.toArray(new String[0]), indexes);
+    }
+    
+    /**
+     * 返回 start 开始的数字之后右花括号的位置，不是合法占位符时返回 -1
+     */
+    private static int placeholderEnd(String pattern, int start) {
+        int i = start;
+        // 下标最多 4 位，避免溢出
+        while (i < pattern.length() && i - start < 4 && pattern.charAt(i) >= '0' && pattern.charAt(i) <= '9') {
+            i++;
+        }
+        if (i == start || i >= pattern.length() || pattern.charAt(i) != '}') {
+            return -1;
+        }
+        return i;
+    }
+    
+    /**
+     * 是否包含占位符
+     */
+    public boolean hasPlaceholders() {
+        return argIndexes.length > 0;
+    }
+    
+    public String getPattern() {
+        return pattern;
+    }
+    
+    public String render(Object... args) {
+        if (argIndexes.length == 0) {
+            return pattern;
+        }
+        StringBuilder builder = new StringBuilder(literalLength + argIndexes.length * ESTIMATED_ARG_LENGTH);
+        appendTo(builder, args);
+        return builder.toString();
+    }
+    
+    public void appendTo(StringBuilder builder, Object... args) {
+        for (int i = 0; i < argIndexes.length; i++) {
+            builder.append(literals[i]);
+            int index = argIndexes[i];
+            if (args != null && index < args.length) {
+                appendArg(builder, args[index]);
+            } else {
+                builder.append('{').append(index).append('}');
+            }
+        }
+        builder.append(literals[argIndexes.length]);
+    }
+    
+    private static void appendArg(StringBuilder builder, Object arg) {
+        if (arg instanceof Object[]) {
+            builder.append(Arrays.toString((Object[]) arg));
+        } else {
+            builder.append(arg);
+        }
+    }
+}
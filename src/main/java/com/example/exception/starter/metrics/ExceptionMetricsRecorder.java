@@ -0,0 +1,185 @@
+package com.example.exception.starter.metrics;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+import com.example.exception.starter.handler.ExceptionHandledListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 异常处理指标记录器
+ * <ul>
+ *     <li>{@value #HANDLED_METRIC}：按错误码、异常类型、请求方法与路由模板计数</li>
+ *     <li>{@value #DURATION_METRIC}：按错误码统计处理方法耗时</li>
+ * </ul>
+ * 标签基数有上限：uri 使用路由模板而非原始路径，异常类型与路由模板超过上限后归入 OTHER。
+ * 耗时计时器在启动时按注册表中的错误码预先注册，计数器在某个标签组合第一次出现时注册并缓存，
+ * 之后记录只做已有键的查找，不产生分配
+ */
+public class ExceptionMetricsRecorder implements ExceptionHandledListener {
+    
+    public static final String HANDLED_METRIC = "exception.handler.handled";
+    public static final String DURATION_METRIC = "exception.handler.duration";
+    
+    static final String OTHER = "OTHER";
+    static final String UNKNOWN = "UNKNOWN";
+    static final String NOT_FOUND = "NOT_FOUND";
+    
+    private final MeterRegistry registry;
+    private final int maxExceptionTypes;
+    private final int maxUris;
+    
+    private final ErrorCodeRegistry errorCodes;
+    private final CodeMeters[] codeMeters;
+    
+    /**
+     * 未注册到注册表的错误码实例
+     */
+    private final ConcurrentMap<ErrorCode, CodeMeters> unregisteredCodeMeters = new ConcurrentHashMap<>();
+    
+    private final ConcurrentMap<Class<?>, String> exceptionTags = new ConcurrentHashMap<>();
+    private final AtomicInteger exceptionTypeCount = new AtomicInteger();
+    private final ConcurrentMap<String, String> uriTags = new ConcurrentHashMap<>();
+    private final AtomicInteger uriCount = new AtomicInteger();
+    
+    public ExceptionMetricsRecorder(MeterRegistry registry, int maxExceptionTypes, int maxUris) {
+        this(registry, ErrorCodeRegistry.builtIn(), maxExceptionTypes, maxUris);
+    }
+    
+    public ExceptionMetricsRecorder(MeterRegistry registry, ErrorCodeRegistry errorCodes,
+                                    int maxExceptionTypes, int maxUris) {
+        this.registry = registry;
+        this.errorCodes = errorCodes;
+        this.maxExceptionTypes = maxExceptionTypes;
+        this.maxUris = maxUris;
+        
+        this.codeMeters = new CodeMeters[errorCodes.size()];
+        for (ErrorCode errorCode : errorCodes.getErrorCodes()) {
+            codeMeters[errorCodes.indexOf(errorCode)] = new CodeMeters(errorCode);
+        }
+    }
+    
+    @Override
+    public void onExceptionHandled(Throwable exception, ErrorCode errorCode, int status,
+                                   String method, String path, String pathPattern, long durationNanos) {
+        int index = errorCodes.indexOf(errorCode);
+        CodeMeters meters = index >= 0 ? codeMeters[index]
+                : unregisteredCodeMeters.computeIfAbsent(errorCode, CodeMeters::new);
+        meters.timer.record(durationNanos, TimeUnit.NANOSECONDS);
+        meters.counter(exception.getClass(), methodTag(method), uriTag(pathPattern, status)).increment();
+    }
+    
+    private String exceptionTag(Class<?> exceptionClass) {
+        String tag = exceptionTags.get(exceptionClass);
+        if (tag != null) {
+            return tag;
+        }
+        return exceptionTags.computeIfAbsent(exceptionClass, clazz -> {
+            if (exceptionTypeCount.incrementAndGet() > maxExceptionTypes) {
+                return OTHER;
+            }
+            String simpleName = clazz.getSimpleName();
+            return simpleName.isEmpty() ? clazz.getName() : simpleName;
+        });
+    }
+    
+    private String uriTag(String pathPattern, int status) {
+        if (pathPattern == null) {
+            return status == 404 ? NOT_FOUND : UNKNOWN;
+        }
+        String tag = uriTags.get(pathPattern);
+        if (tag != null) {
+            return tag;
+        }
+        return uriTags.computeIfAbsent(pathPattern, pattern -> uriCount.incrementAndGet() > maxUris ? OTHER : pattern);
+    }
+    
+    /**
+     * 非标准的请求方法归入 OTHER，避免客户端任意构造标签值
+     */
+    private static String methodTag(String method) {
+        if (method == null) {
+            return UNKNOWN;
+        }
+        switch (method) {
+            case "GET":
+            case "HEAD":
+            case "POST":
+            case "PUT":
+            case "PATCH":
+            case "DELETE":
+            case "OPTIONS":
+            case "TRACE":
+                return method;
+            default:
+                return OTHER;
+        }
+    }
+    
+    /**
+     * 单个错误码的耗时计时器与计数器：异常类型 → 请求方法 → 路由模板
+     */
+    private final class CodeMeters {
+        
+        private final ErrorCode errorCode;
+        private final String codeTag;
+        private final Timer timer;
+        private final ConcurrentMap<Class<?>, ExceptionTypeMeters> byException = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, ExceptionTypeMeters> byExceptionTag = new ConcurrentHashMap<>();
+        
+        private CodeMeters(ErrorCode errorCode) {
+            this.errorCode = errorCode;
+            this.codeTag = String.valueOf(errorCode.getCode());
+            this.timer = Timer.builder(DURATION_METRIC)
+                    .description("Time spent in the global exception handler")
+                    .tag("code", codeTag)
+                    .tag("error", errorCode.name())
+                    .register(registry);
+        }
+        
+        private Counter counter(Class<?> exceptionClass, String method, String uri) {
+            ExceptionTypeMeters meters = byException.get(exceptionClass);
+            if (meters == null) {
+                // 归入 OTHER 的异常类型共用同一组计数器
+                meters = byException.computeIfAbsent(exceptionClass, clazz ->
+                        byExceptionTag.computeIfAbsent(exceptionTag(clazz), ExceptionTypeMeters::new));
+            }
+            return meters.counter(method, uri);
+        }
+        
+        private final class ExceptionTypeMeters {
+            
+            private final String exceptionTag;
+            private final ConcurrentMap<String, ConcurrentMap<String, Counter>> byMethod = new ConcurrentHashMap<>();
+            
+            private ExceptionTypeMeters(String exceptionTag) {
+                this.exceptionTag = exceptionTag;
+            }
+            
+            private Counter counter(String method, String uri) {
+                ConcurrentMap<String, Counter> byUri = byMethod.get(method);
+                if (byUri == null) {
+                    byUri = byMethod.computeIfAbsent(method, key -> new ConcurrentHashMap<>());
+                }
+                Counter counter = byUri.get(uri);
+                if (counter == null) {
+                    counter = byUri.computeIfAbsent(uri, key -> Counter.builder(HANDLED_METRIC)
+                            .description("Exceptions handled by the global exception handler")
+                            .tag("code", codeTag)
+                            .tag("error", errorCode.name())
+                            .tag("exception", exceptionTag)
+                            .tag("method", method)
+                            .tag("uri", key)
+                            .register(registry));
+                }
+                return counter;
+            }
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package com.example.exception.starter.model;
 
-import com.fasterxml.jackson.annotation.JsonFormat;
+import com.example.exception.starter.time.ErrorTimestampClock;
+import com.example.exception.starter.time.ErrorTimestampDeserializer;
+import com.example.exception.starter.time.ErrorTimestampSerializer;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -33,18 +40,33 @@ public class ErrorResponse {
     private String path;
     
     /**
-     * 时间戳
+     * 追踪 ID，用于关联客户端报告与服务端日志
      */
-    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
-    private LocalDateTime timestamp;
+    private String traceId;
+    
+    /**
+     * 时间戳（毫秒），输出时按 {@link ErrorTimestampClock} 配置的格式转换
+     */
+    private Long timestampMillis;
     
     /**
      * 字段验证错误详情
      */
     private List<FieldError> fieldErrors;
     
+    /**
+     * 超出上限未列出的字段错误数量，没有省略时为 null
+     */
+    private Integer omittedFieldErrors;
+    
+    /**
+     * HTTP 状态码，只在输出 Problem Details 时写出
+     */
+    @JsonIgnore
+    private Integer status;
+    
     public ErrorResponse() {
-        this.timestamp = LocalDateTime.now();
+        this.timestampMillis = ErrorTimestampClock.current().millis();
     }
     
     public ErrorResponse(Integer code, String message) {
@@ -96,12 +118,44 @@ public class ErrorResponse {
         this.path = path;
     }
     
+    public String getTraceId() {
+        return traceId;
+    }
+    
+    public void setTraceId(String traceId) {
+        this.traceId = traceId;
+    }
+    
+    /**
+     * 时间戳，按 {@link ErrorTimestampClock} 的时区转换为本地时间
+     */
+    @JsonIgnore
     public LocalDateTime getTimestamp() {
-        return timestamp;
+        return timestampMillis != null
+                ? LocalDateTime.ofInstant(Instant.ofEpochMilli(timestampMillis), ErrorTimestampClock.current().getZone())
+                : null;
     }
     
+    @JsonIgnore
     public void setTimestamp(LocalDateTime timestamp) {
-        this.timestamp = timestamp;
+        this.timestampMillis = timestamp != null
+                ? timestamp.atZone(ErrorTimestampClock.current().getZone()).toInstant().toEpochMilli()
+                : null;
+    }
+    
+    /**
+     * JSON 中的 timestamp 字段，读取时接受三种输出格式
+     */
+    @JsonProperty("timestamp")
+    @JsonSerialize(using = ErrorTimestampSerializer.class)
+    public Long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    @JsonProperty("timestamp")
+    @JsonDeserialize(using = ErrorTimestampDeserializer.class)
+    public void setTimestampMillis(Long timestampMillis) {
+        this.timestampMillis = timestampMillis;
     }
     
     public List<FieldError> getFieldErrors() {
@@ -112,6 +166,22 @@ public class ErrorResponse {
         this.fieldErrors = fieldErrors;
     }
     
+    public Integer getOmittedFieldErrors() {
+        return omittedFieldErrors;
+    }
+    
+    public void setOmittedFieldErrors(Integer omittedFieldErrors) {
+        this.omittedFieldErrors = omittedFieldErrors;
+    }
+    
+    public Integer getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+    
     /**
      * 字段错误详情
      */
@@ -1,6 +1,22 @@
 package com.example.exception.starter.properties;
 
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.exception.StackTracePolicy;
+import com.example.exception.starter.logging.ErrorEventPublisher;
+import com.example.exception.starter.stacktrace.StackTraceRenderer;
+import com.example.exception.starter.status.ErrorStatusPolicy;
+import com.example.exception.starter.time.ErrorTimestampClock;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 /**
  * 异常处理器配置属性
@@ -38,6 +54,91 @@ public class ExceptionHandlerProperties {
      */
     private LogLevel logLevel = new LogLevel();
     
+    /**
+     * 无堆栈异常配置
+     */
+    private Stackless stackless = new Stackless();
+    
+    /**
+     * 错误响应序列化配置
+     */
+    private Serialization serialization = new Serialization();
+    
+    /**
+     * 异常指标配置
+     */
+    private Metrics metrics = new Metrics();
+    
+    /**
+     * 异常日志限流配置
+     */
+    private LogRateLimit logRateLimit = new LogRateLimit();
+    
+    /**
+     * 异常指纹聚合配置
+     */
+    private Fingerprint fingerprint = new Fingerprint();
+    
+    /**
+     * 异步错误事件配置
+     */
+    private AsyncEvents asyncEvents = new AsyncEvents();
+    
+    /**
+     * 堆栈捕获与渲染配置
+     */
+    private StackTrace stackTrace = new StackTrace();
+    
+    /**
+     * 虚拟线程模式配置
+     */
+    private VirtualThreads virtualThreads = new VirtualThreads();
+    
+    /**
+     * 负载卸载配置
+     */
+    private LoadShedding loadShedding = new LoadShedding();
+    
+    /**
+     * Problem Details 输出配置
+     */
+    private ProblemDetails problemDetails = new ProblemDetails();
+    
+    /**
+     * 字段验证错误配置
+     */
+    private FieldErrors fieldErrors = new FieldErrors();
+    
+    /**
+     * 错误消息国际化配置
+     */
+    private I18n i18n = new I18n();
+    
+    /**
+     * HTTP 状态映射配置
+     */
+    private StatusMapping statusMapping = new StatusMapping();
+    
+    /**
+     * 本地错误日志配置
+     */
+    private Journal journal = new Journal();
+    
+    /**
+     * 追踪 ID 配置
+     */
+    private Trace trace = new Trace();
+    
+    /**
+     * 错误响应时间戳配置
+     */
+    private Timestamp timestamp = new Timestamp();
+    
+    /**
+     * 按错误码或请求路径覆盖 include-stack-trace、enable-logging 等配置，按顺序使用第一条匹配的规则
+     */
+    private List<HandlerOverride> overrides = new ArrayList<>();
+    
     public boolean isEnabled() {
         return enabled;
     }
@@ -86,6 +187,142 @@ public class ExceptionHandlerProperties {
         this.logLevel = logLevel;
     }
     
+    public Stackless getStackless() {
+        return stackless;
+    }
+    
+    public void setStackless(Stackless stackless) {
+        this.stackless = stackless;
+    }
+    
+    public Serialization getSerialization() {
+        return serialization;
+    }
+    
+    public void setSerialization(Serialization serialization) {
+        this.serialization = serialization;
+    }
+    
+    public Metrics getMetrics() {
+        return metrics;
+    }
+    
+    public void setMetrics(Metrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    public LogRateLimit getLogRateLimit() {
+        return logRateLimit;
+    }
+    
+    public void setLogRateLimit(LogRateLimit logRateLimit) {
+        this.logRateLimit = logRateLimit;
+    }
+    
+    public Fingerprint getFingerprint() {
+        return fingerprint;
+    }
+    
+    public void setFingerprint(Fingerprint fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+    
+    public AsyncEvents getAsyncEvents() {
+        return asyncEvents;
+    }
+    
+    public void setAsyncEvents(AsyncEvents asyncEvents) {
+        this.asyncEvents = asyncEvents;
+    }
+    
+    public StackTrace getStackTrace() {
+        return stackTrace;
+    }
+    
+    public void setStackTrace(StackTrace stackTrace) {
+        this.stackTrace = stackTrace;
+    }
+    
+    public VirtualThreads getVirtualThreads() {
+        return virtualThreads;
+    }
+    
+    public void setVirtualThreads(VirtualThreads virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+    
+    public LoadShedding getLoadShedding() {
+        return loadShedding;
+    }
+    
+    public void setLoadShedding(LoadShedding loadShedding) {
+        this.loadShedding = loadShedding;
+    }
+    
+    public ProblemDetails getProblemDetails() {
+        return problemDetails;
+    }
+    
+    public void setProblemDetails(ProblemDetails problemDetails) {
+        this.problemDetails = problemDetails;
+    }
+    
+    public FieldErrors getFieldErrors() {
+        return fieldErrors;
+    }
+    
+    public void setFieldErrors(FieldErrors fieldErrors) {
+        this.fieldErrors = fieldErrors;
+    }
+    
+    public I18n getI18n() {
+        return i18n;
+    }
+    
+    public void setI18n(I18n i18n) {
+        this.i18n = i18n;
+    }
+    
+    public StatusMapping getStatusMapping() {
+        return statusMapping;
+    }
+    
+    public void setStatusMapping(StatusMapping statusMapping) {
+        this.statusMapping = statusMapping;
+    }
+    
+    public Journal getJournal() {
+        return journal;
+    }
+    
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+    
+    public Trace getTrace() {
+        return trace;
+    }
+    
+    public void setTrace(Trace trace) {
+        this.trace = trace;
+    }
+    
+    public Timestamp getTimestamp() {
+        return timestamp;
+    }
+    
+    public void setTimestamp(Timestamp timestamp) {
+        this.timestamp = timestamp;
+    }
+    
+    public List<HandlerOverride> getOverrides() {
+        return overrides;
+    }
+    
+    public void setOverrides(List<HandlerOverride> overrides) {
+        this.overrides = overrides;
+    }
+    
     /**
      * 日志级别配置
      */
@@ -130,4 +367,1017 @@ public class ExceptionHandlerProperties {
             this.validation = validation;
         }
     }
+    
+    /**
+     * 无堆栈异常配置
+     */
+    public static class Stackless {
+        
+        /**
+         * 是否对所有 BaseException 关闭堆栈填充
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 单独关闭堆栈填充的错误码，取值为错误码名称或数字错误码
+         */
+        private List<String> errorCodes = new ArrayList<>();
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public List<String> getErrorCodes() {
+            return errorCodes;
+        }
+        
+        public void setErrorCodes(List<String> errorCodes) {
+            this.errorCodes = errorCodes;
+        }
+    }
+    
+    /**
+     * 错误响应序列化配置
+     */
+    public static class Serialization {
+        
+        /**
+         * 是否启用内置的流式错误响应写出器，绕过 Jackson 反射序列化；
+         * 写出器使用固定的字段名，不支持应用 ObjectMapper 的命名策略、mixin 等定制，默认关闭
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 每个线程复用的写出缓冲区大小（字节），写满后直接刷出到响应流
+         */
+        private int bufferSize = 8192;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getBufferSize() {
+            return bufferSize;
+        }
+        
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+    }
+    
+    /**
+     * 异常指标配置，需要类路径中存在 Micrometer
+     */
+    public static class Metrics {
+        
+        /**
+         * 是否记录异常处理指标
+         */
+        private boolean enabled = true;
+        
+        /**
+         * exception 标签的最大取值数，超出后归入 OTHER
+         */
+        private int maxExceptionTypes = 50;
+        
+        /**
+         * uri 标签的最大取值数，超出后归入 OTHER
+         */
+        private int maxUris = 200;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getMaxExceptionTypes() {
+            return maxExceptionTypes;
+        }
+        
+        public void setMaxExceptionTypes(int maxExceptionTypes) {
+            this.maxExceptionTypes = maxExceptionTypes;
+        }
+        
+        public int getMaxUris() {
+            return maxUris;
+        }
+        
+        public void setMaxUris(int maxUris) {
+            this.maxUris = maxUris;
+        }
+    }
+    
+    /**
+     * 异常日志限流配置
+     */
+    public static class LogRateLimit {
+        
+        /**
+         * 是否对异常日志限流，关闭时每个异常都输出日志
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 同一异常指纹（异常类型 + 栈顶帧）每秒允许输出的日志数
+         */
+        private double permitsPerSecond = 1.0;
+        
+        /**
+         * 同一异常指纹允许的突发日志数
+         */
+        private int burst = 10;
+        
+        /**
+         * 日志采样比例，取值 0.0 ~ 1.0
+         */
+        private double sampleRate = 1.0;
+        
+        /**
+         * 输出丢弃日志汇总的周期
+         */
+        private Duration summaryInterval = Duration.ofSeconds(10);
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+        
+        public void setPermitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+        
+        public int getBurst() {
+            return burst;
+        }
+        
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+        
+        public double getSampleRate() {
+            return sampleRate;
+        }
+        
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+        
+        public Duration getSummaryInterval() {
+            return summaryInterval;
+        }
+        
+        public void setSummaryInterval(Duration summaryInterval) {
+            this.summaryInterval = summaryInterval;
+        }
+    }
+    
+    /**
+     * 异常指纹聚合配置
+     */
+    public static class Fingerprint {
+        
+        /**
+         * 是否按指纹聚合已处理的异常
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 参与指纹计算的应用帧数
+         */
+        private int frames = 5;
+        
+        /**
+         * 应用包名前缀，为空时把非框架帧视为应用帧
+         */
+        private List<String> applicationPackages = new ArrayList<>();
+        
+        /**
+         * 最多保留的指纹数，超出后淘汰最久未出现的指纹
+         */
+        private int maxEntries = 1000;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getFrames() {
+            return frames;
+        }
+        
+        public void setFrames(int frames) {
+            this.frames = frames;
+        }
+        
+        public List<String> getApplicationPackages() {
+            return applicationPackages;
+        }
+        
+        public void setApplicationPackages(List<String> applicationPackages) {
+            this.applicationPackages = applicationPackages;
+        }
+        
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+        
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+    
+    /**
+     * 异步错误事件配置
+     */
+    public static class AsyncEvents {
+        
+        /**
+         * 是否由后台线程异步输出异常日志并分发错误事件；WebFlux 应用未设置时默认开启，日志不在事件循环线程上输出
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 环形缓冲区大小，向上取整为 2 的幂
+         */
+        private int bufferSize = 1024;
+        
+        /**
+         * 后台线程每批最多处理的事件数
+         */
+        private int batchSize = 64;
+        
+        /**
+         * 缓冲区满时的处理策略
+         */
+        private ErrorEventPublisher.OverflowPolicy overflowPolicy = ErrorEventPublisher.OverflowPolicy.DROP;
+        
+        /**
+         * SAMPLE 策略下缓冲区使用超过 3/4 后的采样比例
+         */
+        private double sampleRate = 0.1;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getBufferSize() {
+            return bufferSize;
+        }
+        
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+        
+        public int getBatchSize() {
+            return batchSize;
+        }
+        
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+        
+        public ErrorEventPublisher.OverflowPolicy getOverflowPolicy() {
+            return overflowPolicy;
+        }
+        
+        public void setOverflowPolicy(ErrorEventPublisher.OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+        }
+        
+        public double getSampleRate() {
+            return sampleRate;
+        }
+        
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
+    
+    /**
+     * 堆栈捕获与渲染配置，渲染相关配置仅在 include-stack-trace 开启时生效
+     */
+    public static class StackTrace {
+        
+        /**
+         * BaseException 的堆栈捕获方式
+         */
+        private StackTracePolicy.CaptureMode capture = StackTracePolicy.CaptureMode.FULL;
+        
+        /**
+         * STACK_WALKER 模式下记录的帧数
+         */
+        private int walkerMaxFrames = 10;
+        
+        /**
+         * 是否折叠框架帧
+         */
+        private boolean filterFrameworkFrames = true;
+        
+        /**
+         * 框架包名前缀
+         */
+        private List<String> frameworkPackages = new ArrayList<>(StackTraceRenderer.DEFAULT_FRAMEWORK_PACKAGES);
+        
+        /**
+         * 是否输出 cause 链
+         */
+        private boolean includeCauses = true;
+        
+        /**
+         * 堆栈文本的最大 UTF-8 字节数，超出部分截断
+         */
+        private int maxBytes = 16384;
+        
+        /**
+         * 缓存的渲染结果数，0 表示不缓存
+         */
+        private int cacheSize = 256;
+        
+        public StackTracePolicy.CaptureMode getCapture() {
+            return capture;
+        }
+        
+        public void setCapture(StackTracePolicy.CaptureMode capture) {
+            this.capture = capture;
+        }
+        
+        public int getWalkerMaxFrames() {
+            return walkerMaxFrames;
+        }
+        
+        public void setWalkerMaxFrames(int walkerMaxFrames) {
+            this.walkerMaxFrames = walkerMaxFrames;
+        }
+        
+        public boolean isFilterFrameworkFrames() {
+            return filterFrameworkFrames;
+        }
+        
+        public void setFilterFrameworkFrames(boolean filterFrameworkFrames) {
+            this.filterFrameworkFrames = filterFrameworkFrames;
+        }
+        
+        public List<String> getFrameworkPackages() {
+            return frameworkPackages;
+        }
+        
+        public void setFrameworkPackages(List<String> frameworkPackages) {
+            this.frameworkPackages = frameworkPackages;
+        }
+        
+        public boolean isIncludeCauses() {
+            return includeCauses;
+        }
+        
+        public void setIncludeCauses(boolean includeCauses) {
+            this.includeCauses = includeCauses;
+        }
+        
+        public int getMaxBytes() {
+            return maxBytes;
+        }
+        
+        public void setMaxBytes(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+        
+        public int getCacheSize() {
+            return cacheSize;
+        }
+        
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+    }
+    
+    /**
+     * 虚拟线程模式配置
+     */
+    public static class VirtualThreads {
+        
+        /**
+         * 是否启用虚拟线程模式：序列化缓冲区改为共享池，异步错误事件的消费者运行在虚拟线程上
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 共享序列化缓冲区的数量
+         */
+        private int sharedBuffers = 64;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public int getSharedBuffers() {
+            return sharedBuffers;
+        }
+        
+        public void setSharedBuffers(int sharedBuffers) {
+            this.sharedBuffers = sharedBuffers;
+        }
+    }
+    
+    /**
+     * 负载卸载配置
+     */
+    public static class LoadShedding {
+        
+        /**
+         * 是否按下游统计失败，并在下游持续失败时直接拒绝依赖它的请求
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 计入下游失败的错误码，取值为错误码名称或数字错误码
+         */
+        private List<String> errorCodes = new ArrayList<>(Arrays.asList(ErrorCode.EXTERNAL_SERVICE_ERROR.name(),
+                ErrorCode.SERVICE_UNAVAILABLE.name(), ErrorCode.TIMEOUT_ERROR.name()));
+        
+        /**
+         * 统计失败的滑动窗口长度
+         */
+        private Duration window = Duration.ofSeconds(10);
+        
+        /**
+         * 滑动窗口的桶数量
+         */
+        private int buckets = 10;
+        
+        /**
+         * 窗口内触发卸载的失败数
+         */
+        private int failureThreshold = 20;
+        
+        /**
+         * 卸载持续时间，同时作为 Retry-After 的上限
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+        
+        /**
+         * 下游服务，键为服务名称（与 ExternalServiceException 的 downstream 一致）
+         */
+        private Map<String, Downstream> downstreams = new LinkedHashMap<>();
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public List<String> getErrorCodes() {
+            return errorCodes;
+        }
+        
+        public void setErrorCodes(List<String> errorCodes) {
+            this.errorCodes = errorCodes;
+        }
+        
+        public Duration getWindow() {
+            return window;
+        }
+        
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+        
+        public int getBuckets() {
+            return buckets;
+        }
+        
+        public void setBuckets(int buckets) {
+            this.buckets = buckets;
+        }
+        
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+        
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+        
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+        
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+        
+        public Map<String, Downstream> getDownstreams() {
+            return downstreams;
+        }
+        
+        public void setDownstreams(Map<String, Downstream> downstreams) {
+            this.downstreams = downstreams;
+        }
+        
+        /**
+         * 下游服务配置
+         */
+        public static class Downstream {
+            
+            /**
+             * 依赖该下游的路由，支持路径模式，例如 /api/orders/**
+             */
+            private List<String> paths = new ArrayList<>();
+            
+            public List<String> getPaths() {
+                return paths;
+            }
+            
+            public void setPaths(List<String> paths) {
+                this.paths = paths;
+            }
+        }
+    }
+    
+    /**
+     * Problem Details 输出配置
+     */
+    public static class ProblemDetails {
+        
+        /**
+         * 是否以 Problem Details（RFC 9457，application/problem+json）格式输出错误响应，需要开启 serialization
+         */
+        private boolean enabled = false;
+        
+        /**
+         * type 的前缀，type 为前缀加上错误码名称（小写，下划线换成连字符）
+         */
+        private String typeBaseUri = "/problems/";
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public String getTypeBaseUri() {
+            return typeBaseUri;
+        }
+        
+        public void setTypeBaseUri(String typeBaseUri) {
+            this.typeBaseUri = typeBaseUri;
+        }
+    }
+    
+    /**
+     * 字段验证错误配置
+     */
+    public static class FieldErrors {
+        
+        /**
+         * 最多列出的字段错误数，超出部分只计数，小于等于 0 表示不限制
+         */
+        private int maxErrors = 100;
+        
+        /**
+         * rejectedValue 字符串的最大长度，超出部分截断
+         */
+        private int maxRejectedValueLength = 256;
+        
+        public int getMaxErrors() {
+            return maxErrors;
+        }
+        
+        public void setMaxErrors(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+        
+        public int getMaxRejectedValueLength() {
+            return maxRejectedValueLength;
+        }
+        
+        public void setMaxRejectedValueLength(int maxRejectedValueLength) {
+            this.maxRejectedValueLength = maxRejectedValueLength;
+        }
+    }
+    
+    /**
+     * 错误消息国际化配置
+     */
+    public static class I18n {
+        
+        /**
+         * 是否按请求语言通过 MessageSource 解析错误消息
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 消息键前缀，错误码消息的键为前缀加错误码数值，如 error.2001
+         */
+        private String keyPrefix = "error.";
+        
+        /**
+         * 启动时预先解析的语言
+         */
+        private List<Locale> locales = new ArrayList<>();
+        
+        /**
+         * 缓存的（键, 语言）条目上限，超出后直接解析不缓存
+         */
+        private int maxEntries = 1024;
+        
+        /**
+         * 缓存清空间隔，未设置时沿用 spring.messages.cache-duration，两者都未设置时不过期
+         */
+        private Duration cacheDuration;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public String getKeyPrefix() {
+            return keyPrefix;
+        }
+        
+        public void setKeyPrefix(String keyPrefix) {
+            this.keyPrefix = keyPrefix;
+        }
+        
+        public List<Locale> getLocales() {
+            return locales;
+        }
+        
+        public void setLocales(List<Locale> locales) {
+            this.locales = locales;
+        }
+        
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+        
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+        
+        public Duration getCacheDuration() {
+            return cacheDuration;
+        }
+        
+        public void setCacheDuration(Duration cacheDuration) {
+            this.cacheDuration = cacheDuration;
+        }
+    }
+    
+    /**
+     * HTTP 状态映射配置
+     */
+    public static class StatusMapping {
+        
+        /**
+         * BaseException 的状态映射模式：LEGACY 一律返回 200，SEMANTIC 返回错误码对应的状态
+         */
+        private ErrorStatusPolicy.Mode mode = ErrorStatusPolicy.Mode.LEGACY;
+        
+        /**
+         * 未单独配置的错误码使用的 Cache-Control 响应头，不设置时不输出
+         */
+        private String defaultCacheControl;
+        
+        /**
+         * 按错误码配置状态与响应头，键为错误码名称或数字错误码
+         */
+        private Map<String, Code> codes = new LinkedHashMap<>();
+        
+        public ErrorStatusPolicy.Mode getMode() {
+            return mode;
+        }
+        
+        public void setMode(ErrorStatusPolicy.Mode mode) {
+            this.mode = mode;
+        }
+        
+        public String getDefaultCacheControl() {
+            return defaultCacheControl;
+        }
+        
+        public void setDefaultCacheControl(String defaultCacheControl) {
+            this.defaultCacheControl = defaultCacheControl;
+        }
+        
+        public Map<String, Code> getCodes() {
+            return codes;
+        }
+        
+        public void setCodes(Map<String, Code> codes) {
+            this.codes = codes;
+        }
+        
+        /**
+         * 单个错误码的状态与响应头配置
+         */
+        public static class Code {
+            
+            /**
+             * 覆盖错误码携带的 HTTP 状态，不设置时使用错误码的状态
+             */
+            private Integer status;
+            
+            /**
+             * Cache-Control 响应头，例如 "public, max-age=30"
+             */
+            private String cacheControl;
+            
+            /**
+             * Retry-After 响应头，按秒输出
+             */
+            private Duration retryAfter;
+            
+            public Integer getStatus() {
+                return status;
+            }
+            
+            public void setStatus(Integer status) {
+                this.status = status;
+            }
+            
+            public String getCacheControl() {
+                return cacheControl;
+            }
+            
+            public void setCacheControl(String cacheControl) {
+                this.cacheControl = cacheControl;
+            }
+            
+            public Duration getRetryAfter() {
+                return retryAfter;
+            }
+            
+            public void setRetryAfter(Duration retryAfter) {
+                this.retryAfter = retryAfter;
+            }
+        }
+    }
+    
+    /**
+     * 本地错误日志配置
+     */
+    public static class Journal {
+        
+        /**
+         * 是否把每个已处理的异常追加到内存映射的本地错误日志
+         */
+        private boolean enabled = false;
+        
+        /**
+         * 段文件所在目录
+         */
+        private String directory = "logs/error-journal";
+        
+        /**
+         * 单个段文件的大小，写满后切换到新段，最大 1GB
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+        
+        /**
+         * 保留的段文件数量，超出后删除最旧的段
+         */
+        private int maxSegments = 8;
+        
+        /**
+         * 路由模板与请求路径各自保留的最大字节数
+         */
+        private int maxPathLength = 512;
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public String getDirectory() {
+            return directory;
+        }
+        
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+        
+        public DataSize getSegmentSize() {
+            return segmentSize;
+        }
+        
+        public void setSegmentSize(DataSize segmentSize) {
+            this.segmentSize = segmentSize;
+        }
+        
+        public int getMaxSegments() {
+            return maxSegments;
+        }
+        
+        public void setMaxSegments(int maxSegments) {
+            this.maxSegments = maxSegments;
+        }
+        
+        public int getMaxPathLength() {
+            return maxPathLength;
+        }
+        
+        public void setMaxPathLength(int maxPathLength) {
+            this.maxPathLength = maxPathLength;
+        }
+    }
+    
+    /**
+     * 追踪 ID 配置
+     */
+    public static class Trace {
+        
+        /**
+         * 是否在错误响应和异常日志中输出追踪 ID
+         */
+        private boolean enabled = true;
+        
+        /**
+         * 没有 traceparent 头时读取的请求 ID 头
+         */
+        private String requestIdHeader = "X-Request-Id";
+        
+        /**
+         * 输出异常日志期间写入 MDC 的键，MDC 中已有该键时直接使用其值
+         */
+        private String mdcKey = "traceId";
+        
+        public boolean isEnabled() {
+            return enabled;
+        }
+        
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        
+        public String getRequestIdHeader() {
+            return requestIdHeader;
+        }
+        
+        public void setRequestIdHeader(String requestIdHeader) {
+            this.requestIdHeader = requestIdHeader;
+        }
+        
+        public String getMdcKey() {
+            return mdcKey;
+        }
+        
+        public void setMdcKey(String mdcKey) {
+            this.mdcKey = mdcKey;
+        }
+    }
+    
+    /**
+     * 错误响应时间戳配置
+     */
+    public static class Timestamp {
+        
+        /**
+         * 时间戳格式: local（yyyy-MM-dd HH:mm:ss）/ iso-offset / epoch-millis
+         */
+        private ErrorTimestampClock.Format format = ErrorTimestampClock.Format.LOCAL;
+        
+        /**
+         * 格式化使用的时区，未设置时使用容器中 Clock 的时区或系统默认时区
+         */
+        private ZoneId zone;
+        
+        public ErrorTimestampClock.Format getFormat() {
+            return format;
+        }
+        
+        public void setFormat(ErrorTimestampClock.Format format) {
+            this.format = format;
+        }
+        
+        public ZoneId getZone() {
+            return zone;
+        }
+        
+        public void setZone(ZoneId zone) {
+            this.zone = zone;
+        }
+    }
+    
+    /**
+     * 配置覆盖规则，未设置的字段沿用全局配置
+     */
+    public static class HandlerOverride {
+        
+        /**
+         * 适用的错误码（名称或数字错误码），为空时不限错误码
+         */
+        private List<String> errorCodes = new ArrayList<>();
+        
+        /**
+         * 适用的请求路径（Ant 风格，例如 /api/admin/**），为空时不限路径
+         */
+        private List<String> paths = new ArrayList<>();
+        
+        /**
+         * 是否记录异常日志
+         */
+        private Boolean enableLogging;
+        
+        /**
+         * 是否在响应中包含堆栈跟踪
+         */
+        private Boolean includeStackTrace;
+        
+        /**
+         * 堆栈跟踪最大行数
+         */
+        private Integer maxStackTraceLines;
+        
+        /**
+         * 是否包含字段验证错误详情
+         */
+        private Boolean includeFieldErrors;
+        
+        public List<String> getErrorCodes() {
+            return errorCodes;
+        }
+        
+        public void setErrorCodes(List<String> errorCodes) {
+            this.errorCodes = errorCodes;
+        }
+        
+        public List<String> getPaths() {
+            return paths;
+        }
+        
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+        
+        public Boolean getEnableLogging() {
+            return enableLogging;
+        }
+        
+        public void setEnableLogging(Boolean enableLogging) {
+            this.enableLogging = enableLogging;
+        }
+        
+        public Boolean getIncludeStackTrace() {
+            return includeStackTrace;
+        }
+        
+        public void setIncludeStackTrace(Boolean includeStackTrace) {
+            this.includeStackTrace = includeStackTrace;
+        }
+        
+        public Integer getMaxStackTraceLines() {
+            return maxStackTraceLines;
+        }
+        
+        public void setMaxStackTraceLines(Integer maxStackTraceLines) {
+            this.maxStackTraceLines = maxStackTraceLines;
+        }
+        
+        public Boolean getIncludeFieldErrors() {
+            return includeFieldErrors;
+        }
+        
+        public void setIncludeFieldErrors(Boolean includeFieldErrors) {
+            this.includeFieldErrors = includeFieldErrors;
+        }
+    }
 }
@@ -0,0 +1,184 @@
+package com.example.exception.starter.settings;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+import com.example.exception.starter.enums.ErrorCodeSet;
+import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import com.example.exception.starter.stacktrace.StackTraceRenderer;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 异常处理器在每个请求上读取的配置快照
+ * <p>
+ * 创建后不再修改，配置变化时整体替换（见 {@link HandlerSettingsHolder}），处理器读取时不需要加锁，
+ * 也不会读到修改了一半的配置。覆盖规则在创建时按顺序展开为各自完整的快照，
+ * 请求按错误码与路径匹配第一条规则，没有规则时直接返回自身
+ */
+public final class HandlerSettings {
+    
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    
+    private static final Rule[] NO_RULES = new Rule[0];
+    
+    private final boolean enableLogging;
+    private final boolean includeStackTrace;
+    private final int maxStackTraceLines;
+    private final boolean includeFieldErrors;
+    private final int maxFieldErrors;
+    private final int maxRejectedValueLength;
+    private final StackTraceRenderer stackTraceRenderer;
+    private final Rule[] rules;
+    
+    private HandlerSettings(boolean enableLogging, boolean includeStackTrace, int maxStackTraceLines,
+                            boolean includeFieldErrors, int maxFieldErrors, int maxRejectedValueLength,
+                            StackTraceRenderer stackTraceRenderer, Rule[] rules) {
+        this.enableLogging = enableLogging;
+        this.includeStackTrace = includeStackTrace;
+        this.maxStackTraceLines = maxStackTraceLines;
+        this.includeFieldErrors = includeFieldErrors;
+        this.maxFieldErrors = maxFieldErrors;
+        this.maxRejectedValueLength = maxRejectedValueLength;
+        this.stackTraceRenderer = stackTraceRenderer;
+        this.rules = rules;
+    }
+    
+    /**
+     * 按当前配置属性创建快照
+     * @param errorCodeRegistry 解析覆盖规则中的错误码，错误码不存在时抛出 IllegalArgumentException
+     * @throws IllegalArgumentException 堆栈行数为负数
+     */
+    public static HandlerSettings of(ExceptionHandlerProperties properties, ErrorCodeRegistry errorCodeRegistry) {
+        requireNonNegative("maxStackTraceLines", properties.getMaxStackTraceLines());
+        ExceptionHandlerProperties.FieldErrors fieldErrors = properties.getFieldErrors();
+        StackTraceRenderer renderer = stackTraceRenderer(properties, properties.getMaxStackTraceLines());
+        List<ExceptionHandlerProperties.HandlerOverride> overrides = properties.getOverrides();
+        Rule[] rules = NO_RULES;
+        if (!overrides.isEmpty()) {
+            List<Rule> resolved = new ArrayList<>(overrides.size());
+            for (ExceptionHandlerProperties.HandlerOverride override : overrides) {
+                int maxLines = override.getMaxStackTraceLines() != null
+                        ? override.getMaxStackTraceLines() : properties.getMaxStackTraceLines();
+                requireNonNegative("overrides[].maxStackTraceLines", maxLines);
+                HandlerSettings settings = new HandlerSettings(
+                        valueOr(override.getEnableLogging(), properties.isEnableLogging()),
+                        valueOr(override.getIncludeStackTrace(), properties.isIncludeStackTrace()),
+                        maxLines,
+                        valueOr(override.getIncludeFieldErrors(), properties.isIncludeFieldErrors()),
+                        fieldErrors.getMaxErrors(), fieldErrors.getMaxRejectedValueLength(),
+                        maxLines != properties.getMaxStackTraceLines() ? stackTraceRenderer(properties, maxLines) : renderer,
+                        NO_RULES);
+                resolved.add(new Rule(
+                        override.getErrorCodes().isEmpty() ? null
+                                : ErrorCodeSet.of(errorCodeRegistry.resolveAll(override.getErrorCodes())),
+                        override.getPaths().isEmpty() ? null : override.getPaths().toArray(new String[0]),
+                        settings));
+            }
+            rules = resolved.toArray(NO_RULES);
+        }
+        return new HandlerSettings(properties.isEnableLogging(), properties.isIncludeStackTrace(),
+                properties.getMaxStackTraceLines(), properties.isIncludeFieldErrors(), fieldErrors.getMaxErrors(),
+                fieldErrors.getMaxRejectedValueLength(), renderer, rules);
+    }
+    
+    private static StackTraceRenderer stackTraceRenderer(ExceptionHandlerProperties properties, int maxLines) {
+        ExceptionHandlerProperties.StackTrace stackTrace = properties.getStackTrace();
+        return new StackTraceRenderer(maxLines, stackTrace.isFilterFrameworkFrames(),
+                stackTrace.getFrameworkPackages(), stackTrace.isIncludeCauses(), stackTrace.getMaxBytes(),
+                stackTrace.getCacheSize());
+    }
+    
+    private static void requireNonNegative(String name, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative: " + value);
+        }
+    }
+    
+    private static boolean valueOr(Boolean value, boolean defaultValue) {
+        return value != null ? value : defaultValue;
+    }
+    
+    /**
+     * 请求适用的配置：第一条匹配的覆盖规则，没有匹配时为自身
+     * @param path 原始请求路径
+     */
+    public HandlerSettings forRequest(ErrorCode errorCode, String path) {
+        for (Rule rule : rules) {
+            if (rule.matches(errorCode, path)) {
+                return rule.settings;
+            }
+        }
+        return this;
+    }
+    
+    public String renderStackTrace(Throwable ex) {
+        return stackTraceRenderer.render(ex);
+    }
+    
+    public boolean isEnableLogging() {
+        return enableLogging;
+    }
+    
+    public boolean isIncludeStackTrace() {
+        return includeStackTrace;
+    }
+    
+    public int getMaxStackTraceLines() {
+        return maxStackTraceLines;
+    }
+    
+    public boolean isIncludeFieldErrors() {
+        return includeFieldErrors;
+    }
+    
+    public int getMaxFieldErrors() {
+        return maxFieldErrors;
+    }
+    
+    public int getMaxRejectedValueLength() {
+        return maxRejectedValueLength;
+    }
+    
+    /**
+     * 覆盖规则数量
+     */
+    public int getOverrideCount() {
+        return rules.length;
+    }
+    
+    /**
+     * 展开后的覆盖规则：错误码与路径都为 null 的规则匹配所有请求
+     */
+    private static final class Rule {
+        
+        private final ErrorCodeSet errorCodes;
+        private final String[] paths;
+        private final HandlerSettings settings;
+        
+        private Rule(ErrorCodeSet errorCodes, String[] paths, HandlerSettings settings) {
+            this.errorCodes = errorCodes;
+            this.paths = paths;
+            this.settings = settings;
+        }
+        
+        boolean matches(ErrorCode errorCode, String path) {
+            if (errorCodes != null && (errorCode == null || !errorCodes.contains(errorCode))) {
+                return false;
+            }
+            if (paths == null) {
+                return true;
+            }
+            if (path == null) {
+                return false;
+            }
+            for (String pattern : paths) {
+                if (PATH_MATCHER.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.exception.starter.settings;
+
+import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 处理器配置端点：/actuator/exceptionsettings
+ * GET 查看当前生效的配置，POST 临时修改 includeStackTrace、enableLogging、maxStackTraceLines、includeFieldErrors，
+ * 未传入的字段保持不变；修改只保存在内存中，重启或重新绑定配置后恢复为配置文件中的值。
+ * 参数无效时返回 400，当前配置保持不变
+ */
+@Endpoint(id = "exceptionsettings")
+public class HandlerSettingsEndpoint {
+    
+    private final HandlerSettingsHolder holder;
+    
+    public HandlerSettingsEndpoint(HandlerSettingsHolder holder) {
+        this.holder = holder;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> settings() {
+        HandlerSettings settings = holder.current();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enableLogging", settings.isEnableLogging());
+        result.put("includeStackTrace", settings.isIncludeStackTrace());
+        result.put("maxStackTraceLines", settings.getMaxStackTraceLines());
+        result.put("includeFieldErrors", settings.isIncludeFieldErrors());
+        result.put("overrides", holder.getProperties().getOverrides());
+        return result;
+    }
+    
+    @WriteOperation
+    public Map<String, Object> update(@Nullable Boolean enableLogging, @Nullable Boolean includeStackTrace,
+                                      @Nullable Integer maxStackTraceLines, @Nullable Boolean includeFieldErrors) {
+        if (maxStackTraceLines != null && maxStackTraceLines < 0) {
+            throw new InvalidEndpointRequestException("maxStackTraceLines must not be negative: " + maxStackTraceLines,
+                    "Invalid maxStackTraceLines");
+        }
+        if (!holder.update(properties -> apply(properties, enableLogging, includeStackTrace, maxStackTraceLines,
+                includeFieldErrors))) {
+            throw new InvalidEndpointRequestException("Invalid exception handler settings", "Invalid settings");
+        }
+        return settings();
+    }
+    
+    private static void apply(ExceptionHandlerProperties properties, Boolean enableLogging, Boolean includeStackTrace,
+                              Integer maxStackTraceLines, Boolean includeFieldErrors) {
+        if (enableLogging != null) {
+            properties.setEnableLogging(enableLogging);
+        }
+        if (includeStackTrace != null) {
+            properties.setIncludeStackTrace(includeStackTrace);
+        }
+        if (maxStackTraceLines != null) {
+            properties.setMaxStackTraceLines(maxStackTraceLines);
+        }
+        if (includeFieldErrors != null) {
+            properties.setIncludeFieldErrors(includeFieldErrors);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.exception.starter.settings;
+
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+
+import java.util.function.Consumer;
+
+/**
+ * 当前生效的处理器配置
+ * <p>
+ * 处理器每个请求只读取一次 volatile 引用；配置属性变化后（actuator 写操作、Spring Cloud 刷新，
+ * 或应用接入的其他配置中心调用 {@link #reload()}）按属性重新创建快照并整体替换。
+ * 快照总是从配置属性的副本创建，只有快照创建成功才提交副本，绑定的配置属性 Bean 不会被修改；
+ * 新配置无效（例如覆盖规则引用了不存在的错误码）时保留原快照与原配置
+ */
+public class HandlerSettingsHolder {
+    
+    private static final Logger logger = LoggerFactory.getLogger(HandlerSettingsHolder.class);
+    
+    /**
+     * 绑定的配置属性
+     */
+    private final ExceptionHandlerProperties source;
+    private final ErrorCodeRegistry errorCodeRegistry;
+    
+    /**
+     * 当前快照对应的配置属性副本
+     */
+    private volatile ExceptionHandlerProperties properties;
+    private volatile HandlerSettings current;
+    
+    /**
+     * 启动时创建快照，配置无效时直接抛出异常，使应用启动失败
+     */
+    public HandlerSettingsHolder(ExceptionHandlerProperties properties, ErrorCodeRegistry errorCodeRegistry) {
+        this.source = properties;
+        this.errorCodeRegistry = errorCodeRegistry;
+        this.properties = copyOf(properties);
+        this.current = HandlerSettings.of(this.properties, errorCodeRegistry);
+    }
+    
+    public HandlerSettings current() {
+        return current;
+    }
+    
+    /**
+     * 按绑定的配置属性的当前值重新创建快照，之前通过 {@link #update} 做的修改不再保留
+     * @return 是否替换成功
+     */
+    public synchronized boolean reload() {
+        return commit(copyOf(source));
+    }
+    
+    /**
+     * 在当前配置的副本上修改并创建快照，快照创建成功后才替换当前配置
+     * @return 是否替换成功
+     */
+    public synchronized boolean update(Consumer<ExceptionHandlerProperties> changes) {
+        ExceptionHandlerProperties candidate = copyOf(properties);
+        changes.accept(candidate);
+        return commit(candidate);
+    }
+    
+    private boolean commit(ExceptionHandlerProperties candidate) {
+        HandlerSettings settings;
+        try {
+            settings = HandlerSettings.of(candidate, errorCodeRegistry);
+        } catch (RuntimeException ex) {
+            logger.warn("Invalid exception handler settings, keeping the previous settings", ex);
+            return false;
+        }
+        properties = candidate;
+        current = settings;
+        return true;
+    }
+    
+    /**
+     * 复制顶层属性；嵌套配置对象与列表仍与原对象共享，修改时需要替换整个对象
+     */
+    private static ExceptionHandlerProperties copyOf(ExceptionHandlerProperties properties) {
+        ExceptionHandlerProperties copy = new ExceptionHandlerProperties();
+        BeanUtils.copyProperties(properties, copy);
+        return copy;
+    }
+    
+    /**
+     * 当前快照对应的配置属性，调用方不能修改
+     */
+    public ExceptionHandlerProperties getProperties() {
+        return properties;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.exception.starter.shedding;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 单个下游服务的熔断状态
+ * <p>
+ * 窗口内的失败数达到阈值后打开，打开期间依赖该下游的路由直接返回 503；
+ * 打开时清空窗口，到期后重新放行请求，需要再次累计到阈值才会打开
+ */
+public class DownstreamCircuit {
+    
+    private final String name;
+    private final List<PathPattern> pathPatterns;
+    private final SlidingWindowCounter failures;
+    private final long failureThreshold;
+    private final long openMillis;
+    
+    /**
+     * 打开状态的截止时间（毫秒），0 表示关闭
+     */
+    private final AtomicLong openUntil = new AtomicLong();
+    
+    public DownstreamCircuit(String name, List<PathPattern> pathPatterns, long windowMillis, int buckets,
+                             long failureThreshold, long openMillis) {
+        this.name = name;
+        this.pathPatterns = pathPatterns;
+        this.failures = new SlidingWindowCounter(windowMillis, buckets);
+        this.failureThreshold = Math.max(failureThreshold, 1);
+        this.openMillis = openMillis;
+    }
+    
+    /**
+     * 记录一次失败，达到阈值时打开，返回本次调用是否打开了熔断
+     */
+    public boolean recordFailure(long nowMillis) {
+        if (failures.increment(nowMillis) < failureThreshold) {
+            return false;
+        }
+        long current = openUntil.get();
+        if (current > nowMillis || !openUntil.compareAndSet(current, nowMillis + openMillis)) {
+            return false;
+        }
+        failures.reset();
+        return true;
+    }
+    
+    public boolean isOpen(long nowMillis) {
+        return openUntil.get() > nowMillis;
+    }
+    
+    /**
+     * 距离重新放行的秒数（向上取整），关闭时为 0
+     */
+    public long retryAfterSeconds(long nowMillis) {
+        long remaining = openUntil.get() - nowMillis;
+        return remaining > 0 ? (remaining + 999) / 1000 : 0;
+    }
+    
+    /**
+     * 路由模板或请求路径是否属于依赖该下游的端点
+     */
+    public boolean matches(String path) {
+        if (pathPatterns.isEmpty()) {
+            return false;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        for (PathPattern pattern : pathPatterns) {
+            if (pattern.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public long getFailureCount(long nowMillis) {
+        return failures.sum(nowMillis);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.exception.starter.shedding;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.enums.ErrorCodeSet;
+import com.example.exception.starter.exception.ExternalServiceException;
+import com.example.exception.starter.handler.ExceptionHandledListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 按下游服务统计失败并决定是否卸载请求
+ * <p>
+ * 只统计指定错误码（默认外部服务错误、服务不可用、超时）。失败归属的下游优先取异常链中
+ * {@link ExternalServiceException} 携带的名称，否则取路由模板匹配的所有下游。
+ * 路由模板到下游的匹配结果按模板缓存，热路径上只有一次 Map 查找和若干次 volatile 读
+ */
+public class LoadShedder implements ExceptionHandledListener {
+    
+    private static final Logger logger = LoggerFactory.getLogger(LoadShedder.class);
+    
+    private static final int MAX_CAUSE_DEPTH = 16;
+    private static final int MAX_CACHED_ROUTES = 1024;
+    private static final DownstreamCircuit[] NONE = new DownstreamCircuit[0];
+    
+    private final ErrorCodeSet errorCodes;
+    private final List<DownstreamCircuit> circuits;
+    private final Map<String, DownstreamCircuit> circuitsByName = new HashMap<>();
+    private final ConcurrentMap<String, DownstreamCircuit[]> circuitsByRoute = new ConcurrentHashMap<>();
+    
+    public LoadShedder(Collection<ErrorCode> errorCodes, Collection<DownstreamCircuit> circuits) {
+        this.errorCodes = ErrorCodeSet.of(errorCodes);
+        this.circuits = Collections.unmodifiableList(new ArrayList<>(circuits));
+        for (DownstreamCircuit circuit : circuits) {
+            circuitsByName.put(circuit.getName(), circuit);
+        }
+    }
+    
+    @Override
+    public void onExceptionHandled(Throwable exception, ErrorCode errorCode, int status,
+                                   String method, String path, String pathPattern, long durationNanos) {
+        if (!errorCodes.contains(errorCode)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String downstream = downstreamOf(exception);
+        if (downstream != null) {
+            DownstreamCircuit circuit = circuitsByName.get(downstream);
+            if (circuit != null) {
+                recordFailure(circuit, now);
+            }
+            return;
+        }
+        if (pathPattern != null) {
+            for (DownstreamCircuit circuit : circuitsFor(pathPattern)) {
+                recordFailure(circuit, now);
+            }
+        }
+    }
+    
+    /**
+     * 返回该路由依赖的下游中处于打开状态的一个，没有时返回 null
+     */
+    public DownstreamCircuit openCircuit(String pathPattern, long nowMillis) {
+        for (DownstreamCircuit circuit : circuitsFor(pathPattern)) {
+            if (circuit.isOpen(nowMillis)) {
+                return circuit;
+            }
+        }
+        return null;
+    }
+    
+    public List<DownstreamCircuit> getCircuits() {
+        return circuits;
+    }
+    
+    private void recordFailure(DownstreamCircuit circuit, long now) {
+        if (circuit.recordFailure(now)) {
+            logger.warn("Downstream '{}' is failing, shedding its requests for {}s",
+                    circuit.getName(), circuit.retryAfterSeconds(now));
+        }
+    }
+    
+    private DownstreamCircuit[] circuitsFor(String pathPattern) {
+        DownstreamCircuit[] matched = circuitsByRoute.get(pathPattern);
+        if (matched != null) {
+            return matched;
+        }
+        List<DownstreamCircuit> result = new ArrayList<>();
+        for (DownstreamCircuit circuit : circuits) {
+            if (circuit.matches(pathPattern)) {
+                result.add(circuit);
+            }
+        }
+        matched = result.isEmpty() ? NONE : result.toArray(NONE);
+        if (circuitsByRoute.size() < MAX_CACHED_ROUTES) {
+            circuitsByRoute.putIfAbsent(pathPattern, matched);
+        }
+        return matched;
+    }
+    
+    private static String downstreamOf(Throwable exception) {
+        Throwable current = exception;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            if (current instanceof ExternalServiceException) {
+                return ((ExternalServiceException) current).getDownstream();
+            }
+            current = current.getCause();
+        }
+        return null;
+    }
+}
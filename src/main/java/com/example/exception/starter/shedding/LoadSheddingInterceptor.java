@@ -0,0 +1,48 @@
+package com.example.exception.starter.shedding;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 负载卸载拦截器
+ * 路由依赖的下游处于打开状态时，在控制器执行前直接写出预先编码的 503 响应和 Retry-After 头
+ */
+public class LoadSheddingInterceptor implements HandlerInterceptor {
+    
+    private static final int SERVICE_UNAVAILABLE = 503;
+    
+    private final LoadShedder loadShedder;
+    private final byte[] body;
+    
+    /**
+     * @param body 预先编码的响应体
+     */
+    public LoadSheddingInterceptor(LoadShedder loadShedder, byte[] body) {
+        this.loadShedder = loadShedder;
+        this.body = body.clone();
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        Object pathPattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (!(pathPattern instanceof String)) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        DownstreamCircuit circuit = loadShedder.openCircuit((String) pathPattern, now);
+        if (circuit == null) {
+            return true;
+        }
+        response.setStatus(SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(circuit.retryAfterSeconds(now), 1)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+}
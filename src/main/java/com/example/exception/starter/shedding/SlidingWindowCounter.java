@@ -0,0 +1,84 @@
+package com.example.exception.starter.shedding;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 滑动时间窗口计数器
+ * <p>
+ * 窗口按时间切分为固定数量的桶组成环形数组。每个桶只有一个 long：高 40 位为桶的时间序号，
+ * 低 24 位为计数，通过 CAS 更新；写入过期的桶时直接以新序号和计数 1 覆盖，不加锁也不需要后台清理
+ */
+public class SlidingWindowCounter {
+    
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    
+    private final AtomicLongArray buckets;
+    private final long bucketMillis;
+    private final long originMillis;
+    
+    /**
+     * @param windowMillis 窗口长度（毫秒）
+     * @param bucketCount 桶数量，决定窗口滑动的粒度
+     */
+    public SlidingWindowCounter(long windowMillis, int bucketCount) {
+        int count = Math.max(bucketCount, 1);
+        this.buckets = new AtomicLongArray(count);
+        this.bucketMillis = Math.max(windowMillis / count, 1);
+        this.originMillis = System.currentTimeMillis();
+    }
+    
+    /**
+     * 计数加一，返回加一后窗口内的总数
+     */
+    public long increment(long nowMillis) {
+        long epoch = epoch(nowMillis);
+        int index = (int) (epoch % buckets.length());
+        for (;;) {
+            long value = buckets.get(index);
+            long updated;
+            if (value >>> COUNT_BITS == epoch) {
+                updated = (value & COUNT_MASK) == COUNT_MASK ? value : value + 1;
+            } else {
+                updated = epoch << COUNT_BITS | 1;
+            }
+            if (updated == value || buckets.compareAndSet(index, value, updated)) {
+                break;
+            }
+        }
+        return sumAt(epoch);
+    }
+    
+    /**
+     * 窗口内的总数
+     */
+    public long sum(long nowMillis) {
+        return sumAt(epoch(nowMillis));
+    }
+    
+    private long sumAt(long epoch) {
+        long total = 0;
+        int length = buckets.length();
+        for (int i = 0; i < length; i++) {
+            long value = buckets.get(i);
+            long bucketEpoch = value >>> COUNT_BITS;
+            if (value != 0 && bucketEpoch <= epoch && epoch - bucketEpoch < length) {
+                total += value & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * 清空窗口
+     */
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+    }
+    
+    private long epoch(long nowMillis) {
+        return Math.max(nowMillis - originMillis, 0) / bucketMillis + 1;
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.exception.starter.stacktrace;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 堆栈渲染器
+ * <p>
+ * 生成错误响应 details 中的堆栈文本：连续的框架帧（Spring、Tomcat、反射、CGLIB 代理等）折叠为一行，
+ * 连续重复的帧（递归）折叠为一行，沿 cause 链输出 "Caused by"，与外层相同的尾部帧按 JDK 的方式省略，
+ * 总长度不超过字节预算。
+ * <p>
+ * 渲染结果按堆栈指纹（异常类型、消息与全部帧的哈希）缓存，相同的失败重复出现时只计算指纹，不再重新渲染。
+ * 缓存条目数达到上限后整体清空
+ */
+public class StackTraceRenderer {
+    
+    /**
+     * 默认的框架包名前缀
+     */
+    public static final List<String> DEFAULT_FRAMEWORK_PACKAGES = Collections.unmodifiableList(Arrays.asList(
+            "org.springframework.", "org.apache.catalina.", "org.apache.coyote.", "org.apache.tomcat.",
+            "jakarta.servlet.", "java.lang.reflect.", "jdk.internal.reflect.", "sun.reflect.",
+            "reactor.core.", "reactor.netty.", "io.netty."));
+    
+    private static final int MAX_CAUSE_DEPTH = 16;
+    private static final String NOT_CAPTURED = "\t(stack trace not captured)";
+    private static final String TRUNCATED = "\t... (truncated)";
+    
+    private final int maxFrames;
+    private final boolean filterFrameworkFrames;
+    private final String[] frameworkPackages;
+    private final boolean includeCauses;
+    private final int maxBytes;
+    private final int cacheSize;
+    private final Map<Long, String> cache = new ConcurrentHashMap<>();
+    
+    /**
+     * @param maxFrames 每个异常最多输出的帧数（不含被折叠的框架帧）
+     * @param filterFrameworkFrames 是否折叠框架帧
+     * @param frameworkPackages 框架包名前缀
+     * @param includeCauses 是否输出 cause 链
+     * @param maxBytes 渲染结果的 UTF-8 字节预算
+     * @param cacheSize 缓存的渲染结果数，0 表示不缓存
+     */
+    public StackTraceRenderer(int maxFrames, boolean filterFrameworkFrames, List<String> frameworkPackages,
+                              boolean includeCauses, int maxBytes, int cacheSize) {
+        this.maxFrames = maxFrames;
+        this.filterFrameworkFrames = filterFrameworkFrames;
+        this.frameworkPackages = frameworkPackages.toArray(new String[0]);
+        this.includeCauses = includeCauses;
+        this.maxBytes = maxBytes;
+        this.cacheSize = cacheSize;
+    }
+    
+    public String render(Throwable ex) {
+        if (ex == null) {
+            return null;
+        }
+        
+        List<Throwable> chain = new ArrayList<>(4);
+        List<StackTraceElement[]> traces = new ArrayList<>(4);
+        for (Throwable current = ex; current != null && chain.size() < MAX_CAUSE_DEPTH; current = current.getCause()) {
+            if (chain.contains(current)) {
+                break;
+            }
+            chain.add(current);
+            traces.add(current.getStackTrace());
+            if (!includeCauses) {
+                break;
+            }
+        }
+        
+        if (cacheSize <= 0) {
+            return render(chain, traces);
+        }
+        long key = fingerprint(chain, traces);
+        String rendered = cache.get(key);
+        if (rendered == null) {
+            rendered = render(chain, traces);
+            if (cache.size() >= cacheSize) {
+                cache.clear();
+            }
+            cache.put(key, rendered);
+        }
+        return rendered;
+    }
+    
+    private String render(List<Throwable> chain, List<StackTraceElement[]> traces) {
+        Output out = new Output(maxBytes);
+        StackTraceElement[] enclosing = null;
+        for (int depth = 0; depth < chain.size(); depth++) {
+            Throwable current = chain.get(depth);
+            String header = current.getClass().getName() + ": " + current.getMessage();
+            if (!out.line(depth == 0 ? header : "Caused by: " + header)) {
+                break;
+            }
+            StackTraceElement[] trace = traces.get(depth);
+            if (trace.length == 0) {
+                // 无堆栈异常（见 StackTracePolicy）只输出异常描述
+                if (!out.line(NOT_CAPTURED)) {
+                    break;
+                }
+            } else if (!renderFrames(out, trace, enclosing)) {
+                break;
+            }
+            enclosing = trace;
+        }
+        return out.toString();
+    }
+    
+    /**
+     * 输出一个异常的帧，超出字节预算时返回 false
+     */
+    private boolean renderFrames(Output out, StackTraceElement[] trace, StackTraceElement[] enclosing) {
+        int framesInCommon = enclosing == null ? 0 : framesInCommon(trace, enclosing);
+        int end = trace.length - framesInCommon;
+        int rendered = 0;
+        int filtered = 0;
+        for (int i = 0; i < end; i++) {
+            if (rendered >= maxFrames) {
+                return flushFiltered(out, filtered) && out.line("\t... " + (trace.length - i) + " more");
+            }
+            StackTraceElement frame = trace[i];
+            if (filterFrameworkFrames && isFrameworkFrame(frame.getClassName())) {
+                filtered++;
+                continue;
+            }
+            if (!flushFiltered(out, filtered)) {
+                return false;
+            }
+            filtered = 0;
+            
+            int repeated = 1;
+            while (i + repeated < end && frame.equals(trace[i + repeated])) {
+                repeated++;
+            }
+            if (!out.line("\tat " + frame)) {
+                return false;
+            }
+            rendered++;
+            if (repeated > 1) {
+                if (!out.line("\t... repeated " + (repeated - 1) + " times")) {
+                    return false;
+                }
+                i += repeated - 1;
+            }
+        }
+        if (!flushFiltered(out, filtered)) {
+            return false;
+        }
+        return framesInCommon == 0 || out.line("\t... " + framesInCommon + " more");
+    }
+    
+    private static boolean flushFiltered(Output out, int filtered) {
+        return filtered == 0 || out.line("\t... " + filtered + " framework frames");
+    }
+    
+    private boolean isFrameworkFrame(String className) {
+        if (className.contains("$$") || className.startsWith("jdk.proxy") || className.startsWith("com.sun.proxy.")) {
+            // CGLIB 与 JDK 动态代理
+            return true;
+        }
+        for (String prefix : frameworkPackages) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static int framesInCommon(StackTraceElement[] trace, StackTraceElement[] enclosing) {
+        int m = trace.length - 1;
+        int n = enclosing.length - 1;
+        while (m >= 0 && n >= 0 && trace[m].equals(enclosing[n])) {
+            m--;
+            n--;
+        }
+        return trace.length - 1 - m;
+    }
+    
+    private static long fingerprint(List<Throwable> chain, List<StackTraceElement[]> traces) {
+        long hash = 1125899906842597L;
+        for (int depth = 0; depth < chain.size(); depth++) {
+            Throwable current = chain.get(depth);
+            hash = 31 * hash + current.getClass().getName().hashCode();
+            String message = current.getMessage();
+            hash = 31 * hash + (message != null ? message.hashCode() : 0);
+            StackTraceElement[] trace = traces.get(depth);
+            hash = 31 * hash + trace.length;
+            for (StackTraceElement frame : trace) {
+                hash = 31 * hash + frame.hashCode();
+            }
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+    
+    /**
+     * 按行追加并统计 UTF-8 字节数，超出预算时追加截断标记
+     */
+    private static final class Output {
+        
+        private final StringBuilder sb = new StringBuilder(512);
+        private final int maxBytes;
+        private int bytes;
+        
+        Output(int maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+        
+        boolean line(String line) {
+            int lineBytes = utf8Length(line) + (sb.length() > 0 ? 1 : 0);
+            if (bytes + lineBytes > maxBytes) {
+                if (sb.length() > 0) {
+                    sb.append('\n');
+                }
+                sb.append(TRUNCATED);
+                return false;
+            }
+            if (sb.length() > 0) {
+                sb.append('\n');
+            }
+            sb.append(line);
+            bytes += lineBytes;
+            return true;
+        }
+        
+        private static int utf8Length(String line) {
+            int length = line.length();
+            for (int i = 0; i < line.length(); i++) {
+                if (line.charAt(i) >= 0x80) {
+                    return line.getBytes(StandardCharsets.UTF_8).length;
+                }
+            }
+            return length;
+        }
+        
+        @Override
+        public String toString() {
+            return sb.toString();
+        }
+    }
+}
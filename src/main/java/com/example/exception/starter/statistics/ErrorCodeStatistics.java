@@ -0,0 +1,69 @@
+package com.example.exception.starter.statistics;
+
+/**
+ * 单个错误码的统计快照，速率单位为次/秒，耗时单位为微秒
+ */
+public final class ErrorCodeStatistics {
+    
+    private final Integer code;
+    private final String name;
+    private final long count;
+    private final double oneMinuteRate;
+    private final double fiveMinuteRate;
+    private final double fifteenMinuteRate;
+    private final double p50Micros;
+    private final double p99Micros;
+    private final double maxMicros;
+    
+    public ErrorCodeStatistics(Integer code, String name, long count, double oneMinuteRate, double fiveMinuteRate,
+                               double fifteenMinuteRate, double p50Micros, double p99Micros, double maxMicros) {
+        this.code = code;
+        this.name = name;
+        this.count = count;
+        this.oneMinuteRate = oneMinuteRate;
+        this.fiveMinuteRate = fiveMinuteRate;
+        this.fifteenMinuteRate = fifteenMinuteRate;
+        this.p50Micros = p50Micros;
+        this.p99Micros = p99Micros;
+        this.maxMicros = maxMicros;
+    }
+    
+    /**
+     * 数字错误码，没有错误码的异常为 null
+     */
+    public Integer getCode() {
+        return code;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public long getCount() {
+        return count;
+    }
+    
+    public double getOneMinuteRate() {
+        return oneMinuteRate;
+    }
+    
+    public double getFiveMinuteRate() {
+        return fiveMinuteRate;
+    }
+    
+    public double getFifteenMinuteRate() {
+        return fifteenMinuteRate;
+    }
+    
+    public double getP50Micros() {
+        return p50Micros;
+    }
+    
+    public double getP99Micros() {
+        return p99Micros;
+    }
+    
+    public double getMaxMicros() {
+        return maxMicros;
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.exception.starter.statistics;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+import com.example.exception.starter.handler.ExceptionHandledListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 异常处理统计
+ * <p>
+ * 按错误码记录处理次数、处理耗时直方图与 1/5/15 分钟指数加权速率（与 Unix 负载均值相同的算法）。
+ * 次数与直方图都使用 LongAdder，记录时只有无竞争的累加；速率每 5 秒更新一次，
+ * 由记录或读取时第一个发现到期的线程完成，其余线程不等待
+ */
+public class ExceptionStatistics implements ExceptionHandledListener {
+    
+    private static final long TICK_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final double TICK_INTERVAL_SECONDS = 5.0;
+    
+    private static final double M1_ALPHA = 1 - Math.exp(-TICK_INTERVAL_SECONDS / 60);
+    private static final double M5_ALPHA = 1 - Math.exp(-TICK_INTERVAL_SECONDS / 300);
+    private static final double M15_ALPHA = 1 - Math.exp(-TICK_INTERVAL_SECONDS / 900);
+    
+    private final ErrorCodeRegistry errorCodeRegistry;
+    private final AtomicLong lastTick = new AtomicLong(System.nanoTime());
+    
+    private volatile Counters counters;
+    
+    public ExceptionStatistics(ErrorCodeRegistry errorCodeRegistry) {
+        this.errorCodeRegistry = errorCodeRegistry;
+        this.counters = new Counters(errorCodeRegistry.size());
+    }
+    
+    @Override
+    public void onExceptionHandled(Throwable exception, ErrorCode errorCode, int status,
+                                   String method, String path, String pathPattern, long durationNanos) {
+        CodeCounter counter = counters.get(errorCode, errorCodeRegistry);
+        counter.count.increment();
+        counter.latency.record(durationNanos);
+        tickIfNecessary();
+    }
+    
+    /**
+     * 全部错误码合计的统计
+     */
+    public ErrorCodeStatistics total() {
+        tickIfNecessary();
+        List<CodeCounter> all = counters.all();
+        long count = 0;
+        double m1 = 0;
+        double m5 = 0;
+        double m15 = 0;
+        long max = 0;
+        long[] buckets = new long[LatencyHistogram.BUCKETS];
+        for (CodeCounter counter : all) {
+            count += counter.count.sum();
+            m1 += counter.m1Rate;
+            m5 += counter.m5Rate;
+            m15 += counter.m15Rate;
+            max = Math.max(max, counter.latency.getMax());
+            counter.latency.addTo(buckets);
+        }
+        return new ErrorCodeStatistics(null, "TOTAL", count, m1, m5, m15, percentile(buckets, 50, max),
+                percentile(buckets, 99, max), micros(max));
+    }
+    
+    /**
+     * 按次数从高到低排列的各错误码统计，只包含出现过的错误码
+     */
+    public List<ErrorCodeStatistics> byErrorCode() {
+        tickIfNecessary();
+        List<ErrorCodeStatistics> result = new ArrayList<>();
+        for (CodeCounter counter : counters.all()) {
+            long[] buckets = new long[LatencyHistogram.BUCKETS];
+            counter.latency.addTo(buckets);
+            long max = counter.latency.getMax();
+            result.add(new ErrorCodeStatistics(counter.code, counter.name, counter.count.sum(),
+                    counter.m1Rate, counter.m5Rate, counter.m15Rate, percentile(buckets, 50, max),
+                    percentile(buckets, 99, max), micros(max)));
+        }
+        result.sort(Comparator.comparingLong(ErrorCodeStatistics::getCount).reversed());
+        return result;
+    }
+    
+    /**
+     * 清空统计
+     */
+    public void reset() {
+        counters = new Counters(errorCodeRegistry.size());
+    }
+    
+    /**
+     * 到期时更新速率；错过多个周期时（例如长时间没有异常）第一个周期计入期间的全部次数，其余周期只做衰减
+     */
+    private void tickIfNecessary() {
+        long last = lastTick.get();
+        long elapsed = System.nanoTime() - last;
+        if (elapsed < TICK_INTERVAL_NANOS) {
+            return;
+        }
+        long ticks = elapsed / TICK_INTERVAL_NANOS;
+        if (!lastTick.compareAndSet(last, last + ticks * TICK_INTERVAL_NANOS)) {
+            return;
+        }
+        for (CodeCounter counter : counters.all()) {
+            counter.tick(ticks);
+        }
+    }
+    
+    /**
+     * 桶的值取区间中点，可能略大于实际最大值，因此以最大值为上限
+     */
+    private static double percentile(long[] buckets, double percentile, long max) {
+        return micros(Math.min(LatencyHistogram.valueAtPercentile(buckets, percentile), max));
+    }
+    
+    private static double micros(long nanos) {
+        return Math.round(nanos / 100.0) / 10.0;
+    }
+    
+    /**
+     * 已注册的错误码按注册表下标存放，其余（未注册的错误码、没有错误码的异常）按数字错误码存放
+     */
+    private static final class Counters {
+        
+        private static final int NO_CODE = Integer.MIN_VALUE;
+        
+        private final AtomicReferenceArray<CodeCounter> registered;
+        private final ConcurrentMap<Integer, CodeCounter> others = new ConcurrentHashMap<>();
+        
+        private Counters(int size) {
+            this.registered = new AtomicReferenceArray<>(size);
+        }
+        
+        CodeCounter get(ErrorCode errorCode, ErrorCodeRegistry registry) {
+            int index = errorCode != null ? registry.indexOf(errorCode) : -1;
+            if (index < 0) {
+                return others.computeIfAbsent(errorCode != null ? errorCode.getCode() : NO_CODE,
+                        key -> new CodeCounter(errorCode));
+            }
+            CodeCounter counter = registered.get(index);
+            if (counter == null) {
+                CodeCounter created = new CodeCounter(errorCode);
+                counter = registered.compareAndExchange(index, null, created);
+                if (counter == null) {
+                    counter = created;
+                }
+            }
+            return counter;
+        }
+        
+        List<CodeCounter> all() {
+            List<CodeCounter> all = new ArrayList<>(others.values());
+            for (int i = 0; i < registered.length(); i++) {
+                CodeCounter counter = registered.get(i);
+                if (counter != null) {
+                    all.add(counter);
+                }
+            }
+            return all;
+        }
+    }
+    
+    private static final class CodeCounter {
+        
+        private final Integer code;
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        
+        /**
+         * 上次更新速率时的次数，只在 tick 中读写
+         */
+        private long lastCount;
+        private boolean initialized;
+        
+        private volatile double m1Rate;
+        private volatile double m5Rate;
+        private volatile double m15Rate;
+        
+        private CodeCounter(ErrorCode errorCode) {
+            this.code = errorCode != null ? errorCode.getCode() : null;
+            this.name = errorCode != null ? errorCode.name() : "NONE";
+        }
+        
+        private synchronized void tick(long ticks) {
+            long current = count.sum();
+            double instantRate = (current - lastCount) / TICK_INTERVAL_SECONDS;
+            lastCount = current;
+            if (!initialized) {
+                m1Rate = instantRate;
+                m5Rate = instantRate;
+                m15Rate = instantRate;
+                initialized = true;
+            } else {
+                m1Rate += M1_ALPHA * (instantRate - m1Rate);
+                m5Rate += M5_ALPHA * (instantRate - m5Rate);
+                m15Rate += M15_ALPHA * (instantRate - m15Rate);
+            }
+            if (ticks > 1) {
+                m1Rate *= Math.pow(1 - M1_ALPHA, ticks - 1);
+                m5Rate *= Math.pow(1 - M5_ALPHA, ticks - 1);
+                m15Rate *= Math.pow(1 - M15_ALPHA, ticks - 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.exception.starter.statistics;
+
+import com.example.exception.starter.settings.HandlerSettings;
+import com.example.exception.starter.settings.HandlerSettingsHolder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 异常统计端点：/actuator/exceptions
+ * 输出合计与各错误码的次数、1/5/15 分钟速率（次/秒）、处理耗时 p50/p99/max（微秒），
+ * 处理器正在使用的配置快照，以及对应的异常处理配置属性；DELETE 清空统计
+ */
+@Endpoint(id = "exceptions")
+public class ExceptionStatisticsEndpoint {
+    
+    /**
+     * 配置属性按配置文件中的写法输出：Duration 为 PT10S 这样的 ISO-8601 文本，DataSize 为 64MB 这样的文本
+     */
+    private static final ObjectMapper PROPERTIES_MAPPER = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+            .serializerByType(DataSize.class, new DataSizeSerializer())
+            .build();
+    
+    private final ExceptionStatistics statistics;
+    private final HandlerSettingsHolder settingsHolder;
+    
+    public ExceptionStatisticsEndpoint(ExceptionStatistics statistics, HandlerSettingsHolder settingsHolder) {
+        this.statistics = statistics;
+        this.settingsHolder = settingsHolder;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", statistics.total());
+        result.put("errorCodes", statistics.byErrorCode());
+        result.put("settings", settings(settingsHolder.current()));
+        result.put("properties", PROPERTIES_MAPPER.convertValue(settingsHolder.getProperties(), Map.class));
+        return result;
+    }
+    
+    @DeleteOperation
+    public void reset() {
+        statistics.reset();
+    }
+    
+    private static Map<String, Object> settings(HandlerSettings settings) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enableLogging", settings.isEnableLogging());
+        result.put("includeStackTrace", settings.isIncludeStackTrace());
+        result.put("maxStackTraceLines", settings.getMaxStackTraceLines());
+        result.put("includeFieldErrors", settings.isIncludeFieldErrors());
+        result.put("maxFieldErrors", settings.getMaxFieldErrors());
+        result.put("maxRejectedValueLength", settings.getMaxRejectedValueLength());
+        result.put("overrides", settings.getOverrideCount());
+        return result;
+    }
+    
+    /**
+     * 按能整除的最大单位输出 DataSize，例如 67108864 字节输出为 64MB
+     */
+    static final class DataSizeSerializer extends StdSerializer<DataSize> {
+        
+        private static final long[] UNIT_BYTES = {DataSize.ofTerabytes(1).toBytes(), DataSize.ofGigabytes(1).toBytes(),
+                DataSize.ofMegabytes(1).toBytes(), DataSize.ofKilobytes(1).toBytes()};
+        private static final String[] UNIT_SUFFIXES = {"TB", "GB", "MB", "KB"};
+        
+        DataSizeSerializer() {
+            super(DataSize.class);
+        }
+        
+        @Override
+        public void serialize(DataSize value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString(format(value));
+        }
+        
+        static String format(DataSize value) {
+            long bytes = value.toBytes();
+            if (bytes != 0) {
+                for (int i = 0; i < UNIT_BYTES.length; i++) {
+                    if (bytes % UNIT_BYTES[i] == 0) {
+                        return bytes / UNIT_BYTES[i] + UNIT_SUFFIXES[i];
+                    }
+                }
+            }
+            return bytes + "B";
+        }
+    }
+}
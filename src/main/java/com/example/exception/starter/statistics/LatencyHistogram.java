@@ -0,0 +1,100 @@
+package com.example.exception.starter.statistics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 处理耗时直方图
+ * <p>
+ * 与 HdrHistogram 相同的对数线性分桶：16 纳秒以下每纳秒一个桶，之后每个 2 的幂区间再等分为 16 个桶，
+ * 相对误差不超过 1/16，上限约 18 分钟（2^40 纳秒），超出的值记入最后一个桶。
+ * 每个桶是首次命中时才创建的 LongAdder，记录只做一次无竞争的累加，读取时求和
+ */
+final class LatencyHistogram {
+    
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 40;
+    
+    static final int BUCKETS = (MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    
+    private final AtomicReferenceArray<LongAdder> buckets = new AtomicReferenceArray<>(BUCKETS);
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    
+    void record(long nanos) {
+        int index = bucketIndex(nanos);
+        LongAdder bucket = buckets.get(index);
+        if (bucket == null) {
+            LongAdder created = new LongAdder();
+            bucket = buckets.compareAndExchange(index, null, created);
+            if (bucket == null) {
+                bucket = created;
+            }
+        }
+        bucket.increment();
+        max.accumulate(nanos);
+    }
+    
+    /**
+     * 把各桶的计数累加到 counts 中，用于合并多个直方图
+     */
+    void addTo(long[] counts) {
+        for (int i = 0; i < BUCKETS; i++) {
+            LongAdder bucket = buckets.get(i);
+            if (bucket != null) {
+                counts[i] += bucket.sum();
+            }
+        }
+    }
+    
+    long getMax() {
+        return max.get();
+    }
+    
+    static int bucketIndex(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(nanos, 0);
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(nanos);
+        if (magnitude > MAX_MAGNITUDE) {
+            return BUCKETS - 1;
+        }
+        int subBucket = (int) (nanos >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+    
+    /**
+     * 桶所代表的值，取区间中点
+     */
+    static long bucketValue(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) >>> 1);
+    }
+    
+    /**
+     * 计数数组中第 percentile（0-100）百分位所在桶的值，没有记录时返回 0
+     */
+    static long valueAtPercentile(long[] counts, double percentile) {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max((long) Math.ceil(total * percentile / 100.0), 1);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return bucketValue(i);
+            }
+        }
+        return bucketValue(counts.length - 1);
+    }
+}
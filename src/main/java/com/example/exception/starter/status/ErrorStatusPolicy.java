@@ -0,0 +1,176 @@
+package com.example.exception.starter.status;
+
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * 错误响应的 HTTP 状态与缓存相关响应头策略
+ * <p>
+ * LEGACY 模式下 BaseException 沿用 200 状态，SEMANTIC 模式下使用错误码携带的状态，
+ * 使 CDN 与负载均衡不再把 404、401、503 等错误当作成功响应缓存或重试。
+ * 每个错误码可以覆盖状态并附加 Cache-Control 与 Retry-After 头；所有取值在启动时按注册表下标展开为数组，
+ * 处理异常时只做数组读取
+ */
+public class ErrorStatusPolicy {
+    
+    /**
+     * BaseException 的状态映射模式
+     */
+    public enum Mode {
+        /**
+         * BaseException 一律返回 200，错误码只体现在响应体中
+         */
+        LEGACY,
+        /**
+         * BaseException 返回错误码对应的 HTTP 状态
+         */
+        SEMANTIC
+    }
+    
+    private static final HttpStatus[] STATUSES = new HttpStatus[600];
+    
+    static {
+        for (HttpStatus status : HttpStatus.values()) {
+            STATUSES[status.value()] = status;
+        }
+    }
+    
+    private static final ErrorStatusPolicy LEGACY = new ErrorStatusPolicy(Mode.LEGACY, ErrorCodeRegistry.builtIn(),
+            null, Collections.emptyList());
+    
+    private final Mode mode;
+    private final ErrorCodeRegistry errorCodes;
+    private final String defaultCacheControl;
+    
+    /**
+     * 以下数组按注册表下标排列；状态已合并覆盖值与错误码携带的状态，响应头未配置时为 null
+     */
+    private final HttpStatus[] statuses;
+    private final String[] cacheControls;
+    private final String[] retryAfters;
+    
+    /**
+     * @param defaultCacheControl 未单独配置的错误码使用的 Cache-Control，为 null 时不输出
+     */
+    public ErrorStatusPolicy(Mode mode, ErrorCodeRegistry errorCodes, String defaultCacheControl,
+                             Collection<CodePolicy> policies) {
+        this.mode = mode;
+        this.errorCodes = errorCodes;
+        this.defaultCacheControl = defaultCacheControl;
+        this.statuses = new HttpStatus[errorCodes.size()];
+        this.cacheControls = new String[errorCodes.size()];
+        this.retryAfters = new String[errorCodes.size()];
+        for (ErrorCode errorCode : errorCodes.getErrorCodes()) {
+            statuses[errorCodes.indexOf(errorCode)] = codeStatus(errorCode);
+        }
+        for (CodePolicy policy : policies) {
+            int index = errorCodes.indexOf(policy.getErrorCode());
+            if (index < 0) {
+                throw new IllegalArgumentException("Error code " + policy.getErrorCode().name() + " is not registered");
+            }
+            if (policy.getStatus() != null) {
+                statuses[index] = policy.getStatus();
+            }
+            cacheControls[index] = policy.getCacheControl();
+            if (policy.getRetryAfter() != null) {
+                retryAfters[index] = Long.toString(Math.max(policy.getRetryAfter().getSeconds(), 1));
+            }
+        }
+    }
+    
+    /**
+     * 兼容模式：BaseException 返回 200，不输出额外响应头
+     */
+    public static ErrorStatusPolicy legacy() {
+        return LEGACY;
+    }
+    
+    public Mode getMode() {
+        return mode;
+    }
+    
+    /**
+     * 错误码的 HTTP 状态：配置的覆盖值，否则为错误码携带的状态
+     */
+    public HttpStatus status(ErrorCode errorCode) {
+        int index = errorCodes.indexOf(errorCode);
+        return index >= 0 ? statuses[index] : codeStatus(errorCode);
+    }
+    
+    /**
+     * BaseException 的 HTTP 状态，取决于映射模式
+     */
+    public HttpStatus businessStatus(ErrorCode errorCode) {
+        return mode == Mode.SEMANTIC ? status(errorCode) : HttpStatus.OK;
+    }
+    
+    /**
+     * Cache-Control 头的值，不输出时返回 null
+     */
+    public String cacheControl(ErrorCode errorCode) {
+        int index = errorCodes.indexOf(errorCode);
+        String cacheControl = index >= 0 ? cacheControls[index] : null;
+        return cacheControl != null ? cacheControl : defaultCacheControl;
+    }
+    
+    /**
+     * Retry-After 头的值（秒），不输出时返回 null
+     */
+    public String retryAfter(ErrorCode errorCode) {
+        int index = errorCodes.indexOf(errorCode);
+        return index >= 0 ? retryAfters[index] : null;
+    }
+    
+    /**
+     * 错误码携带的 HTTP 状态，非标准状态码按 500 处理
+     */
+    private static HttpStatus codeStatus(ErrorCode errorCode) {
+        int value = errorCode.getHttpStatus();
+        HttpStatus status = value >= 0 && value < STATUSES.length ? STATUSES[value] : null;
+        return status != null ? status : HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+    
+    /**
+     * 单个错误码的状态与响应头配置
+     */
+    public static final class CodePolicy {
+        
+        private final ErrorCode errorCode;
+        private final HttpStatus status;
+        private final String cacheControl;
+        private final Duration retryAfter;
+        
+        /**
+         * @param status       覆盖错误码携带的状态，为 null 时不覆盖
+         * @param cacheControl Cache-Control 头，为 null 时使用默认值
+         * @param retryAfter   Retry-After 头，为 null 时不输出，不足一秒按一秒输出
+         */
+        public CodePolicy(ErrorCode errorCode, HttpStatus status, String cacheControl, Duration retryAfter) {
+            this.errorCode = errorCode;
+            this.status = status;
+            this.cacheControl = cacheControl;
+            this.retryAfter = retryAfter;
+        }
+        
+        public ErrorCode getErrorCode() {
+            return errorCode;
+        }
+        
+        public HttpStatus getStatus() {
+            return status;
+        }
+        
+        public String getCacheControl() {
+            return cacheControl;
+        }
+        
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.exception.starter.time;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 错误响应时间戳的时钟与格式
+ * <p>
+ * ErrorResponse 构造时只读取一次毫秒时间，输出时才按格式转换。格式化结果精度为秒，
+ * 最近一秒的结果缓存在所有线程共享的 volatile 字段中，同一秒内的错误直接复用，不再逐个分配 LocalDateTime 并格式化。
+ * 由自动配置根据配置属性初始化
+ */
+public final class ErrorTimestampClock {
+    
+    /**
+     * 时间戳输出格式
+     */
+    public enum Format {
+        
+        /**
+         * yyyy-MM-dd HH:mm:ss，不带时区，兼容之前的输出
+         */
+        LOCAL,
+        
+        /**
+         * ISO-8601 带时区偏移，例如 2024-01-01T12:00:00+08:00，适合跨时区汇总
+         */
+        ISO_OFFSET,
+        
+        /**
+         * 毫秒时间戳，输出为 JSON 数字
+         */
+        EPOCH_MILLIS
+    }
+    
+    private static final DateTimeFormatter LOCAL_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final DateTimeFormatter ISO_OFFSET_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssXXX");
+    
+    private static volatile ErrorTimestampClock current = new ErrorTimestampClock(Clock.systemDefaultZone(), Format.LOCAL);
+    
+    private final Clock clock;
+    private final Format format;
+    private final DateTimeFormatter formatter;
+    
+    /**
+     * 最近一次格式化的秒
+     */
+    private volatile CachedSecond cachedSecond = new CachedSecond(Long.MIN_VALUE, null, null);
+    
+    /**
+     * @param clock 时钟，格式化使用其时区
+     * @param format 输出格式
+     */
+    public ErrorTimestampClock(Clock clock, Format format) {
+        this.clock = clock;
+        this.format = format;
+        this.formatter = (format == Format.ISO_OFFSET ? ISO_OFFSET_FORMATTER : LOCAL_FORMATTER).withZone(clock.getZone());
+    }
+    
+    /**
+     * 当前使用的时钟
+     */
+    public static ErrorTimestampClock current() {
+        return current;
+    }
+    
+    /**
+     * 更新时钟与格式
+     */
+    public static void configure(Clock clock, Format format) {
+        current = new ErrorTimestampClock(clock, format);
+    }
+    
+    /**
+     * 恢复默认（系统时区、LOCAL 格式）
+     */
+    public static void reset() {
+        configure(Clock.systemDefaultZone(), Format.LOCAL);
+    }
+    
+    public long millis() {
+        return clock.millis();
+    }
+    
+    public Format getFormat() {
+        return format;
+    }
+    
+    public ZoneId getZone() {
+        return clock.getZone();
+    }
+    
+    /**
+     * 格式化时间戳，EPOCH_MILLIS 格式返回毫秒数的十进制字符串
+     */
+    public String format(long epochMillis) {
+        if (format == Format.EPOCH_MILLIS) {
+            return Long.toString(epochMillis);
+        }
+        return second(epochMillis).text;
+    }
+    
+    /**
+     * 时间戳的 JSON 值，LOCAL 与 ISO_OFFSET 格式带引号；返回的数组被共享，调用方不能修改
+     */
+    public byte[] jsonValue(long epochMillis) {
+        if (format == Format.EPOCH_MILLIS) {
+            return Long.toString(epochMillis).getBytes(StandardCharsets.US_ASCII);
+        }
+        return second(epochMillis).json;
+    }
+    
+    private CachedSecond second(long epochMillis) {
+        long second = Math.floorDiv(epochMillis, 1000L);
+        CachedSecond cached = cachedSecond;
+        if (cached.second != second) {
+            // 多个线程同时跨秒时各自格式化一次，结果相同，不需要加锁
+            String text = formatter.format(Instant.ofEpochSecond(second));
+            cached = new CachedSecond(second, text, ('"' + text + '"').getBytes(StandardCharsets.US_ASCII));
+            cachedSecond = cached;
+        }
+        return cached;
+    }
+    
+    private static final class CachedSecond {
+        
+        private final long second;
+        private final String text;
+        private final byte[] json;
+        
+        private CachedSecond(long second, String text, byte[] json) {
+            this.second = second;
+            this.text = text;
+            this.json = json;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.exception.starter.time;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 读取 ErrorResponse 时间戳，接受 {@link ErrorTimestampClock.Format} 的全部三种格式：
+ * 毫秒数、带时区偏移的 ISO-8601 字符串，以及按 {@link ErrorTimestampClock} 时区解释的本地时间字符串
+ */
+public class ErrorTimestampDeserializer extends StdDeserializer<Long> {
+    
+    private static final DateTimeFormatter LOCAL_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    public ErrorTimestampDeserializer() {
+        super(Long.class);
+    }
+    
+    @Override
+    public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+            return p.getLongValue();
+        }
+        if (!p.hasToken(JsonToken.VALUE_STRING)) {
+            return (Long) ctxt.handleUnexpectedToken(Long.class, p);
+        }
+        String text = p.getText().trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        try {
+            return parse(text);
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            return (Long) ctxt.handleWeirdStringValue(Long.class, text,
+                    "expected epoch millis, ISO-8601 date-time or yyyy-MM-dd HH:mm:ss");
+        }
+    }
+    
+    private static long parse(String text) {
+        if (text.chars().allMatch(Character::isDigit)) {
+            return Long.parseLong(text);
+        }
+        if (text.indexOf('T') < 0) {
+            return LocalDateTime.parse(text, LOCAL_FORMATTER)
+                    .atZone(ErrorTimestampClock.current().getZone()).toInstant().toEpochMilli();
+        }
+        try {
+            return OffsetDateTime.parse(text).toInstant().toEpochMilli();
+        } catch (DateTimeParseException ex) {
+            // 不带时区偏移的 ISO 本地时间
+            return LocalDateTime.parse(text).atZone(ErrorTimestampClock.current().getZone()).toInstant().toEpochMilli();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.exception.starter.time;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * 通过 Jackson 输出 ErrorResponse 时按 {@link ErrorTimestampClock} 的格式写出时间戳
+ */
+public class ErrorTimestampSerializer extends StdSerializer<Long> {
+    
+    public ErrorTimestampSerializer() {
+        super(Long.class);
+    }
+    
+    @Override
+    public void serialize(Long value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        ErrorTimestampClock clock = ErrorTimestampClock.current();
+        if (clock.getFormat() == ErrorTimestampClock.Format.EPOCH_MILLIS) {
+            gen.writeNumber(value);
+        } else {
+            gen.writeString(clock.format(value));
+        }
+    }
+}
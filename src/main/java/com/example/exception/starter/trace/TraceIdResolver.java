@@ -0,0 +1,121 @@
+package com.example.exception.starter.trace;
+
+import org.slf4j.MDC;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 错误响应与异常日志使用的追踪 ID
+ * <p>
+ * 只在处理异常时解析，依次取：MDC 中已有的值（例如链路追踪框架写入的 traceId）、
+ * W3C traceparent 头中的 trace-id、请求 ID 头，都没有时生成一个新的 128 位 ID。
+ * 生成使用 ThreadLocalRandom，不经过 UUID.randomUUID() 背后的 SecureRandom，
+ * 不争用全局锁，只分配一个 32 字节数组和结果字符串；生成的 ID 不可用于安全用途
+ */
+public class TraceIdResolver {
+    
+    /**
+     * W3C Trace Context 请求头
+     */
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    
+    private static final int MAX_REQUEST_ID_LENGTH = 128;
+    
+    private final String requestIdHeader;
+    private final String mdcKey;
+    
+    /**
+     * @param requestIdHeader 请求 ID 头，例如 X-Request-Id，为 null 时不读取
+     * @param mdcKey 异常日志输出期间写入 MDC 的键
+     */
+    public TraceIdResolver(String requestIdHeader, String mdcKey) {
+        this.requestIdHeader = requestIdHeader;
+        this.mdcKey = mdcKey;
+    }
+    
+    public String getRequestIdHeader() {
+        return requestIdHeader;
+    }
+    
+    public String getMdcKey() {
+        return mdcKey;
+    }
+    
+    /**
+     * @param traceparent traceparent 头的值，可以为 null
+     * @param requestId 请求 ID 头的值，可以为 null
+     */
+    public String resolve(String traceparent, String requestId) {
+        String traceId = MDC.get(mdcKey);
+        if (traceId != null && !traceId.isEmpty()) {
+            return traceId;
+        }
+        traceId = parseTraceparent(traceparent);
+        if (traceId != null) {
+            return traceId;
+        }
+        if (isValidRequestId(requestId)) {
+            return requestId;
+        }
+        return generate();
+    }
+    
+    /**
+     * 从 traceparent（version-traceid-parentid-flags）中取出 trace-id，格式不符或 trace-id 全为 0 时返回 null
+     */
+    static String parseTraceparent(String traceparent) {
+        if (traceparent == null || traceparent.length() < 55 || traceparent.charAt(2) != '-'
+                || traceparent.charAt(35) != '-' || traceparent.charAt(52) != '-') {
+            return null;
+        }
+        boolean allZero = true;
+        for (int i = 3; i < 35; i++) {
+            char c = traceparent.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+                return null;
+            }
+            allZero &= c == '0';
+        }
+        return allZero ? null : traceparent.substring(3, 35);
+    }
+    
+    /**
+     * 请求 ID 只接受有限长度的字母、数字与 - _ . :，避免客户端传入的值污染日志和响应
+     */
+    static boolean isValidRequestId(String requestId) {
+        if (requestId == null || requestId.isEmpty() || requestId.length() > MAX_REQUEST_ID_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < requestId.length(); i++) {
+            char c = requestId.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z'
+                    || c == '-' || c == '_' || c == '.' || c == ':')) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * 生成 32 位十六进制（128 位）的追踪 ID，格式与 W3C trace-id 相同
+     */
+    public static String generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high = random.nextLong();
+        long low = random.nextLong();
+        if (high == 0 && low == 0) {
+            low = 1;
+        }
+        byte[] bytes = new byte[32];
+        for (int i = 15; i >= 0; i--) {
+            bytes[i] = HEX[(int) (high & 0xF)];
+            bytes[i + 16] = HEX[(int) (low & 0xF)];
+            high >>>= 4;
+            low >>>= 4;
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.exception.starter.autoconfigure;
+
+import com.example.exception.starter.handler.ReactiveGlobalExceptionHandler;
+import com.example.exception.starter.logging.ErrorEventPublisher;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveExceptionHandlerAutoConfigurationTest {
+    
+    private final ReactiveWebApplicationContextRunner contextRunner = new ReactiveWebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ReactiveExceptionHandlerAutoConfiguration.class));
+    
+    @Test
+    void logsThroughErrorEventPublisherByDefault() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(ReactiveGlobalExceptionHandler.class);
+            assertThat(context).hasSingleBean(ErrorEventPublisher.class);
+            assertThat(context).hasBean("reactiveErrorEventPublisher");
+        });
+    }
+    
+    @Test
+    void usesSharedPublisherWhenAsyncEventsEnabled() {
+        contextRunner.withPropertyValues("exception.handler.async-events.enabled=true")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(ErrorEventPublisher.class);
+                    assertThat(context).hasBean("errorEventPublisher");
+                });
+    }
+    
+    @Test
+    void logsSynchronouslyWhenAsyncEventsDisabled() {
+        contextRunner.withPropertyValues("exception.handler.async-events.enabled=false")
+                .run(context -> {
+                    assertThat(context).hasSingleBean(ReactiveGlobalExceptionHandler.class);
+                    assertThat(context).doesNotHaveBean(ErrorEventPublisher.class);
+                });
+    }
+}
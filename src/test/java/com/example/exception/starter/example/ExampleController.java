@@ -2,12 +2,16 @@ package com.example.exception.starter.example;
 
 import com.example.exception.starter.enums.ErrorCode;
 import com.example.exception.starter.exception.BusinessException;
+import com.example.exception.starter.exception.ExternalServiceException;
+import com.example.exception.starter.exception.PreallocatedExceptions;
 import com.example.exception.starter.exception.ValidationException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletionException;
+
 
 /**
  * 异常处理示例控制器
@@ -32,6 +36,30 @@ public class ExampleController {
         throw new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "用户不存在");
     }
     
+    /**
+     * 测试预分配的无堆栈异常
+     */
+    @GetMapping("/stackless-error")
+    public String stacklessError() {
+        throw PreallocatedExceptions.business(ErrorCode.RESOURCE_NOT_FOUND);
+    }
+    
+    /**
+     * 测试包装异常解包
+     */
+    @GetMapping("/wrapped-error")
+    public String wrappedError() {
+        throw new CompletionException(new BusinessException(ErrorCode.OPERATION_NOT_ALLOWED, "异步任务中的业务异常"));
+    }
+    
+    /**
+     * 测试下游服务异常
+     */
+    @GetMapping("/external-error")
+    public String externalError() {
+        throw new ExternalServiceException("inventory", ErrorCode.TIMEOUT_ERROR, "库存服务调用超时", null);
+    }
+    
     /**
      * 测试校验异常
      */
@@ -0,0 +1,80 @@
+package com.example.exception.starter.exception;
+
+import com.example.exception.starter.enums.ErrorCode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BaseExceptionTest {
+    
+    @AfterEach
+    void resetPolicy() {
+        StackTracePolicy.reset();
+    }
+    
+    private static String printed(Throwable ex) {
+        StringWriter out = new StringWriter();
+        ex.printStackTrace(new PrintWriter(out));
+        return out.toString();
+    }
+    
+    @Test
+    void stackWalkerFramesAreVisibleToPrintStackTrace() {
+        StackTracePolicy.configureCapture(StackTracePolicy.CaptureMode.STACK_WALKER, 3);
+        
+        BusinessException ex = new BusinessException(ErrorCode.BUSINESS_ERROR, "walked");
+        
+        StackTraceElement[] stackTrace = ex.getStackTrace();
+        assertThat(stackTrace).hasSize(3);
+        assertThat(stackTrace[0].getMethodName()).isEqualTo("stackWalkerFramesAreVisibleToPrintStackTrace");
+        assertThat(ex.getTopFrame()).isEqualTo(stackTrace[0]);
+        assertThat(printed(ex)).contains("at " + BaseExceptionTest.class.getName()
+                + ".stackWalkerFramesAreVisibleToPrintStackTrace");
+    }
+    
+    @Test
+    void stackWalkerFramesSurviveSerialization() throws Exception {
+        StackTracePolicy.configureCapture(StackTracePolicy.CaptureMode.STACK_WALKER, 3);
+        BusinessException ex = new BusinessException(ErrorCode.BUSINESS_ERROR, "walked");
+        
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(ex);
+        }
+        BusinessException copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (BusinessException) in.readObject();
+        }
+        
+        assertThat(copy.getStackTrace()).containsExactly(ex.getStackTrace());
+        assertThat(copy.getTopFrame()).isEqualTo(ex.getTopFrame());
+    }
+    
+    @Test
+    void fullCaptureFillsCompleteStack() {
+        BusinessException ex = new BusinessException(ErrorCode.BUSINESS_ERROR, "full");
+        
+        assertThat(ex.getStackTrace().length).isGreaterThan(3);
+        assertThat(ex.getTopFrame().getMethodName()).isEqualTo("fullCaptureFillsCompleteStack");
+    }
+    
+    @Test
+    void stacklessExceptionHasNoFrames() {
+        StackTracePolicy.configure(false, Collections.singletonList(ErrorCode.RESOURCE_NOT_FOUND));
+        
+        BusinessException ex = new BusinessException(ErrorCode.RESOURCE_NOT_FOUND);
+        
+        assertThat(ex.isStackless()).isTrue();
+        assertThat(ex.getStackTrace()).isEmpty();
+        assertThat(ex.getTopFrame()).isNull();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.exception.starter.fingerprint;
+
+import com.example.exception.starter.enums.ErrorCode;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExceptionAggregateStoreTest {
+    
+    /**
+     * 以异常消息中的数字作为指纹
+     */
+    private static final ExceptionFingerprinter MESSAGE_FINGERPRINTER =
+            new ExceptionFingerprinter(1, Collections.emptyList()) {
+                @Override
+                public long fingerprint(Throwable ex, ErrorCode errorCode) {
+                    return Long.parseLong(ex.getMessage());
+                }
+            };
+    
+    private static void record(ExceptionAggregateStore store, long fingerprint) {
+        store.onExceptionHandled(new IllegalStateException(Long.toString(fingerprint)), null, 500,
+                "GET", "/test", null, 0);
+    }
+    
+    @Test
+    void aggregatesHitsByFingerprint() {
+        ExceptionAggregateStore store = new ExceptionAggregateStore(MESSAGE_FINGERPRINTER, 100);
+        for (int i = 0; i < 5; i++) {
+            record(store, 42);
+        }
+        record(store, 7);
+        // 与 42 落在同一个槽位的指纹
+        record(store, 42 + 256);
+        
+        List<ExceptionAggregate> top = store.top(10);
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(top).extracting(ExceptionAggregate::getCount).containsExactly(5L, 1L, 1L);
+        assertThat(top.get(0).getFingerprint()).isEqualTo(String.format("%016x", 42));
+    }
+    
+    @Test
+    void evictsDownToNinetyPercentOfMaxEntries() {
+        ExceptionAggregateStore store = new ExceptionAggregateStore(MESSAGE_FINGERPRINTER, 100);
+        for (int i = 0; i < 101; i++) {
+            record(store, i);
+        }
+        
+        assertThat(store.size()).isEqualTo(90);
+        
+        for (int i = 101; i < 10_000; i++) {
+            record(store, i);
+        }
+        assertThat(store.size()).isLessThanOrEqualTo(100);
+    }
+    
+    @Test
+    void topAndEvictionTolerateConcurrentUpdates() throws Exception {
+        ExceptionAggregateStore store = new ExceptionAggregateStore(MESSAGE_FINGERPRINTER, 64);
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        CountDownLatch started = new CountDownLatch(4);
+        try {
+            for (int t = 0; t < 4; t++) {
+                int offset = t;
+                executor.execute(() -> {
+                    started.countDown();
+                    long i = offset;
+                    while (running.get()) {
+                        // 少量热点指纹持续累加，其余指纹不断触发淘汰
+                        record(store, i % 3 == 0 ? i % 16 : i);
+                        i += 4;
+                    }
+                });
+            }
+            started.await();
+            Future<?> reader = executor.submit(() -> {
+                for (int i = 0; i < 2_000; i++) {
+                    assertThat(store.top(20)).hasSizeLessThanOrEqualTo(20);
+                }
+            });
+            reader.get(30, TimeUnit.SECONDS);
+        } finally {
+            running.set(false);
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(store.size()).isLessThanOrEqualTo(64 + 4);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.exception.starter.handler;
+
+import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReactiveGlobalExceptionHandlerTest {
+    
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    
+    private final ReactiveGlobalExceptionHandler handler =
+            new ReactiveGlobalExceptionHandler(new ExceptionHandlerProperties(), null, objectMapper);
+    
+    private MockServerWebExchange handle(Throwable ex) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/orders/1"));
+        handler.handle(exchange, ex).block();
+        return exchange;
+    }
+    
+    @Test
+    void respondsWithResponseStatusExceptionStatus() throws Exception {
+        MockServerWebExchange exchange = handle(new ResponseStatusException(HttpStatus.CONFLICT, "Order already paid"));
+        
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        String body = exchange.getResponse().getBodyAsString().block();
+        assertThat(objectMapper.readTree(body).get("code").asInt()).isEqualTo(2002);
+        assertThat(objectMapper.readTree(body).get("message").asText()).isEqualTo("Order already paid");
+    }
+    
+    @Test
+    void respondsWithPayloadTooLarge() throws Exception {
+        MockServerWebExchange exchange = handle(new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE));
+        
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.PAYLOAD_TOO_LARGE);
+        String body = exchange.getResponse().getBodyAsString().block();
+        assertThat(objectMapper.readTree(body).get("code").asInt()).isEqualTo(1009);
+    }
+    
+    @Test
+    void usesGenericCodeForUnmappedStatus() throws Exception {
+        MockServerWebExchange exchange = handle(new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS));
+        
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        String body = exchange.getResponse().getBodyAsString().block();
+        assertThat(objectMapper.readTree(body).get("code").asInt()).isEqualTo(2000);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.exception.starter.handler;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RejectedValuesTest {
+    
+    @Test
+    void keepsNumbersAsNumbers() {
+        BigDecimal price = new BigDecimal("19.99");
+        BigInteger id = new BigInteger("12345678901234567890");
+        
+        assertThat(RejectedValues.summarize(price, 32)).isSameAs(price);
+        assertThat(RejectedValues.summarize(id, 32)).isSameAs(id);
+        assertThat(RejectedValues.summarize(42, 32)).isEqualTo(42);
+        assertThat(RejectedValues.summarize(price, 0)).isSameAs(price);
+    }
+    
+    @Test
+    void truncatesOversizedBigNumbers() {
+        BigInteger huge = BigInteger.TEN.pow(40);
+        
+        assertThat(RejectedValues.summarize(huge, 10)).isEqualTo("1000000000...(41 chars)");
+    }
+    
+    @Test
+    void truncatesLongStrings() {
+        assertThat(RejectedValues.summarize("abcdefghij", 4)).isEqualTo("abcd...(10 chars)");
+        assertThat(RejectedValues.summarize("abc", 4)).isEqualTo("abc");
+    }
+    
+    @Test
+    void summarizesContainers() {
+        assertThat(RejectedValues.summarize(new int[3], 32)).isEqualTo("<int[3]>");
+        assertThat(RejectedValues.summarize(List.of(1, 2), 32)).asString().endsWith(" size=2>");
+        assertThat(RejectedValues.summarize(Map.of(), 32)).asString().endsWith(" size=0>");
+    }
+}
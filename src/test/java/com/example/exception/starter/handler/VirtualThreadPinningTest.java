@@ -0,0 +1,184 @@
+package com.example.exception.starter.handler;
+
+import com.example.exception.starter.converter.ErrorResponseJsonWriter;
+import com.example.exception.starter.converter.ErrorResponseTemplateCache;
+import com.example.exception.starter.enums.ErrorCode;
+import com.example.exception.starter.exception.BusinessException;
+import com.example.exception.starter.logging.ErrorEventPublisher;
+import com.example.exception.starter.logging.ErrorEventSink;
+import com.example.exception.starter.logging.VirtualThreads;
+import com.example.exception.starter.mapping.ExceptionMappingRegistry;
+import com.example.exception.starter.model.ErrorResponse;
+import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolationException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 以大量并发虚拟线程调用 GlobalExceptionHandler 并序列化响应，期间用 JFR 记录
+ * {@code jdk.VirtualThreadPinned} 事件（阈值为 0），断言错误处理路径不会固定载体线程。
+ * 日志通过运行在虚拟线程上的异步事件发布器输出。
+ * <p>
+ * 需要 JDK 21+：在更低版本上跳过；jdk21-pinning 配置（mvn test -Djdk21.home=...）在 JDK 21 上单独运行本测试，
+ * 此时 JDK 版本不符会直接失败，而不是跳过
+ */
+class VirtualThreadPinningTest {
+    
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    
+    private static final String REQUIRED_PROPERTY = "virtualThreadPinning.required";
+    
+    private static final int THREADS = 2_000;
+    private static final int REQUESTS_PER_THREAD = 10;
+    
+    private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/42");
+    
+    @BeforeAll
+    static void requireVirtualThreads() {
+        int feature = Runtime.version().feature();
+        if (Boolean.getBoolean(REQUIRED_PROPERTY)) {
+            assertThat(feature).as("Java version running the pinning check").isGreaterThanOrEqualTo(21);
+        } else {
+            assumeTrue(feature >= 21, "virtual threads require JDK 21+");
+        }
+    }
+    
+    @Test
+    void errorHandlingDoesNotPinCarrierThreads() throws Exception {
+        LongAdder sunkEvents = new LongAdder();
+        ErrorEventSink countingSink = event -> sunkEvents.increment();
+        ErrorEventPublisher publisher = ErrorEventPublisher.onVirtualThread(1024, 64,
+                ErrorEventPublisher.OverflowPolicy.BLOCK, 1.0, List.of(countingSink));
+        GlobalExceptionHandler handler = handler(publisher);
+        ErrorResponseJsonWriter writer = new ErrorResponseJsonWriter(new ErrorResponseTemplateCache(),
+                new ObjectMapper(), 1024, 64);
+        
+        // 先在当前线程上走一遍各条路径，类初始化不计入检查
+        for (int i = 0; i < 5; i++) {
+            writer.write(handle(handler, i).getBody(), new ByteArrayOutputStream());
+        }
+        
+        Path recordingFile = Files.createTempFile("virtual-thread-pinning", ".jfr");
+        LongAdder handled = new LongAdder();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        try (Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            
+            ThreadFactory factory = VirtualThreads.factory("error-request");
+            CountDownLatch startGate = new CountDownLatch(1);
+            List<Thread> workers = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                int worker = i;
+                Thread thread = factory.newThread(() -> {
+                    try {
+                        startGate.await();
+                        ByteArrayOutputStream out = new ByteArrayOutputStream(512);
+                        for (int n = 0; n < REQUESTS_PER_THREAD; n++) {
+                            out.reset();
+                            writer.write(handle(handler, worker + n).getBody(), out);
+                            handled.increment();
+                        }
+                    } catch (Throwable ex) {
+                        failure.compareAndSet(null, ex);
+                    }
+                });
+                thread.start();
+                workers.add(thread);
+            }
+            startGate.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            publisher.close();
+            
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+        
+        List<String> pinned = new ArrayList<>();
+        try {
+            for (RecordedEvent event : RecordingFile.readAllEvents(recordingFile)) {
+                if (PINNED_EVENT.equals(event.getEventType().getName())) {
+                    pinned.add(describe(event));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(recordingFile);
+        }
+        
+        assertThat(failure.get()).isNull();
+        assertThat(handled.sum()).isEqualTo((long) THREADS * REQUESTS_PER_THREAD);
+        assertThat(sunkEvents.sum()).isEqualTo(handled.sum() + 5);
+        assertThat(pinned).isEmpty();
+    }
+    
+    private static GlobalExceptionHandler handler(ErrorEventPublisher publisher) {
+        ExceptionHandlerProperties properties = new ExceptionHandlerProperties();
+        properties.setIncludeStackTrace(true);
+        GlobalExceptionHandler handler = new GlobalExceptionHandler(properties);
+        handler.setErrorEventPublisher(publisher);
+        handler.setExceptionMappingRegistry(new ExceptionMappingRegistry());
+        return handler;
+    }
+    
+    /**
+     * 轮流使用几类常见异常，覆盖业务异常、参数校验、包装异常与未知异常的处理路径
+     */
+    private ResponseEntity<ErrorResponse> handle(GlobalExceptionHandler handler, int sequence) {
+        switch (sequence % 5) {
+            case 0:
+                return handler.handleBaseException(new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "用户不存在"),
+                        request);
+            case 1:
+                BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "userRequest");
+                bindingResult.addError(new FieldError("userRequest", "name", "", false, null, null, "不能为空"));
+                return handler.handleBindException(new BindException(bindingResult), request);
+            case 2:
+                return handler.handleConstraintViolationException(
+                        new ConstraintViolationException("invalid", Collections.emptySet()), request);
+            case 3:
+                return handler.handleException(new CompletionException(
+                        new BusinessException(ErrorCode.BUSINESS_ERROR, "wrapped")), request);
+            default:
+                return handler.handleException(new IllegalStateException("unexpected " + sequence), request);
+        }
+    }
+    
+    private static String describe(RecordedEvent event) {
+        StringBuilder sb = new StringBuilder(PINNED_EVENT);
+        List<RecordedFrame> frames = event.getStackTrace() != null
+                ? event.getStackTrace().getFrames() : Collections.emptyList();
+        for (RecordedFrame frame : frames) {
+            sb.append("\n\tat ").append(frame.getMethod().getType().getName()).append('.')
+                    .append(frame.getMethod().getName()).append(" line ").append(frame.getLineNumber());
+        }
+        return sb.toString();
+    }
+}
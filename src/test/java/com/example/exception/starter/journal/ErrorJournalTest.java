@@ -0,0 +1,178 @@
+package com.example.exception.starter.journal;
+
+import com.example.exception.starter.enums.ErrorCode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorJournalTest {
+    
+    private static final RuntimeException EXCEPTION = new IllegalStateException("test");
+    
+    @TempDir
+    Path directory;
+    
+    private static List<ErrorJournalRecord> readAll(ErrorJournalReader reader) throws Exception {
+        List<ErrorJournalRecord> records = new ArrayList<>();
+        reader.poll(records::add);
+        return records;
+    }
+    
+    @Test
+    void writesAndReadsRecords() throws Exception {
+        try (ErrorJournal journal = new ErrorJournal(directory, 4096, 4, 64, null)) {
+            journal.onExceptionHandled(EXCEPTION, ErrorCode.RESOURCE_NOT_FOUND, 404, "GET", "/users/42",
+                    "/users/{id}", 1_500);
+            journal.onExceptionHandled(EXCEPTION, null, 500, "POST", "/orders", null, 2_000);
+        }
+        
+        List<ErrorJournalRecord> records = readAll(new ErrorJournalReader(directory));
+        
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).getCode()).isEqualTo(ErrorCode.RESOURCE_NOT_FOUND.getCode());
+        assertThat(records.get(0).getStatus()).isEqualTo(404);
+        assertThat(records.get(0).getMethod()).isEqualTo("GET");
+        assertThat(records.get(0).getRoute()).isEqualTo("/users/{id}");
+        assertThat(records.get(0).getPath()).isEqualTo("/users/42");
+        assertThat(records.get(0).getDurationNanos()).isEqualTo(1_500);
+        assertThat(records.get(1).getCode()).isEqualTo(-1);
+        assertThat(records.get(1).getPath()).isEqualTo("/orders");
+    }
+    
+    @Test
+    void readsAcrossRestarts() throws Exception {
+        try (ErrorJournal journal = new ErrorJournal(directory, 4096, 4, 64, null)) {
+            for (int i = 0; i < 3; i++) {
+                journal.onExceptionHandled(EXCEPTION, null, 500, "GET", "/before/" + i, null, 0);
+            }
+        }
+        try (ErrorJournal journal = new ErrorJournal(directory, 4096, 4, 64, null)) {
+            for (int i = 0; i < 7; i++) {
+                journal.onExceptionHandled(EXCEPTION, null, 500, "GET", "/after/" + i, null, 0);
+            }
+        }
+        
+        assertThat(ErrorJournalReader.segments(directory)).hasSize(2);
+        assertThat(readAll(new ErrorJournalReader(directory))).hasSize(10);
+    }
+    
+    @Test
+    void oneShotReaderSkipsSegmentLeftByCrashedWriter() throws Exception {
+        JournalSegment crashed = JournalSegment.create(directory, 0, 4096, System.currentTimeMillis());
+        int length = JournalSegment.recordLength(3, 0, 2);
+        write(crashed, crashed.reserve(length), length, "/a");
+        // 写入进程在提交前崩溃，段没有结束标记
+        crashed.reserve(length);
+        try (ErrorJournal journal = new ErrorJournal(directory, 4096, 4, 64, null)) {
+            journal.onExceptionHandled(EXCEPTION, null, 500, "GET", "/b", null, 0);
+        }
+        
+        assertThat(readAll(new ErrorJournalReader(directory, Duration.ZERO)))
+                .extracting(ErrorJournalRecord::getPath).containsExactly("/a", "/b");
+    }
+    
+    @Test
+    void concurrentWritersAcrossSegmentRollsLoseNoRecords() throws Exception {
+        int threads = 4;
+        int recordsPerThread = 2_000;
+        List<Thread> workers = new ArrayList<>();
+        CountDownLatch startGate = new CountDownLatch(1);
+        try (ErrorJournal journal = new ErrorJournal(directory, 8192, Integer.MAX_VALUE, 64, null)) {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                Thread worker = new Thread(() -> {
+                    try {
+                        startGate.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (int i = 0; i < recordsPerThread; i++) {
+                        journal.onExceptionHandled(EXCEPTION, null, 500, "GET", "/" + thread + "/" + i, null, i);
+                    }
+                });
+                worker.start();
+                workers.add(worker);
+            }
+            startGate.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+        }
+        
+        assertThat(ErrorJournalReader.segments(directory).size()).isGreaterThan(1);
+        Set<String> paths = new HashSet<>();
+        for (ErrorJournalRecord record : readAll(new ErrorJournalReader(directory))) {
+            paths.add(record.getPath());
+        }
+        assertThat(paths).hasSize(threads * recordsPerThread);
+    }
+    
+    @Test
+    void keepsOnlyMaxSegments() throws Exception {
+        try (ErrorJournal journal = new ErrorJournal(directory, 1024, 2, 64, null)) {
+            for (int i = 0; i < 500; i++) {
+                journal.onExceptionHandled(EXCEPTION, null, 500, "GET", "/" + i, null, 0);
+            }
+        }
+        
+        assertThat(ErrorJournalReader.segments(directory)).hasSize(2);
+    }
+    
+    @Test
+    void readerWaitsForRecordsReservedBeforeNewerSegment() throws Exception {
+        JournalSegment old = JournalSegment.create(directory, 0, 4096, System.currentTimeMillis());
+        int length = JournalSegment.recordLength(3, 0, 2);
+        int first = old.reserve(length);
+        write(old, first, length, "/a");
+        // 第二条记录已预留、尚未提交，此时写入方已经切换到新段
+        int second = old.reserve(length);
+        JournalSegment newer = JournalSegment.create(directory, 1, 4096, System.currentTimeMillis());
+        int third = newer.reserve(length);
+        write(newer, third, length, "/c");
+        
+        ErrorJournalReader reader = new ErrorJournalReader(directory, Duration.ofMinutes(1));
+        assertThat(readAll(reader)).extracting(ErrorJournalRecord::getPath).containsExactly("/a");
+        
+        write(old, second, length, "/b");
+        assertThat(readAll(reader)).extracting(ErrorJournalRecord::getPath).containsExactly("/b");
+        
+        // 旧段写满后留下结束标记，读取器才进入新段
+        old.reserve(4096);
+        assertThat(readAll(reader)).extracting(ErrorJournalRecord::getPath).containsExactly("/c");
+    }
+    
+    @Test
+    void readerSkipsStalledSegmentAfterGracePeriod() throws Exception {
+        JournalSegment old = JournalSegment.create(directory, 0, 4096, System.currentTimeMillis());
+        int length = JournalSegment.recordLength(3, 0, 2);
+        write(old, old.reserve(length), length, "/a");
+        // 写入进程在提交前退出，旧段没有结束标记
+        old.reserve(length);
+        JournalSegment newer = JournalSegment.create(directory, 1, 4096, System.currentTimeMillis());
+        write(newer, newer.reserve(length), length, "/c");
+        
+        ErrorJournalReader reader = new ErrorJournalReader(directory, Duration.ofMillis(50));
+        assertThat(readAll(reader)).extracting(ErrorJournalRecord::getPath).containsExactly("/a");
+        
+        Thread.sleep(100);
+        assertThat(readAll(reader)).extracting(ErrorJournalRecord::getPath).containsExactly("/c");
+    }
+    
+    private static void write(JournalSegment segment, int offset, int length, String path) {
+        byte[] method = "GET".getBytes(StandardCharsets.US_ASCII);
+        byte[] pathBytes = path.getBytes(StandardCharsets.UTF_8);
+        segment.write(offset, length, System.currentTimeMillis(), 0, 0, -1, 500, method, method.length,
+                new byte[0], 0, pathBytes, pathBytes.length);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.exception.starter.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorEventPublisherTest {
+    
+    private static final RuntimeException EXCEPTION = new IllegalStateException("test");
+    
+    /**
+     * 记录事件路径的接收器，只由后台消费线程调用
+     */
+    private static final class RecordingSink implements ErrorEventSink {
+        
+        private final List<String> paths = new ArrayList<>();
+        
+        @Override
+        public void accept(ErrorEvent event) {
+            paths.add(event.getPath());
+        }
+    }
+    
+    @Test
+    void deliversEveryEventFromConcurrentProducersInPublishOrder() throws Exception {
+        int producers = 4;
+        int eventsPerProducer = 20_000;
+        RecordingSink sink = new RecordingSink();
+        ErrorEventPublisher publisher = new ErrorEventPublisher(256, 32, ErrorEventPublisher.OverflowPolicy.BLOCK,
+                1.0, List.of(sink));
+        
+        List<Thread> threads = new ArrayList<>();
+        CountDownLatch startGate = new CountDownLatch(1);
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try {
+                    startGate.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < eventsPerProducer; i++) {
+                    publisher.publish(EXCEPTION, "test", "GET", producer + ":" + i);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        startGate.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        publisher.close();
+        
+        assertThat(publisher.getDroppedCount()).isZero();
+        assertThat(sink.paths).hasSize(producers * eventsPerProducer);
+        int[] next = new int[producers];
+        for (String path : sink.paths) {
+            int separator = path.indexOf(':');
+            int producer = Integer.parseInt(path.substring(0, separator));
+            assertThat(Integer.parseInt(path.substring(separator + 1))).isEqualTo(next[producer]++);
+        }
+    }
+    
+    @Test
+    void dropsEventsWhenBufferIsFull() throws Exception {
+        CountDownLatch consuming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> paths = new ArrayList<>();
+        ErrorEventSink blockingSink = event -> {
+            consuming.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            paths.add(event.getPath());
+        };
+        ErrorEventPublisher publisher = new ErrorEventPublisher(8, 4, ErrorEventPublisher.OverflowPolicy.DROP,
+                1.0, List.of(blockingSink));
+        assertThat(publisher.getCapacity()).isEqualTo(8);
+        
+        publisher.publish(EXCEPTION, "test", "GET", "first");
+        assertThat(consuming.await(5, TimeUnit.SECONDS)).isTrue();
+        // 第一个事件仍占用一个槽位
+        for (int i = 0; i < 17; i++) {
+            publisher.publish(EXCEPTION, "test", "GET", "/" + i);
+        }
+        assertThat(publisher.getDroppedCount()).isEqualTo(10);
+        
+        release.countDown();
+        publisher.close();
+        assertThat(paths).hasSize(8);
+        assertThat(paths.get(0)).isEqualTo("first");
+        assertThat(publisher.getPendingCount()).isZero();
+    }
+    
+    @Test
+    void rejectsEventsAfterClose() {
+        RecordingSink sink = new RecordingSink();
+        ErrorEventPublisher publisher = new ErrorEventPublisher(16, 4, ErrorEventPublisher.OverflowPolicy.BLOCK,
+                1.0, List.of(sink));
+        publisher.publish(EXCEPTION, "test", "GET", "/before");
+        publisher.close();
+        
+        publisher.publish(EXCEPTION, "test", "GET", "/after");
+        
+        assertThat(sink.paths).containsExactly("/before");
+        assertThat(publisher.getDroppedCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.exception.starter.logging;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ExceptionLogLimiterTest {
+    
+    private final Logger logger = mock(Logger.class);
+    
+    private ExceptionLogLimiter limiter(int burst) {
+        return new ExceptionLogLimiter(logger, 0.001, burst, 1.0, Duration.ofSeconds(10), false);
+    }
+    
+    private static RuntimeException noisy() {
+        return new IllegalStateException("noisy");
+    }
+    
+    private static RuntimeException rare() {
+        return new IllegalStateException("rare");
+    }
+    
+    @Test
+    void limitsEachFingerprintIndependently() {
+        ExceptionLogLimiter limiter = limiter(2);
+        
+        assertThat(limiter.tryAcquire(noisy())).isTrue();
+        assertThat(limiter.tryAcquire(noisy())).isTrue();
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire(noisy())).isFalse();
+        }
+        
+        assertThat(limiter.tryAcquire(rare())).isTrue();
+    }
+    
+    @Test
+    void summarizesSuppressedCountPerFingerprint() {
+        ExceptionLogLimiter limiter = limiter(1);
+        limiter.tryAcquire(noisy());
+        limiter.tryAcquire(noisy());
+        limiter.tryAcquire(noisy());
+        limiter.tryAcquire(rare());
+        limiter.tryAcquire(rare());
+        
+        limiter.emitSummaries();
+        
+        verify(logger).warn(eq("Suppressed {} identical exceptions [{}] in the last {}s"), eq(2L),
+                contains("noisy"), anyLong());
+        verify(logger).warn(eq("Suppressed {} identical exceptions [{}] in the last {}s"), eq(1L),
+                contains("rare"), anyLong());
+    }
+    
+    @Test
+    void emitsPendingSummaryOnClose() {
+        ExceptionLogLimiter limiter = limiter(1);
+        limiter.tryAcquire(noisy());
+        limiter.tryAcquire(noisy());
+        verifyNoInteractions(logger);
+        
+        limiter.close();
+        
+        verify(logger).warn(eq("Suppressed {} identical exceptions [{}] in the last {}s"), eq(1L),
+                contains("noisy"), anyLong());
+    }
+    
+    @Test
+    void doesNotRepeatEmittedSummaries() {
+        ExceptionLogLimiter limiter = limiter(1);
+        limiter.tryAcquire(rare());
+        limiter.tryAcquire(rare());
+        limiter.emitSummaries();
+        limiter.emitSummaries();
+        
+        verify(logger, times(1)).warn(eq("Suppressed {} identical exceptions [{}] in the last {}s"), anyLong(),
+                contains("rare"), anyLong());
+    }
+}
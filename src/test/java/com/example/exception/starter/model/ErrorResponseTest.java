@@ -0,0 +1,78 @@
+package com.example.exception.starter.model;
+
+import com.example.exception.starter.time.ErrorTimestampClock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ErrorResponseTest {
+    
+    private static final Instant NOW = Instant.parse("2024-01-01T04:00:00.123Z");
+    private static final ZoneId ZONE = ZoneId.of("Asia/Shanghai");
+    
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    @AfterEach
+    void resetClock() {
+        ErrorTimestampClock.reset();
+    }
+    
+    @ParameterizedTest
+    @EnumSource(ErrorTimestampClock.Format.class)
+    void roundTripsEveryTimestampFormat(ErrorTimestampClock.Format format) throws Exception {
+        ErrorTimestampClock.configure(Clock.fixed(NOW, ZONE), format);
+        ErrorResponse response = new ErrorResponse(1001, "x");
+        
+        String json = objectMapper.writeValueAsString(response);
+        ErrorResponse read = objectMapper.readValue(json, ErrorResponse.class);
+        
+        // local 与 iso-offset 格式精度为秒
+        long expected = format == ErrorTimestampClock.Format.EPOCH_MILLIS
+                ? NOW.toEpochMilli() : NOW.toEpochMilli() / 1000 * 1000;
+        assertThat(read.getTimestampMillis()).isEqualTo(expected);
+        assertThat(read.getCode()).isEqualTo(1001);
+        assertThat(read.getMessage()).isEqualTo("x");
+        assertThat(objectMapper.writeValueAsString(read)).isEqualTo(json);
+    }
+    
+    @Test
+    void writesTimestampInDeclaredFieldOrder() throws Exception {
+        ErrorTimestampClock.configure(Clock.fixed(NOW, ZONE), ErrorTimestampClock.Format.LOCAL);
+        ErrorResponse response = new ErrorResponse(1001, "x", "/users");
+        response.setTraceId("abc");
+        
+        assertThat(objectMapper.writeValueAsString(response)).isEqualTo(
+                "{\"code\":1001,\"message\":\"x\",\"path\":\"/users\",\"traceId\":\"abc\","
+                        + "\"timestamp\":\"2024-01-01 12:00:00\"}");
+    }
+    
+    @Test
+    void readsIsoLocalDateTimeWithoutOffset() throws Exception {
+        ErrorTimestampClock.configure(Clock.fixed(NOW, ZONE), ErrorTimestampClock.Format.LOCAL);
+        
+        ErrorResponse read = objectMapper.readValue("{\"code\":1001,\"timestamp\":\"2024-01-01T12:00:00\"}",
+                ErrorResponse.class);
+        
+        assertThat(read.getTimestampMillis()).isEqualTo(Instant.parse("2024-01-01T04:00:00Z").toEpochMilli());
+    }
+    
+    @Test
+    void exposesTimestampAsLocalDateTime() {
+        ErrorTimestampClock.configure(Clock.fixed(NOW, ZONE), ErrorTimestampClock.Format.ISO_OFFSET);
+        ErrorResponse response = new ErrorResponse(1001, "x");
+        
+        assertThat(response.getTimestamp()).isEqualTo(LocalDateTime.of(2024, 1, 1, 12, 0, 0, 123_000_000));
+        
+        response.setTimestamp(LocalDateTime.of(2024, 1, 1, 8, 0));
+        assertThat(response.getTimestampMillis()).isEqualTo(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli());
+    }
+}
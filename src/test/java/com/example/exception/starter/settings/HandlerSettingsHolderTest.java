@@ -0,0 +1,64 @@
+package com.example.exception.starter.settings;
+
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HandlerSettingsHolderTest {
+    
+    private final ExceptionHandlerProperties properties = new ExceptionHandlerProperties();
+    private final HandlerSettingsHolder holder = new HandlerSettingsHolder(properties, ErrorCodeRegistry.builtIn());
+    
+    @Test
+    void updateLeavesBoundPropertiesUntouched() {
+        assertThat(holder.update(changes -> changes.setIncludeStackTrace(true))).isTrue();
+        
+        assertThat(holder.current().isIncludeStackTrace()).isTrue();
+        assertThat(holder.getProperties().isIncludeStackTrace()).isTrue();
+        assertThat(properties.isIncludeStackTrace()).isFalse();
+    }
+    
+    @Test
+    void rejectedUpdateKeepsPreviousSettingsAndProperties() {
+        HandlerSettings before = holder.current();
+        
+        assertThat(holder.update(changes -> {
+            changes.setIncludeStackTrace(true);
+            changes.setMaxStackTraceLines(-1);
+        })).isFalse();
+        
+        assertThat(holder.current()).isSameAs(before);
+        assertThat(holder.getProperties().isIncludeStackTrace()).isFalse();
+        assertThat(holder.getProperties().getMaxStackTraceLines()).isEqualTo(50);
+        assertThat(properties.getMaxStackTraceLines()).isEqualTo(50);
+    }
+    
+    @Test
+    void reloadRestoresBoundProperties() {
+        holder.update(changes -> changes.setIncludeStackTrace(true));
+        properties.setMaxStackTraceLines(20);
+        
+        assertThat(holder.reload()).isTrue();
+        
+        assertThat(holder.current().isIncludeStackTrace()).isFalse();
+        assertThat(holder.current().getMaxStackTraceLines()).isEqualTo(20);
+    }
+    
+    @Test
+    void endpointRejectsNegativeStackTraceLines() {
+        HandlerSettingsEndpoint endpoint = new HandlerSettingsEndpoint(holder);
+        HandlerSettings before = holder.current();
+        
+        assertThatThrownBy(() -> endpoint.update(null, true, -1, null))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+        
+        assertThat(holder.current()).isSameAs(before);
+        assertThat(endpoint.update(null, true, 20, null))
+                .containsEntry("includeStackTrace", true)
+                .containsEntry("maxStackTraceLines", 20);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.exception.starter.shedding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowCounterTest {
+    
+    @Test
+    void countsWithinWindowAndExpiresOldBuckets() {
+        long start = System.currentTimeMillis();
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 10);
+        
+        assertThat(counter.increment(start)).isEqualTo(1);
+        assertThat(counter.increment(start + 50)).isEqualTo(2);
+        assertThat(counter.increment(start + 500)).isEqualTo(3);
+        assertThat(counter.sum(start + 999)).isEqualTo(3);
+        
+        // 最早的桶滑出窗口
+        assertThat(counter.sum(start + 1100)).isEqualTo(1);
+        assertThat(counter.sum(start + 1600)).isZero();
+    }
+    
+    @Test
+    void overwritesExpiredBucketOnWrapAround() {
+        long start = System.currentTimeMillis();
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 10);
+        for (int i = 0; i < 5; i++) {
+            counter.increment(start);
+        }
+        
+        // 同一个桶位置，相隔一个完整窗口
+        assertThat(counter.increment(start + 1000)).isEqualTo(1);
+        assertThat(counter.sum(start + 1000)).isEqualTo(1);
+    }
+    
+    @Test
+    void ignoresBucketsFromTheFuture() {
+        long start = System.currentTimeMillis();
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 10);
+        counter.increment(start + 500);
+        
+        assertThat(counter.sum(start)).isZero();
+    }
+    
+    @Test
+    void resetClearsAllBuckets() {
+        long start = System.currentTimeMillis();
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 10);
+        counter.increment(start);
+        counter.increment(start + 300);
+        
+        counter.reset();
+        
+        assertThat(counter.sum(start + 300)).isZero();
+    }
+    
+    @Test
+    void concurrentIncrementsAreNotLost() throws Exception {
+        long now = System.currentTimeMillis();
+        SlidingWindowCounter counter = new SlidingWindowCounter(60_000, 10);
+        int threads = 8;
+        int incrementsPerThread = 50_000;
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    startGate.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < incrementsPerThread; i++) {
+                    counter.increment(now);
+                }
+            });
+            thread.start();
+            workers.add(thread);
+        }
+        startGate.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        
+        assertThat(counter.sum(now)).isEqualTo((long) threads * incrementsPerThread);
+    }
+}
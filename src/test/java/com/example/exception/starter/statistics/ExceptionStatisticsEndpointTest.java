@@ -0,0 +1,52 @@
+package com.example.exception.starter.statistics;
+
+import com.example.exception.starter.enums.ErrorCodeRegistry;
+import com.example.exception.starter.properties.ExceptionHandlerProperties;
+import com.example.exception.starter.settings.HandlerSettingsHolder;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExceptionStatisticsEndpointTest {
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesPropertiesInConfigurationFileForm() {
+        ExceptionHandlerProperties properties = new ExceptionHandlerProperties();
+        ExceptionStatisticsEndpoint endpoint = new ExceptionStatisticsEndpoint(
+                new ExceptionStatistics(ErrorCodeRegistry.builtIn()),
+                new HandlerSettingsHolder(properties, ErrorCodeRegistry.builtIn()));
+        
+        Map<String, Object> result = (Map<String, Object>) endpoint.statistics().get("properties");
+        
+        assertThat(((Map<String, Object>) result.get("logRateLimit")).get("summaryInterval")).isEqualTo("PT10S");
+        assertThat(((Map<String, Object>) result.get("journal")).get("segmentSize")).isEqualTo("64MB");
+    }
+    
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesSnapshotUsedByHandlers() {
+        ExceptionHandlerProperties properties = new ExceptionHandlerProperties();
+        HandlerSettingsHolder holder = new HandlerSettingsHolder(properties, ErrorCodeRegistry.builtIn());
+        ExceptionStatisticsEndpoint endpoint = new ExceptionStatisticsEndpoint(
+                new ExceptionStatistics(ErrorCodeRegistry.builtIn()), holder);
+        
+        holder.update(changes -> changes.setIncludeStackTrace(true));
+        Map<String, Object> settings = (Map<String, Object>) endpoint.statistics().get("settings");
+        
+        assertThat(settings).containsEntry("includeStackTrace", true)
+                .containsEntry("maxStackTraceLines", 50)
+                .containsEntry("overrides", 0);
+    }
+    
+    @Test
+    void formatsDataSizeWithLargestExactUnit() {
+        assertThat(ExceptionStatisticsEndpoint.DataSizeSerializer.format(DataSize.ofMegabytes(64))).isEqualTo("64MB");
+        assertThat(ExceptionStatisticsEndpoint.DataSizeSerializer.format(DataSize.ofKilobytes(1536))).isEqualTo("1536KB");
+        assertThat(ExceptionStatisticsEndpoint.DataSizeSerializer.format(DataSize.ofBytes(1000))).isEqualTo("1000B");
+        assertThat(ExceptionStatisticsEndpoint.DataSizeSerializer.format(DataSize.ofBytes(0))).isEqualTo("0B");
+    }
+}